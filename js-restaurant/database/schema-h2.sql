@@ -0,0 +1,190 @@
+-- Schema for the embedded H2 backend of J's Restaurant (see DAO/H2Dialect)
+--
+-- Run from the URL on every connection, with the path relative to the
+-- js-restaurant directory the application is started from, e.g.
+--   db.url=jdbc:h2:./data/js_restaurant;INIT=RUNSCRIPT FROM 'database/schema-h2.sql'
+-- so every statement must be safe to repeat: tables are created only if
+-- missing and the sample data is only inserted into empty tables.
+--
+-- The tables the application otherwise creates on first use (daily_sales,
+-- the change logs and offline_journal_applied) are included so a fresh
+-- database is complete before the first screen opens.
+
+CREATE TABLE IF NOT EXISTS user (
+    user_id VARCHAR(20) NOT NULL PRIMARY KEY,
+    username VARCHAR(50) NOT NULL UNIQUE,
+    password VARCHAR(100) NOT NULL,
+    first_name VARCHAR(50),
+    last_name VARCHAR(50),
+    role VARCHAR(20) NOT NULL,
+    contact_number VARCHAR(20),
+    is_active BOOLEAN NOT NULL DEFAULT TRUE
+);
+
+CREATE TABLE IF NOT EXISTS menu_category (
+    category_id INT NOT NULL PRIMARY KEY,
+    name VARCHAR(50) NOT NULL,
+    display_order INT NOT NULL DEFAULT 0
+);
+
+CREATE TABLE IF NOT EXISTS menu_item (
+    item_id VARCHAR(20) NOT NULL PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    description VARCHAR(500),
+    category_id INT NOT NULL,
+    price DECIMAL(10,2) NOT NULL,
+    is_available BOOLEAN NOT NULL DEFAULT TRUE,
+    preparation_time INT NOT NULL DEFAULT 10,
+    FOREIGN KEY (category_id) REFERENCES menu_category (category_id)
+);
+
+CREATE TABLE IF NOT EXISTS menu_item_addon (
+    addon_id INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    item_id VARCHAR(20) NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    price DECIMAL(10,2) NOT NULL DEFAULT 0,
+    FOREIGN KEY (item_id) REFERENCES menu_item (item_id)
+);
+
+CREATE TABLE IF NOT EXISTS restaurant_table (
+    table_id VARCHAR(20) NOT NULL PRIMARY KEY,
+    table_number VARCHAR(10) NOT NULL UNIQUE,
+    status VARCHAR(20) NOT NULL DEFAULT 'AVAILABLE',
+    capacity INT NOT NULL DEFAULT 4,
+    location_x INT NOT NULL DEFAULT 0,
+    location_y INT NOT NULL DEFAULT 0,
+    assigned_waiter_id VARCHAR(20),
+    FOREIGN KEY (assigned_waiter_id) REFERENCES user (user_id)
+);
+
+CREATE TABLE IF NOT EXISTS `order` (
+    order_id VARCHAR(30) NOT NULL PRIMARY KEY,
+    table_id VARCHAR(20),
+    waiter_id VARCHAR(20),
+    order_datetime DATETIME NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    total_amount DECIMAL(10,2) NOT NULL DEFAULT 0,
+    tax_amount DECIMAL(10,2) NOT NULL DEFAULT 0,
+    tip_amount DECIMAL(10,2) NOT NULL DEFAULT 0,
+    payment_method VARCHAR(20),
+    payment_status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    payment_datetime DATETIME,
+    FOREIGN KEY (table_id) REFERENCES restaurant_table (table_id),
+    FOREIGN KEY (waiter_id) REFERENCES user (user_id)
+);
+CREATE INDEX IF NOT EXISTS idx_order_status ON `order` (status);
+CREATE INDEX IF NOT EXISTS idx_order_table ON `order` (table_id);
+CREATE INDEX IF NOT EXISTS idx_order_payment_datetime ON `order` (payment_datetime);
+
+CREATE TABLE IF NOT EXISTS order_item (
+    order_item_id INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    order_id VARCHAR(30) NOT NULL,
+    menu_item_id VARCHAR(20) NOT NULL,
+    quantity INT NOT NULL DEFAULT 1,
+    seat_number INT NOT NULL DEFAULT 1,
+    price DECIMAL(10,2) NOT NULL,
+    special_instructions VARCHAR(500),
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    preparation_start_time DATETIME,
+    completion_time DATETIME,
+    FOREIGN KEY (order_id) REFERENCES `order` (order_id) ON DELETE CASCADE,
+    FOREIGN KEY (menu_item_id) REFERENCES menu_item (item_id)
+);
+CREATE INDEX IF NOT EXISTS idx_order_item_completion ON order_item (completion_time);
+
+CREATE TABLE IF NOT EXISTS time_clock (
+    time_clock_id INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    user_id VARCHAR(20) NOT NULL,
+    clock_in DATETIME NOT NULL,
+    clock_out DATETIME,
+    total_hours DECIMAL(6,2),
+    FOREIGN KEY (user_id) REFERENCES user (user_id)
+);
+
+CREATE TABLE IF NOT EXISTS inventory (
+    inventory_id INT NOT NULL PRIMARY KEY,
+    item_name VARCHAR(100) NOT NULL,
+    quantity DECIMAL(10,2) NOT NULL DEFAULT 0,
+    unit VARCHAR(20),
+    reorder_level DECIMAL(10,2) NOT NULL DEFAULT 0,
+    is_low BOOLEAN NOT NULL DEFAULT FALSE,
+    category VARCHAR(50),
+    last_updated DATETIME DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Same definitions as DailySalesRollup, ChangeLog and OfflineJournalReplayer
+CREATE TABLE IF NOT EXISTS daily_sales (
+    sale_date DATE NOT NULL,
+    sale_hour INT NOT NULL,
+    payment_method VARCHAR(20) NOT NULL,
+    revenue DECIMAL(12,2) NOT NULL DEFAULT 0,
+    tax DECIMAL(12,2) NOT NULL DEFAULT 0,
+    tips DECIMAL(12,2) NOT NULL DEFAULT 0,
+    covers INT NOT NULL DEFAULT 0,
+    order_count INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (sale_date, sale_hour, payment_method)
+);
+
+CREATE TABLE IF NOT EXISTS order_change (
+    change_id BIGINT NOT NULL AUTO_INCREMENT,
+    order_id VARCHAR(50) NOT NULL,
+    changed_at DATETIME NOT NULL,
+    PRIMARY KEY (change_id)
+);
+
+CREATE TABLE IF NOT EXISTS table_change (
+    change_id BIGINT NOT NULL AUTO_INCREMENT,
+    table_id VARCHAR(50) NOT NULL,
+    changed_at DATETIME NOT NULL,
+    PRIMARY KEY (change_id)
+);
+
+CREATE TABLE IF NOT EXISTS menu_change (
+    change_id BIGINT NOT NULL AUTO_INCREMENT,
+    item_id VARCHAR(50) NOT NULL,
+    changed_at DATETIME NOT NULL,
+    PRIMARY KEY (change_id)
+);
+
+CREATE TABLE IF NOT EXISTS report_change (
+    change_id BIGINT NOT NULL AUTO_INCREMENT,
+    scope VARCHAR(50) NOT NULL,
+    changed_at DATETIME NOT NULL,
+    PRIMARY KEY (change_id)
+);
+
+CREATE TABLE IF NOT EXISTS offline_journal_applied (
+    entry_id VARCHAR(36) NOT NULL PRIMARY KEY,
+    entry_type VARCHAR(20) NOT NULL,
+    applied_at DATETIME NOT NULL
+);
+
+-- Sample data: the default logins from the README and the floor plan tables.
+-- The menu is loaded from the manager screen (MenuDataLoader).
+INSERT INTO user (user_id, username, password, first_name, last_name, role, contact_number, is_active)
+SELECT * FROM (
+    SELECT 'USER001', 'man1', 'manager00', 'Default', 'Manager', 'MANAGER', NULL, TRUE UNION ALL
+    SELECT 'USER002', 'wait1', 'waiter00', 'Default', 'Waiter', 'WAITER', NULL, TRUE UNION ALL
+    SELECT 'USER003', 'bbb', 'bbb', 'Default', 'Cook', 'COOK', NULL, TRUE UNION ALL
+    SELECT 'USER004', 'aaa', 'aaa', 'Default', 'Busboy', 'BUSBOY', NULL, TRUE
+) seed
+WHERE NOT EXISTS (SELECT 1 FROM user);
+
+INSERT INTO restaurant_table (table_id, table_number, status, capacity, location_x, location_y)
+SELECT * FROM (
+    SELECT 'TABLE001', 'A1', 'AVAILABLE', 4, 0, 0 UNION ALL SELECT 'TABLE002', 'A2', 'AVAILABLE', 4, 1, 0 UNION ALL
+    SELECT 'TABLE003', 'A3', 'AVAILABLE', 4, 2, 0 UNION ALL SELECT 'TABLE004', 'A4', 'AVAILABLE', 4, 3, 0 UNION ALL
+    SELECT 'TABLE005', 'A5', 'AVAILABLE', 4, 4, 0 UNION ALL SELECT 'TABLE006', 'A6', 'AVAILABLE', 4, 5, 0 UNION ALL
+    SELECT 'TABLE007', 'B1', 'AVAILABLE', 4, 0, 1 UNION ALL SELECT 'TABLE008', 'B2', 'AVAILABLE', 4, 1, 1 UNION ALL
+    SELECT 'TABLE009', 'B3', 'AVAILABLE', 4, 2, 1 UNION ALL SELECT 'TABLE010', 'B4', 'AVAILABLE', 4, 3, 1 UNION ALL
+    SELECT 'TABLE011', 'B5', 'AVAILABLE', 4, 4, 1 UNION ALL SELECT 'TABLE012', 'B6', 'AVAILABLE', 4, 5, 1 UNION ALL
+    SELECT 'TABLE013', 'C5', 'AVAILABLE', 4, 4, 2 UNION ALL SELECT 'TABLE014', 'C6', 'AVAILABLE', 4, 5, 2 UNION ALL
+    SELECT 'TABLE015', 'D5', 'AVAILABLE', 4, 4, 3 UNION ALL SELECT 'TABLE016', 'D6', 'AVAILABLE', 4, 5, 3 UNION ALL
+    SELECT 'TABLE017', 'E1', 'AVAILABLE', 4, 0, 4 UNION ALL SELECT 'TABLE018', 'E2', 'AVAILABLE', 4, 1, 4 UNION ALL
+    SELECT 'TABLE019', 'E3', 'AVAILABLE', 4, 2, 4 UNION ALL SELECT 'TABLE020', 'E4', 'AVAILABLE', 4, 3, 4 UNION ALL
+    SELECT 'TABLE021', 'E5', 'AVAILABLE', 4, 4, 4 UNION ALL SELECT 'TABLE022', 'E6', 'AVAILABLE', 4, 5, 4 UNION ALL
+    SELECT 'TABLE023', 'F1', 'AVAILABLE', 4, 0, 5 UNION ALL SELECT 'TABLE024', 'F2', 'AVAILABLE', 4, 1, 5 UNION ALL
+    SELECT 'TABLE025', 'F3', 'AVAILABLE', 4, 2, 5 UNION ALL SELECT 'TABLE026', 'F4', 'AVAILABLE', 4, 3, 5 UNION ALL
+    SELECT 'TABLE027', 'F5', 'AVAILABLE', 4, 4, 5 UNION ALL SELECT 'TABLE028', 'F6', 'AVAILABLE', 4, 5, 5
+) seed
+WHERE NOT EXISTS (SELECT 1 FROM restaurant_table);
@@ -0,0 +1,95 @@
+package Components;
+
+import java.util.function.Function;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.FXCollections;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.util.Duration;
+import utils.CacheMetrics;
+import utils.MetricsRegistry;
+
+/**
+ * Diagnostics view listing the metrics of every cache registered with
+ * MetricsRegistry. Refreshes itself every few seconds while it is shown.
+ */
+public class CacheDiagnosticsPane extends VBox {
+    private static final Duration REFRESH_INTERVAL = Duration.seconds(2);
+
+    private final TableView<CacheMetrics> table = new TableView<>();
+    private final Timeline refreshTimeline;
+
+    public CacheDiagnosticsPane() {
+        setSpacing(10);
+        setPadding(new Insets(15));
+
+        Label title = new Label("Cache diagnostics");
+        title.setStyle("-fx-font-size: 18px; -fx-font-weight: bold;");
+
+        Button refreshButton = new Button("Refresh");
+        refreshButton.setOnAction(e -> refresh());
+        Button resetButton = new Button("Reset counters");
+        resetButton.setOnAction(e -> {
+            MetricsRegistry.getCaches().forEach(CacheMetrics::reset);
+            refresh();
+        });
+        HBox header = new HBox(10, title, refreshButton, resetButton);
+        header.setAlignment(Pos.CENTER_LEFT);
+
+        table.getColumns().add(column("Cache", CacheMetrics::getName));
+        table.getColumns().add(column("Hits", CacheMetrics::getHits));
+        table.getColumns().add(column("Misses", CacheMetrics::getMisses));
+        table.getColumns().add(column("Hit ratio", m -> String.format("%.1f%%", m.getHitRatio() * 100)));
+        table.getColumns().add(column("Evictions", CacheMetrics::getEvictions));
+        table.getColumns().add(column("Loads", CacheMetrics::getLoads));
+        table.getColumns().add(column("Load mean (ms)", m -> String.format("%.2f", m.getLoadTimeMeanMillis())));
+        table.getColumns().add(column("Load p95 (ms)", m -> String.format("%.2f", m.getLoadTimeP95Millis())));
+        table.getColumns().add(column("Size", m -> gauge(m.getSize())));
+        table.getColumns().add(column("Memory (KB)",
+                m -> m.getWeightBytes() < 0 ? "-" : String.valueOf(m.getWeightBytes() / 1024)));
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
+        VBox.setVgrow(table, Priority.ALWAYS);
+
+        getChildren().addAll(header, table);
+
+        refreshTimeline = new Timeline(new KeyFrame(REFRESH_INTERVAL, e -> refresh()));
+        refreshTimeline.setCycleCount(Animation.INDEFINITE);
+        // Only poll the metrics while the pane is on screen
+        sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (newScene != null) {
+                refresh();
+                refreshTimeline.play();
+            } else {
+                refreshTimeline.stop();
+            }
+        });
+    }
+
+    /**
+     * Re-read every cache's metrics
+     */
+    public void refresh() {
+        table.setItems(FXCollections.observableArrayList(MetricsRegistry.getCaches()));
+        table.refresh();
+    }
+
+    private static <V> TableColumn<CacheMetrics, Object> column(String title, Function<CacheMetrics, V> value) {
+        TableColumn<CacheMetrics, Object> column = new TableColumn<>(title);
+        column.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(value.apply(cell.getValue())));
+        return column;
+    }
+
+    private static String gauge(long value) {
+        return value < 0 ? "-" : String.valueOf(value);
+    }
+}
@@ -8,6 +8,7 @@ import Model.User;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Objects;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javafx.geometry.Insets;
@@ -22,15 +23,22 @@ import javafx.scene.layout.VBox;
 
 /**
  * Custom component for displaying order cards in kitchen view
+ * A card stays on screen for the life of its order; update() patches it in
+ * place when the order changes
  */
 public class OrderCardComponent extends VBox {
     private static final Logger logger = Logger.getLogger(OrderCardComponent.class.getName());
     
-    private final Order order;
-    private final String cardType;
+    private Order order;
+    private String cardType;
     private final RestaurantService service;
     
     private Label timerLabel;
+    private Label tableLabel;
+    private Label waiterNameLabel;
+    private VBox itemsContainer;
+    private HBox buttonsContainer;
+    private String itemsSignature;
     private Runnable onStartPrep;
     private Runnable onMarkReady;
     private Runnable onClearOrder;
@@ -89,10 +97,11 @@ public class OrderCardComponent extends VBox {
         Separator separator = new Separator();
         
         // Create order items container
-        VBox itemsContainer = createItemsContainer();
+        itemsContainer = createItemsContainer();
+        itemsSignature = itemsSignatureOf(order);
         
         // Create buttons container
-        HBox buttonsContainer = createButtonsContainer();
+        buttonsContainer = createButtonsContainer();
         
         // Add all components to the card
         getChildren().addAll(header, separator, itemsContainer, buttonsContainer);
@@ -114,8 +123,7 @@ public class OrderCardComponent extends VBox {
         Label orderIdLabel = new Label("Order #" + order.getOrderId());
         orderIdLabel.getStyleClass().add("order-header");
         
-        String tableNumber = order.getTableId().replace("TABLE", "");
-        Label tableLabel = new Label("Table " + tableNumber);
+        tableLabel = new Label(tableText(order));
         tableLabel.getStyleClass().add("order-subheader");
         
         orderInfo.getChildren().addAll(orderIdLabel, tableLabel);
@@ -127,21 +135,7 @@ public class OrderCardComponent extends VBox {
         Label waiterLabel = new Label("Waiter:");
         waiterLabel.getStyleClass().add("order-subheader");
         
-        String waiterName = "Unknown";
-        try {
-            User waiter = service.getUserById(order.getWaiterId());
-            if (waiter != null) {
-                waiterName = waiter.getFullName();
-            } else {
-                waiterName = order.getWaiterId();
-                logger.warning("Could not find waiter name for ID: " + order.getWaiterId());
-            }
-        } catch (Exception ex) {
-            logger.log(Level.WARNING, "Error getting waiter info", ex);
-            waiterName = order.getWaiterId();
-        }
-        
-        Label waiterNameLabel = new Label(waiterName);
+        waiterNameLabel = new Label(waiterName(order));
         waiterNameLabel.getStyleClass().add("order-subheader");
         
         waiterInfo.getChildren().addAll(waiterLabel, waiterNameLabel);
@@ -176,6 +170,79 @@ public class OrderCardComponent extends VBox {
         return header;
     }
     
+    private static String tableText(Order order) {
+        return "Table " + order.getTableId().replace("TABLE", "");
+    }
+    
+    private String waiterName(Order order) {
+        try {
+            User waiter = service.getUserById(order.getWaiterId());
+            if (waiter != null) {
+                return waiter.getFullName();
+            }
+            logger.warning("Could not find waiter name for ID: " + order.getWaiterId());
+        } catch (Exception ex) {
+            logger.log(Level.WARNING, "Error getting waiter info", ex);
+        }
+        return order.getWaiterId();
+    }
+    
+    /**
+     * Show the current state of the order, rebuilding only the parts that changed
+     * @param order Latest version of this card's order
+     * @param cardType The type of card (PENDING, IN_PROGRESS, READY)
+     */
+    public void update(Order order, String cardType) {
+        Order previous = this.order;
+        this.order = order;
+        
+        if (!Objects.equals(previous.getTableId(), order.getTableId())) {
+            tableLabel.setText(tableText(order));
+        }
+        if (!Objects.equals(previous.getWaiterId(), order.getWaiterId())) {
+            waiterNameLabel.setText(waiterName(order));
+        }
+        
+        String signature = itemsSignatureOf(order);
+        if (!signature.equals(itemsSignature)) {
+            itemsSignature = signature;
+            VBox items = createItemsContainer();
+            itemsContainer.getChildren().setAll(items.getChildren());
+        }
+        
+        if (!cardType.equals(this.cardType)) {
+            if ("IN_PROGRESS".equals(this.cardType)) {
+                timerLabel.setText("--:--");
+                timerLabel.getStyleClass().removeAll("order-timer-warning", "order-timer-critical");
+                if (!timerLabel.getStyleClass().contains("order-timer-normal")) {
+                    timerLabel.getStyleClass().add("order-timer-normal");
+                }
+            }
+            this.cardType = cardType;
+            HBox buttons = createButtonsContainer();
+            buttonsContainer.getChildren().setAll(buttons.getChildren());
+        }
+    }
+    
+    /**
+     * Everything about an order's items that the card shows
+     */
+    private static String itemsSignatureOf(Order order) {
+        StringBuilder signature = new StringBuilder();
+        List<OrderItem> items = order.getOrderItems();
+        if (items != null) {
+            for (OrderItem item : items) {
+                signature.append(item.getOrderItemId()).append('|')
+                         .append(item.getMenuItemId()).append('|')
+                         .append(item.getMenuItemName()).append('|')
+                         .append(item.getQuantity()).append('|')
+                         .append(item.getSpecialInstructions()).append('|')
+                         .append(item.getSeatNumber()).append('\n');
+            }
+        }
+        return signature.toString();
+    }
+    
     /**
      * Create the items container section
      * @return VBox containing the items
@@ -297,6 +364,20 @@ public class OrderCardComponent extends VBox {
         return buttonsContainer;
     }
     
+    /**
+     * @return The order as last shown by this card
+     */
+    public Order getOrder() {
+        return order;
+    }
+    
+    /**
+     * @return The type of card (PENDING, IN_PROGRESS, READY)
+     */
+    public String getCardType() {
+        return cardType;
+    }
+    
     /**
      * Get the timer label for this card
      * @return The timer label
@@ -4,10 +4,11 @@ import java.net.URL;
 import java.util.ResourceBundle;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.io.IOException;
 
-import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -23,6 +24,7 @@ import javafx.stage.StageStyle;
 
 import Controllers.UserAwareController;
 import DAO.RestaurantService;
+import DAO.FxTableStatusObserver;
 import DAO.TableStatusObserver;
 import Model.RestaurantTable;
 import Model.User;
@@ -30,7 +32,7 @@ import Model.User;
 /**
  * Controller for busboy's table view
  */
-public class BusboyTableController implements Initializable, UserAwareController, TableStatusObserver {
+public class BusboyTableController implements Initializable, UserAwareController, FxTableStatusObserver {
     private static final Logger logger = Logger.getLogger(BusboyTableController.class.getName());
     private final RestaurantService service = RestaurantService.getInstance();
     private User currentUser;
@@ -201,8 +203,7 @@ private void handleTableClick(String tableNumber) {
     
     try {
         // Find the table
-        List<RestaurantTable> tables = service.getAllTables();
-        RestaurantTable table = findTableByNumber(tables, tableNumber);
+        RestaurantTable table = service.getTableByNumber(tableNumber);
         
         if (table == null) {
             showAlert("Table Not Found", "Could not find table " + tableNumber);
@@ -469,30 +470,35 @@ private void openTableStatusScreen(RestaurantTable table) {
      */
     @Override
     public void onTableStatusChanged(String tableId, String newStatus) {
-        // Update the UI on the JavaFX thread
-        Platform.runLater(() -> {
-            logger.info("Table status changed: " + tableId + " -> " + newStatus);
-            refreshTables();
-            
-            // If it's a Dirty status notification, show a notification to the busboy
-            try {
-                if (newStatus.equals("DIRTY")) {
-                    RestaurantTable table = null;
-                    List<RestaurantTable> tables = service.getAllTables();
-                    for (RestaurantTable t : tables) {
-                        if (t.getTableId().equals(tableId)) {
-                            table = t;
-                            break;
-                        }
-                    }
-                    
-                    if (table != null) {
-                        showAlert("Table Needs Cleaning", "Table " + table.getTableNumber() + " is now dirty and needs cleaning.");
-                    }
+        onTableStatusesChanged(Collections.singletonMap(tableId, newStatus));
+    }
+    
+    /**
+     * Redraw the tables once for every change delivered together
+     */
+    @Override
+    public void onTableStatusesChanged(Map<String, String> changes) {
+        // Called on the JavaFX thread (FxTableStatusObserver)
+        logger.info("Table status changed: " + changes);
+        refreshTables();
+        
+        for (Map.Entry<String, String> change : changes.entrySet()) {
+            notifyIfDirty(change.getKey(), change.getValue());
+        }
+    }
+    
+    private void notifyIfDirty(String tableId, String newStatus) {
+        // If it's a Dirty status notification, show a notification to the busboy
+        try {
+            if (newStatus.equals("DIRTY")) {
+                RestaurantTable table = service.getTableById(tableId);
+                
+                if (table != null) {
+                    showAlert("Table Needs Cleaning", "Table " + table.getTableNumber() + " is now dirty and needs cleaning.");
                 }
-            } catch (Exception ex) {
-                logger.log(Level.WARNING, "Error checking table status change", ex);
             }
-        });
+        } catch (Exception ex) {
+            logger.log(Level.WARNING, "Error checking table status change", ex);
+        }
     }
 }
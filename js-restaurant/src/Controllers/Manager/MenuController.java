@@ -21,6 +21,7 @@ import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.scene.image.ImageView;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.HBox;
@@ -28,6 +29,8 @@ import javafx.stage.Modality;
 import javafx.stage.Stage;
 import com.jfoenix.controls.JFXTextField;
 import javafx.beans.binding.Bindings;
+import utils.MenuImageCache;
+import utils.TaskScope;
 
 public class MenuController implements Initializable {
     private static final Logger logger = Logger.getLogger(MenuController.class.getName());
@@ -120,15 +123,27 @@ public class MenuController implements Initializable {
 // Configure the cell factories for better text display
 nameColumn.setCellFactory(col -> {
     TableCell<MenuItem, String> cell = new TableCell<MenuItem, String>() {
+        // Thumbnail of the item's picture, shared with other screens through MenuImageCache
+        private final ImageView thumbnail = new ImageView();
+        {
+            thumbnail.setFitWidth(MenuImageCache.Size.THUMBNAIL.getWidth());
+            thumbnail.setFitHeight(MenuImageCache.Size.THUMBNAIL.getHeight());
+            thumbnail.setPreserveRatio(true);
+        }
+        
         @Override
         protected void updateItem(String item, boolean empty) {
             super.updateItem(item, empty);
+            MenuItem menuItem = getTableRow() != null ? getTableRow().getItem() : null;
             if (empty || item == null) {
                 setText(null);
                 setGraphic(null);
             } else {
                 setText(item);
                 setWrapText(true);
+                thumbnail.setImage(menuItem != null && menuItem.getItemId() != null
+                        ? MenuImageCache.getImage(menuItem.getItemId(), MenuImageCache.Size.THUMBNAIL) : null);
+                setGraphic(thumbnail);
             }
         }
     };
@@ -252,13 +267,8 @@ menuTable.setMinHeight(200); // Set a minimum height
      * Load menu items from the service
      */
 private void loadMenuItems() {
-    try {
-        // Clear existing data
-        menuItemsList.clear();
-        
-        // Get all menu items
-        List<MenuItem> items = service.getAllMenuItems();
-        menuItemsList.addAll(items);
+    TaskScope.of(menuTable).submitLatest("menuItems", service::getAllMenuItems, items -> {
+        menuItemsList.setAll(items);
         
         // This is important - if you're using a FilteredList, it needs to be invalidated
         if (filteredData != null) {
@@ -273,11 +283,8 @@ private void loadMenuItems() {
         } else {
             logger.info("Loaded " + menuItemsList.size() + " menu items");
         }
-    } catch (Exception ex) {
-        logger.log(Level.SEVERE, "Error loading menu items", ex);
-        showAlert(Alert.AlertType.ERROR, "Data Error", "Could not load menu items", 
-                "There was an error loading the menu items. Please try again later.");
-    }
+    }, ex -> showAlert(Alert.AlertType.ERROR, "Data Error", "Could not load menu items", 
+            "There was an error loading the menu items. Please try again later."));
 }
     
     /**
@@ -498,7 +505,6 @@ private void loadMenuItems() {
                 
                 if (success) {
                     logger.info("Menu item deleted: " + selectedItem.getItemId());
-                    loadMenuItems();
                     showAlert(Alert.AlertType.INFORMATION, "Success", 
                             "Menu Item Deleted", 
                             "The menu item was successfully deleted.");
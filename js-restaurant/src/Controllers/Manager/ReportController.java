@@ -30,6 +30,7 @@ import javafx.util.StringConverter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import utils.TaskScope;
 
 public class ReportController implements Initializable {
     private static final Logger logger = Logger.getLogger(ReportController.class.getName());
@@ -335,114 +336,110 @@ private final ObservableList<Model.MenuItem> topSellingItems = FXCollections.obs
     }
     
     private void loadTopSellersData() {
-        try {
-            // Clear existing chart
-            salesChartContainer.getChildren().clear();
-            
-            // Get date range
-            LocalDate startDate = getStartDateFromSelection();
-            LocalDate endDate = LocalDate.now();
-            
-            // Load top sellers data
-            List<TopSellerData> topSellers = service.getTopSellers(startDate, endDate, 6);
-            
-            // Create bar chart
-            CategoryAxis xAxis = new CategoryAxis();
-            NumberAxis yAxis = new NumberAxis();
-            
-            xAxis.setLabel("Menu Item");
-            yAxis.setLabel("Orders");
-            
-            BarChart<String, Number> barChart = new BarChart<>(xAxis, yAxis);
-            barChart.setTitle("Top Selling Items");
-            
-            // Create data series
-            XYChart.Series<String, Number> series = new XYChart.Series<>();
-            series.setName("Number of Orders");
-            
-            for (TopSellerData data : topSellers) {
-                series.getData().add(new XYChart.Data<>(data.getName(), data.getOrderCount()));
-            }
-            
-            barChart.getData().add(series);
-            barChart.setLegendVisible(false);
-            
-            // Style the chart
-            barChart.getStyleClass().add("sales-chart");
-            
-            // Add to container
-            barChart.setPrefWidth(salesChartContainer.getPrefWidth());
-            barChart.setPrefHeight(salesChartContainer.getPrefHeight());
-            salesChartContainer.getChildren().add(barChart);
-            
-            logger.info("Loaded top sellers data with " + topSellers.size() + " items");
-        } catch (Exception ex) {
-            logger.log(Level.SEVERE, "Error loading top sellers data", ex);
-            showAlert(Alert.AlertType.ERROR, "Data Error", "Could not load top sellers data", 
-                    "There was an error loading the top sellers data: " + ex.getMessage());
+        // Get date range
+        LocalDate startDate = getStartDateFromSelection();
+        LocalDate endDate = LocalDate.now();
+        
+        // Load top sellers data off the UI thread
+        TaskScope.of(reportTabPane).submitLatest("topSellers",
+                () -> service.getTopSellers(startDate, endDate, 6),
+                this::showTopSellers,
+                ex -> showAlert(Alert.AlertType.ERROR, "Data Error", "Could not load top sellers data", 
+                        "There was an error loading the top sellers data: " + ex.getMessage()));
+    }
+    
+    private void showTopSellers(List<TopSellerData> topSellers) {
+        // Clear existing chart
+        salesChartContainer.getChildren().clear();
+        
+        // Create bar chart
+        CategoryAxis xAxis = new CategoryAxis();
+        NumberAxis yAxis = new NumberAxis();
+        
+        xAxis.setLabel("Menu Item");
+        yAxis.setLabel("Orders");
+        
+        BarChart<String, Number> barChart = new BarChart<>(xAxis, yAxis);
+        barChart.setTitle("Top Selling Items");
+        
+        // Create data series
+        XYChart.Series<String, Number> series = new XYChart.Series<>();
+        series.setName("Number of Orders");
+        
+        for (TopSellerData data : topSellers) {
+            series.getData().add(new XYChart.Data<>(data.getName(), data.getOrderCount()));
         }
+        
+        barChart.getData().add(series);
+        barChart.setLegendVisible(false);
+        
+        // Style the chart
+        barChart.getStyleClass().add("sales-chart");
+        
+        // Add to container
+        barChart.setPrefWidth(salesChartContainer.getPrefWidth());
+        barChart.setPrefHeight(salesChartContainer.getPrefHeight());
+        salesChartContainer.getChildren().add(barChart);
+        
+        logger.info("Loaded top sellers data with " + topSellers.size() + " items");
     }
     
     private void loadInventoryData() {
-        try {
-            // Get inventory data with filters
-            String categoryFilter = categoryFilterCombo.getValue();
-            String statusFilter = statusFilterCombo.getValue();
-            
-            List<InventoryItem> items = service.getInventoryItems(
-                categoryFilter.equals("All Categories") ? null : categoryFilter,
-                statusFilter.equals("All Status") ? null : statusFilter
-            );
-            
-            // Update the table
-            inventoryItems.setAll(items);
-            inventoryTable.setItems(inventoryItems);
-            
-            // Update summary counts
-            int lowCount = 0;
-            int warningCount = 0;
-            
-            for (InventoryItem item : items) {
-                if (item.isLow()) {
-                    lowCount++;
-                } else if (item.getCurrentStock() < item.getMinRequired() * 1.2) {
-                    warningCount++;
-                }
+        // Get inventory data with filters
+        String categoryFilter = categoryFilterCombo.getValue();
+        String statusFilter = statusFilterCombo.getValue();
+        
+        TaskScope.of(reportTabPane).submitLatest("inventory",
+                () -> service.getInventoryItems(
+                    categoryFilter.equals("All Categories") ? null : categoryFilter,
+                    statusFilter.equals("All Status") ? null : statusFilter),
+                this::showInventory,
+                ex -> showAlert(Alert.AlertType.ERROR, "Data Error", "Could not load inventory data", 
+                        "There was an error loading the inventory data: " + ex.getMessage()));
+    }
+    
+    private void showInventory(List<InventoryItem> items) {
+        // Update the table
+        inventoryItems.setAll(items);
+        inventoryTable.setItems(inventoryItems);
+        
+        // Update summary counts
+        int lowCount = 0;
+        int warningCount = 0;
+        
+        for (InventoryItem item : items) {
+            if (item.isLow()) {
+                lowCount++;
+            } else if (item.getCurrentStock() < item.getMinRequired() * 1.2) {
+                warningCount++;
             }
-            
-            this.lowStockCount.setText(String.valueOf(lowCount));
-            this.warningCount.setText(String.valueOf(warningCount));
-            this.pendingOrdersCount.setText("0"); // This would need to be fetched from a purchase order table
-            
-            logger.info("Loaded inventory data with " + items.size() + " items");
-        } catch (Exception ex) {
-            logger.log(Level.SEVERE, "Error loading inventory data", ex);
-            showAlert(Alert.AlertType.ERROR, "Data Error", "Could not load inventory data", 
-                    "There was an error loading the inventory data: " + ex.getMessage());
         }
+        
+        this.lowStockCount.setText(String.valueOf(lowCount));
+        this.warningCount.setText(String.valueOf(warningCount));
+        this.pendingOrdersCount.setText("0"); // This would need to be fetched from a purchase order table
+        
+        logger.info("Loaded inventory data with " + items.size() + " items");
     }
     
     private void loadKitchenPerformanceData() {
-        try {
-            // Get kitchen performance data with filters
-            String categoryFilter = kitchenCategoryCombo.getValue();
-            String staffFilter = kitchenStaffCombo.getValue();
-            
-            List<KitchenPerformanceItem> items = service.getKitchenPerformanceData(
-                categoryFilter.equals("All Categories") ? null : categoryFilter,
-                staffFilter.equals("All Staff") ? null : staffFilter
-            );
-            
-            // Update the table
-            kitchenPerformanceItems.setAll(items);
-            kitchenPerformanceTable.setItems(kitchenPerformanceItems);
-            
-            logger.info("Loaded kitchen performance data with " + items.size() + " items");
-        } catch (Exception ex) {
-            logger.log(Level.SEVERE, "Error loading kitchen performance data", ex);
-            showAlert(Alert.AlertType.ERROR, "Data Error", "Could not load kitchen performance data", 
-                    "There was an error loading the kitchen performance data: " + ex.getMessage());
-        }
+        // Get kitchen performance data with filters
+        String categoryFilter = kitchenCategoryCombo.getValue();
+        String staffFilter = kitchenStaffCombo.getValue();
+        
+        TaskScope.of(reportTabPane).submitLatest("kitchenPerformance",
+                () -> service.getKitchenPerformanceData(
+                    categoryFilter.equals("All Categories") ? null : categoryFilter,
+                    staffFilter.equals("All Staff") ? null : staffFilter),
+                items -> {
+                    // Update the table
+                    kitchenPerformanceItems.setAll(items);
+                    kitchenPerformanceTable.setItems(kitchenPerformanceItems);
+                    
+                    logger.info("Loaded kitchen performance data with " + items.size() + " items");
+                },
+                ex -> showAlert(Alert.AlertType.ERROR, "Data Error", "Could not load kitchen performance data", 
+                        "There was an error loading the kitchen performance data: " + ex.getMessage()));
     }
     
     private LocalDate getStartDateFromSelection() {
@@ -1,7 +1,7 @@
 package Controllers.Manager;
 
 import com.jfoenix.controls.JFXTextField;
-import DAO.RestaurantService;
+import DAO.RestaurantServiceAsync;
 import java.net.URL;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
@@ -23,7 +23,7 @@ import Controllers.Manager.manager_floorController;
 import Controllers.Manager.ReportController;
 public class manager_DashboardController implements Initializable {
     private static final Logger logger = Logger.getLogger(manager_DashboardController.class.getName());
-    private final RestaurantService service = RestaurantService.getInstance();
+    private final RestaurantServiceAsync asyncService = RestaurantServiceAsync.getInstance();
     private LocalDate currentLocalDate = LocalDate.now();
 
     @FXML
@@ -95,130 +95,142 @@ public class manager_DashboardController implements Initializable {
     
     /**
      * Load actual dashboard data from the service
+     * Queries run in the background; each card is filled in as its data arrives
      */
     private void loadDashboardData() {
-        try {
-            logger.info("Loading dashboard data from service");
-            
-            // Load revenue data
-            try {
-                double todayRevenue = service.getDailyRevenue(currentLocalDate);
-                double yesterdayRevenue = service.getDailyRevenue(currentLocalDate.minusDays(1));
-                double revenueChange = 0;
-                
-                if (yesterdayRevenue > 0) {
-                    revenueChange = ((todayRevenue - yesterdayRevenue) / yesterdayRevenue) * 100;
-                }
-                
-                profit.setText("$" + String.format("%,.2f", todayRevenue));
-                
-                String changeSymbol = revenueChange >= 0 ? "↑" : "↓";
-                String changeColor = revenueChange >= 0 ? "#61f84d" : "#ff5252";
-                profitPercent.setText(changeSymbol + " " + String.format("%.1f", Math.abs(revenueChange)) + "% from yesterday");
-                profitPercent.setStyle("-fx-text-fill: " + changeColor + ";");
-                
-                logger.info("Set revenue data: $" + todayRevenue + " (" + revenueChange + "% change)");
-            } catch (Exception ex) {
-                logger.log(Level.WARNING, "Error loading revenue data", ex);
-                profit.setText("$0.00");
-                profitPercent.setText("No data available");
-            }
-            
-            // Load customer data
-            try {
-                int customerCount = service.getDailyCustomerCount(currentLocalDate);
-                int yesterdayCount = service.getDailyCustomerCount(currentLocalDate.minusDays(1));
-                double customerChange = 0;
-                
-                if (yesterdayCount > 0) {
-                    customerChange = ((double)(customerCount - yesterdayCount) / yesterdayCount) * 100;
-                }
-                
-                customersCount.setText(String.valueOf(customerCount));
-                
-                String changeSymbol = customerChange >= 0 ? "↑" : "↓";
-                String changeColor = customerChange >= 0 ? "#61f84d" : "#ff5252";
-                customerPercent.setText(changeSymbol + " " + String.format("%.1f", Math.abs(customerChange)) + "% from yesterday");
-                customerPercent.setStyle("-fx-text-fill: " + changeColor + ";");
-                
-                logger.info("Set customer data: " + customerCount + " (" + customerChange + "% change)");
-            } catch (Exception ex) {
-                logger.log(Level.WARNING, "Error loading customer data", ex);
-                customersCount.setText("0");
-                customerPercent.setText("No data available");
-            }
-            
-            // Load staff data
-            try {
-                Map<String, Integer> staffByRole = service.getStaffCountByRole();
-                int totalStaff = 0;
-                
-                for (Integer count : staffByRole.values()) {
-                    totalStaff += count;
-                }
-                
-                staffCount.setText(String.valueOf(totalStaff));
-                
-                // Build staff details string (e.g. "5 waiters, 2 busboys, 5 chefs")
-                StringBuilder staffDetails = new StringBuilder();
-                
-                if (staffByRole.containsKey("WAITER")) {
-                    int waiterCount = staffByRole.get("WAITER");
-                    staffDetails.append(waiterCount).append(" waiter");
-                    if (waiterCount != 1) staffDetails.append("s");
-                }
-                
-                if (staffByRole.containsKey("BUSBOY")) {
-                    if (staffDetails.length() > 0) staffDetails.append(", ");
-                    int busboyCount = staffByRole.get("BUSBOY");
-                    staffDetails.append(busboyCount).append(" busboy");
-                    if (busboyCount != 1) staffDetails.append("s");
-                }
-                
-                if (staffByRole.containsKey("COOK")) {
-                    if (staffDetails.length() > 0) staffDetails.append(", ");
-                    int cookCount = staffByRole.get("COOK");
-                    staffDetails.append(cookCount).append(" chef");
-                    if (cookCount != 1) staffDetails.append("s");
-                }
-                
-                staffDetail.setText(staffDetails.toString());
-                logger.info("Set staff data: " + totalStaff + " (" + staffDetails.toString() + ")");
-            } catch (Exception ex) {
-                logger.log(Level.WARNING, "Error loading staff data", ex);
-                staffCount.setText("0");
-                staffDetail.setText("No staff data available");
-            }
-            
-            // Load table data
-            try {
-                Map<String, Integer> tableStatus = service.getTableStatusSummary();
-                int occupiedTables = tableStatus.getOrDefault("OCCUPIED", 0);
-                int totalTables = 0;
-                
-                for (Integer count : tableStatus.values()) {
-                    totalTables += count;
-                }
-                
-                double occupancyRate = 0;
-                if (totalTables > 0) {
-                    occupancyRate = ((double) occupiedTables / totalTables) * 100;
-                }
-                
-                tableCount.setText(occupiedTables + "/" + totalTables);
-                tablePercentage.setText(String.format("%.0f%%", occupancyRate) + " Occupancy");
-                
-                logger.info("Set table data: " + occupiedTables + "/" + totalTables + " (" + occupancyRate + "% occupancy)");
-            } catch (Exception ex) {
-                logger.log(Level.WARNING, "Error loading table data", ex);
-                tableCount.setText("0/0");
-                tablePercentage.setText("0% Occupancy");
-            }
-            
-            logger.info("Dashboard data loaded successfully");
-        } catch (Exception e) {
-            logger.log(Level.SEVERE, "Error loading dashboard data", e);
+        logger.info("Loading dashboard data from service");
+        LocalDate yesterday = currentLocalDate.minusDays(1);
+
+        // Load revenue data
+        asyncService.getDailyRevenue(currentLocalDate)
+                .thenCombine(asyncService.getDailyRevenue(yesterday), this::showRevenue)
+                .exceptionally(ex -> {
+                    logger.log(Level.WARNING, "Error loading revenue data", ex);
+                    profit.setText("$0.00");
+                    profitPercent.setText("No data available");
+                    return null;
+                });
+
+        // Load customer data
+        asyncService.getDailyCustomerCount(currentLocalDate)
+                .thenCombine(asyncService.getDailyCustomerCount(yesterday), this::showCustomers)
+                .exceptionally(ex -> {
+                    logger.log(Level.WARNING, "Error loading customer data", ex);
+                    customersCount.setText("0");
+                    customerPercent.setText("No data available");
+                    return null;
+                });
+
+        // Load staff data
+        asyncService.getStaffCountByRole()
+                .thenAccept(this::showStaff)
+                .exceptionally(ex -> {
+                    logger.log(Level.WARNING, "Error loading staff data", ex);
+                    staffCount.setText("0");
+                    staffDetail.setText("No staff data available");
+                    return null;
+                });
+
+        // Load table data
+        asyncService.getTableStatusSummary()
+                .thenAccept(this::showTables)
+                .exceptionally(ex -> {
+                    logger.log(Level.WARNING, "Error loading table data", ex);
+                    tableCount.setText("0/0");
+                    tablePercentage.setText("0% Occupancy");
+                    return null;
+                });
+    }
+
+    private Void showRevenue(double todayRevenue, double yesterdayRevenue) {
+        double revenueChange = 0;
+
+        if (yesterdayRevenue > 0) {
+            revenueChange = ((todayRevenue - yesterdayRevenue) / yesterdayRevenue) * 100;
         }
+
+        profit.setText("$" + String.format("%,.2f", todayRevenue));
+
+        String changeSymbol = revenueChange >= 0 ? "↑" : "↓";
+        String changeColor = revenueChange >= 0 ? "#61f84d" : "#ff5252";
+        profitPercent.setText(changeSymbol + " " + String.format("%.1f", Math.abs(revenueChange)) + "% from yesterday");
+        profitPercent.setStyle("-fx-text-fill: " + changeColor + ";");
+
+        logger.info("Set revenue data: $" + todayRevenue + " (" + revenueChange + "% change)");
+        return null;
+    }
+
+    private Void showCustomers(int customerCount, int yesterdayCount) {
+        double customerChange = 0;
+
+        if (yesterdayCount > 0) {
+            customerChange = ((double)(customerCount - yesterdayCount) / yesterdayCount) * 100;
+        }
+
+        customersCount.setText(String.valueOf(customerCount));
+
+        String changeSymbol = customerChange >= 0 ? "↑" : "↓";
+        String changeColor = customerChange >= 0 ? "#61f84d" : "#ff5252";
+        customerPercent.setText(changeSymbol + " " + String.format("%.1f", Math.abs(customerChange)) + "% from yesterday");
+        customerPercent.setStyle("-fx-text-fill: " + changeColor + ";");
+
+        logger.info("Set customer data: " + customerCount + " (" + customerChange + "% change)");
+        return null;
+    }
+
+    private void showStaff(Map<String, Integer> staffByRole) {
+        int totalStaff = 0;
+
+        for (Integer count : staffByRole.values()) {
+            totalStaff += count;
+        }
+
+        staffCount.setText(String.valueOf(totalStaff));
+
+        // Build staff details string (e.g. "5 waiters, 2 busboys, 5 chefs")
+        StringBuilder staffDetails = new StringBuilder();
+
+        if (staffByRole.containsKey("WAITER")) {
+            int waiterCount = staffByRole.get("WAITER");
+            staffDetails.append(waiterCount).append(" waiter");
+            if (waiterCount != 1) staffDetails.append("s");
+        }
+
+        if (staffByRole.containsKey("BUSBOY")) {
+            if (staffDetails.length() > 0) staffDetails.append(", ");
+            int busboyCount = staffByRole.get("BUSBOY");
+            staffDetails.append(busboyCount).append(" busboy");
+            if (busboyCount != 1) staffDetails.append("s");
+        }
+
+        if (staffByRole.containsKey("COOK")) {
+            if (staffDetails.length() > 0) staffDetails.append(", ");
+            int cookCount = staffByRole.get("COOK");
+            staffDetails.append(cookCount).append(" chef");
+            if (cookCount != 1) staffDetails.append("s");
+        }
+
+        staffDetail.setText(staffDetails.toString());
+        logger.info("Set staff data: " + totalStaff + " (" + staffDetails.toString() + ")");
+    }
+
+    private void showTables(Map<String, Integer> tableStatus) {
+        int occupiedTables = tableStatus.getOrDefault("OCCUPIED", 0);
+        int totalTables = 0;
+
+        for (Integer count : tableStatus.values()) {
+            totalTables += count;
+        }
+
+        double occupancyRate = 0;
+        if (totalTables > 0) {
+            occupancyRate = ((double) occupiedTables / totalTables) * 100;
+        }
+
+        tableCount.setText(occupiedTables + "/" + totalTables);
+        tablePercentage.setText(String.format("%.0f%%", occupancyRate) + " Occupancy");
+
+        logger.info("Set table data: " + occupiedTables + "/" + totalTables + " (" + occupancyRate + "% occupancy)");
     }
 // Add this field to manager_DashboardController
 private AnchorPane content;
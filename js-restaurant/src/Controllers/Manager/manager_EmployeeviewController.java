@@ -34,6 +34,7 @@ import javafx.scene.control.ButtonBar;
 import javafx.scene.control.Dialog;
 import javafx.scene.control.Label;
 import javafx.scene.layout.AnchorPane;
+import utils.TaskScope;
 
 /**
  * Controller for the employee management view
@@ -110,23 +111,16 @@ public class manager_EmployeeviewController implements Initializable {
      * Load employee data from the service
      */
     private void loadEmployeeData() {
-        try {
-            // Clear existing data
-            employeeList.clear();
-            
-            // Get all users from the service
-            employeeList.addAll(service.getAllUsers());
+        TaskScope.of(nodeTable).submitLatest("employees", service::getAllUsers, users -> {
+            employeeList.setAll(users);
             
             if (employeeList.isEmpty()) {
                 logger.info("No employees found in the database");
             } else {
                 logger.info("Loaded " + employeeList.size() + " employees");
             }
-        } catch (Exception ex) {
-            logger.log(Level.SEVERE, "Error loading employees", ex);
-            showAlert(AlertType.ERROR, "Data Error", "Could not load employee data", 
-                    "There was an error loading the employee data. Please try again later.");
-        }
+        }, ex -> showAlert(AlertType.ERROR, "Data Error", "Could not load employee data", 
+                "There was an error loading the employee data. Please try again later."));
     }
     
     /**
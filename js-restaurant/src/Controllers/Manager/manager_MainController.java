@@ -1,5 +1,6 @@
 package Controllers.Manager;
 
+import Components.CacheDiagnosticsPane;
 import DAO.DatabaseManager;
 import DAO.TableDAO;
 import DAO.UserDAO;
@@ -11,6 +12,7 @@ import java.net.URL;
 import java.util.ResourceBundle;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import utils.TaskScope;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -19,16 +21,24 @@ import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.image.Image;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCodeCombination;
+import javafx.scene.input.KeyCombination;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.StackPane;
 import javafx.stage.Stage;
 
 public class manager_MainController implements Initializable {
     
     private static final Logger logger = Logger.getLogger(manager_MainController.class.getName());
+    // Not in the menu; opens the cache diagnostics view
+    private static final KeyCombination DIAGNOSTICS_SHORTCUT =
+            new KeyCodeCombination(KeyCode.D, KeyCombination.SHORTCUT_DOWN, KeyCombination.SHIFT_DOWN);
     private final RestaurantService service = RestaurantService.getInstance();
     private User currentUser;
+    private TaskScope screenScope;
     
     @FXML
     private AnchorPane content;
@@ -40,6 +50,17 @@ public class manager_MainController implements Initializable {
     public void initialize(URL url, ResourceBundle rb) {
         logger.info("Manager Main Controller initialized");
         
+        if (content != null) {
+            content.sceneProperty().addListener((obs, oldScene, newScene) -> {
+                if (oldScene != null) {
+                    oldScene.getAccelerators().remove(DIAGNOSTICS_SHORTCUT);
+                }
+                if (newScene != null) {
+                    newScene.getAccelerators().put(DIAGNOSTICS_SHORTCUT, this::onDiagnostics);
+                }
+            });
+        }
+        
         // Load dashboard as default view on initialization
         try {
             onDashboard(null);
@@ -94,14 +115,7 @@ public class manager_MainController implements Initializable {
                     // Pass the content pane reference
         dashboardController.setContentPane(content);
             
-            // Clear existing content and add new content
-            content.getChildren().clear();
-            
-            // Manually set size to match parent container
-            dashboardPane.prefWidthProperty().bind(content.widthProperty());
-            dashboardPane.prefHeightProperty().bind(content.heightProperty());
-            
-            content.getChildren().add(dashboardPane);
+            setContentPane(dashboardPane);
             
             logger.info("Dashboard view loaded successfully");
         } catch (IOException ex) {
@@ -111,6 +125,47 @@ public class manager_MainController implements Initializable {
         }
     }
     
+    /**
+     * Replace the current screen. Background work of the previous screen is
+     * cancelled, and a loading indicator is shown over the new screen while
+     * its TaskScope has work pending.
+     * @param pane Root of the new screen
+     */
+    private void setContentPane(Parent pane) {
+        if (screenScope != null) {
+            screenScope.cancelAll();
+        }
+        screenScope = TaskScope.attach(pane);
+        
+        ProgressIndicator loadingIndicator = new ProgressIndicator();
+        loadingIndicator.setMaxSize(60, 60);
+        loadingIndicator.setMouseTransparent(true);
+        loadingIndicator.visibleProperty().bind(screenScope.busyProperty());
+        
+        // The stack fills the content area and stretches the screen with it
+        StackPane screen = new StackPane(pane, loadingIndicator);
+        AnchorPane.setTopAnchor(screen, 0.0);
+        AnchorPane.setRightAnchor(screen, 0.0);
+        AnchorPane.setBottomAnchor(screen, 0.0);
+        AnchorPane.setLeftAnchor(screen, 0.0);
+        
+        content.getChildren().setAll(screen);
+    }
+    
+    /**
+     * Show the cache diagnostics view
+     */
+    void onDiagnostics() {
+        if (content == null) {
+            logger.warning("Content pane is null. Cannot load diagnostics view.");
+            return;
+        }
+        
+        setContentPane(new CacheDiagnosticsPane());
+        
+        logger.info("Diagnostics view loaded");
+    }
+    
     /**
      * Load the employee management view
      * @param event Action event
@@ -138,13 +193,7 @@ public class manager_MainController implements Initializable {
             FXMLLoader loader = new FXMLLoader(fxmlUrl);
             AnchorPane employeePane = loader.load();
             
-            // Set appropriate size
-            employeePane.prefWidthProperty().bind(content.widthProperty());
-            employeePane.prefHeightProperty().bind(content.heightProperty());
-            
-            // Clear existing content and add new content
-            content.getChildren().clear();
-            content.getChildren().add(employeePane);
+            setContentPane(employeePane);
             
             logger.info("Employee management view loaded successfully");
         } catch (IOException ex) {
@@ -190,20 +239,7 @@ void onFloorPlan(ActionEvent event) {
                 ", User: " + (currentUser == null ? "null" : "not null"));
         }
         
-        // Set appropriate size
-        if (floorPlanPane instanceof BorderPane) {
-            BorderPane borderPane = (BorderPane) floorPlanPane;
-            borderPane.prefWidthProperty().bind(content.widthProperty());
-            borderPane.prefHeightProperty().bind(content.heightProperty());
-        } else {
-            // Generic approach for any Parent type
-            floorPlanPane.prefWidth(content.getWidth());
-            floorPlanPane.prefHeight(content.getHeight());
-        }
-        
-        // Clear existing content and add new content
-        content.getChildren().clear();
-        content.getChildren().add(floorPlanPane);
+        setContentPane(floorPlanPane);
         
         logger.info("Floor plan view loaded successfully");
     } catch (IOException ex) {
@@ -243,20 +279,7 @@ void onMenu(ActionEvent event) {
         // Get the controller if needed
         MenuController menuController = loader.getController();
         
-        // Set appropriate size
-        if (menuPane instanceof BorderPane) {
-            BorderPane borderPane = (BorderPane) menuPane;
-            borderPane.prefWidthProperty().bind(content.widthProperty());
-            borderPane.prefHeightProperty().bind(content.heightProperty());
-        } else {
-            // Generic approach for any Parent type
-            menuPane.prefWidth(content.getWidth());
-            menuPane.prefHeight(content.getHeight());
-        }
-        
-        // Clear existing content and add new content
-        content.getChildren().clear();
-        content.getChildren().add(menuPane);
+        setContentPane(menuPane);
         
         logger.info("Menu management view loaded successfully");
     } catch (IOException ex) {
@@ -293,13 +316,7 @@ void onReport(ActionEvent event) {
         FXMLLoader loader = new FXMLLoader(fxmlUrl);
         AnchorPane reportPane = loader.load();
         
-        // Set appropriate size
-        reportPane.prefWidthProperty().bind(content.widthProperty());
-        reportPane.prefHeightProperty().bind(content.heightProperty());
-        
-        // Clear existing content and add new content
-        content.getChildren().clear();
-        content.getChildren().add(reportPane);
+        setContentPane(reportPane);
         
         logger.info("Reporting view loaded successfully");
     } catch (IOException ex) {
@@ -341,14 +358,7 @@ void onAccount(ActionEvent event) {
             if (currentUser == null) System.err.println("Current user is null");
         }
         
-        // Clear existing content and add new content
-        content.getChildren().clear();
-        
-        // Set appropriate size
-        accountPane.prefWidthProperty().bind(content.widthProperty());
-        accountPane.prefHeightProperty().bind(content.heightProperty());
-        
-        content.getChildren().add(accountPane);
+        setContentPane(accountPane);
         
         logger.info("Account view loaded successfully");
     } catch (IOException ex) {
@@ -4,6 +4,7 @@ import Model.RestaurantTable;
 import Model.User;
 import DAO.RestaurantService;
 import DAO.TableDAO;
+import DAO.FxTableStatusObserver;
 import DAO.TableStatusObserver;
 
 import java.net.URL;
@@ -34,7 +35,7 @@ import javafx.scene.control.Label;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 
-public class manager_floorplanController implements Initializable, TableStatusObserver {
+public class manager_floorplanController implements Initializable, FxTableStatusObserver {
     private static final Logger logger = Logger.getLogger(manager_floorplanController.class.getName());
     private final RestaurantService service = RestaurantService.getInstance();
     private Map<String, Button> tableButtons = new HashMap<>();
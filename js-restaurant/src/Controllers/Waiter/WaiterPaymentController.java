@@ -4,7 +4,7 @@ import Controllers.UserAwareController;
 import Model.Order;
 import Model.Receipt;
 import Model.User;
-import DAO.RestaurantService;
+import DAO.RestaurantServiceAsync;
 import java.net.URL;
 import java.text.DecimalFormat;
 import java.util.ResourceBundle;
@@ -31,7 +31,7 @@ import javafx.stage.Stage;
  */
 public class WaiterPaymentController implements Initializable, UserAwareController {
     private static final Logger logger = Logger.getLogger(WaiterPaymentController.class.getName());
-    private final RestaurantService service = RestaurantService.getInstance();
+    private final RestaurantServiceAsync asyncService = RestaurantServiceAsync.getInstance();
     private User currentUser;
     private Order currentOrder;
     private double tipAmount = 0.0;
@@ -233,28 +233,46 @@ public class WaiterPaymentController implements Initializable, UserAwareControll
             }
             
             if (validated) {
-                // Process the payment
-                boolean success = service.processPayment(currentOrder.getOrderId(), paymentMethod, tipAmount);
-                
-                if (success) {
-                    logger.info("Payment processed successfully");
-                    showAlert("Success", "Payment processed successfully");
-                    paymentCompleted = true;
-                    
-                    // Show the receipt
-                    showReceipt(paymentMethod);
-                    
-                    // Mark table as dirty after payment
-                    service.updateTableStatus(currentOrder.getTableId(), "DIRTY", currentUser.getUserId());
-                    logger.info("Table marked as dirty after payment");
-                    
-                    // Close the window
-                    Stage stage = (Stage) payButton.getScene().getWindow();
-                    stage.close();
-                } else {
-                    logger.warning("Failed to process payment");
-                    showAlert("Error", "Failed to process payment");
-                }
+                // Process the payment in the background; block double submits meanwhile
+                final String method = paymentMethod;
+                payButton.setDisable(true);
+                returnButton.setDisable(true);
+
+                asyncService.processPayment(currentOrder.getOrderId(), method, tipAmount)
+                        .whenComplete((success, ex) -> {
+                            // Only a failed payment reaches the error path; errors showing
+                            // the result below must not invite a second charge
+                            if (ex != null) {
+                                payButton.setDisable(false);
+                                returnButton.setDisable(false);
+                                logger.log(Level.SEVERE, "Error processing payment", ex);
+                                showAlert("Error", "Failed to process payment: " + RestaurantServiceAsync.unwrap(ex).getMessage());
+                            } else if (success) {
+                                logger.info("Payment processed successfully");
+                                paymentCompleted = true;
+                                try {
+                                    showAlert("Success", "Payment processed successfully");
+
+                                    // Mark table as dirty after payment
+                                    asyncService.updateTableStatus(currentOrder.getTableId(), "DIRTY", currentUser.getUserId())
+                                            .thenAccept(updated -> logger.info("Table marked as dirty after payment"));
+
+                                    // Show the receipt
+                                    showReceipt(method);
+                                } catch (RuntimeException uiEx) {
+                                    logger.log(Level.WARNING, "Payment succeeded but showing the receipt failed", uiEx);
+                                } finally {
+                                    // Close the window
+                                    Stage stage = (Stage) payButton.getScene().getWindow();
+                                    stage.close();
+                                }
+                            } else {
+                                payButton.setDisable(false);
+                                returnButton.setDisable(false);
+                                logger.warning("Failed to process payment");
+                                showAlert("Error", "Failed to process payment");
+                            }
+                        });
             }
             
         } catch (Exception ex) {
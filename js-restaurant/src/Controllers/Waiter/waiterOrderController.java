@@ -1,24 +1,29 @@
 package Controllers.Waiter;
 
 import Controllers.UserAwareController;
+import DAO.MenuCacheObserver;
 import DAO.RestaurantService;
+import DAO.RestaurantServiceAsync;
 import Model.MenuItem;
 import Model.Order;
 import Model.OrderItem;
 import Model.RestaurantTable;
 import Model.User;
 import java.io.File;
-import utils.MenuImageHandler;
+import utils.MenuImageCache;
 import java.io.IOException;
 import java.net.URL;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -38,7 +43,6 @@ import javafx.scene.control.Tab;
 import javafx.scene.control.TabPane;
 import javafx.scene.control.TextArea;
 import javafx.scene.control.TextField;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.GridPane;
@@ -51,9 +55,10 @@ import javafx.stage.Stage;
 /**
  * Controller for waiter's order view
  */
-public class WaiterOrderController implements Initializable, UserAwareController {
+public class WaiterOrderController implements Initializable, UserAwareController, MenuCacheObserver {
     private static final Logger logger = Logger.getLogger(WaiterOrderController.class.getName());
     private final RestaurantService service = RestaurantService.getInstance();
+    private final RestaurantServiceAsync asyncService = RestaurantServiceAsync.getInstance();
     private User currentUser;
     private RestaurantTable currentTable;
     private Order currentOrder;
@@ -122,8 +127,9 @@ public class WaiterOrderController implements Initializable, UserAwareController
         categoryPanes.put(6, sidesPane);       // Sides
         categoryPanes.put(7, beveragesPane);   // Beverages
         
-        // Load menu items
+        // Load menu items and keep them current while the screen is open
         loadMenuItems();
+        service.addMenuObserver(this);
         
         // Set up tab selection listener to update menu items
         menuTabPane.getSelectionModel().selectedItemProperty().addListener((obs, oldTab, newTab) -> {
@@ -191,32 +197,36 @@ public class WaiterOrderController implements Initializable, UserAwareController
     
     /**
      * Load existing order for the current table or create a new one
+     * The lookup runs in the background; save and pay stay disabled until it completes
      */
     private void loadOrCreateOrder() {
-        try {
-            // Get active orders for this table
-            List<Order> tableOrders = service.getActiveOrdersByTable(currentTable.getTableId());
-            
-            if (tableOrders.isEmpty()) {
-                // Create a new order for this table
-                currentOrder = service.createOrder(currentTable.getTableId(), currentUser.getUserId());
-                
-                if (currentOrder == null) {
-                    showAlert("Error", "Could not create a new order for this table");
-                    return;
-                }
-            } else {
-                // Use the existing order
-                currentOrder = tableOrders.get(0);
-            }
-            
-            // Update the UI with the order details
-            refreshOrderDisplay();
-            
-        } catch (Exception ex) {
-            logger.log(Level.SEVERE, "Error loading or creating order", ex);
-            showAlert("Error", "Could not load or create order: " + ex.getMessage());
-        }
+        saveButton.setDisable(true);
+        payButton.setDisable(true);
+
+        String tableId = currentTable.getTableId();
+        asyncService.getActiveOrdersByTable(tableId)
+                .thenCompose(tableOrders -> tableOrders.isEmpty()
+                        // Create a new order for this table
+                        ? asyncService.createOrder(tableId, currentUser.getUserId())
+                        // Use the existing order
+                        : CompletableFuture.completedFuture(tableOrders.get(0)))
+                .thenAccept(order -> {
+                    if (order == null) {
+                        showAlert("Error", "Could not create a new order for this table");
+                        return;
+                    }
+                    currentOrder = order;
+                    saveButton.setDisable(false);
+                    payButton.setDisable(false);
+
+                    // Update the UI with the order details
+                    refreshOrderDisplay();
+                })
+                .exceptionally(ex -> {
+                    logger.log(Level.SEVERE, "Error loading or creating order", ex);
+                    showAlert("Error", "Could not load or create order: " + RestaurantServiceAsync.unwrap(ex).getMessage());
+                    return null;
+                });
     }
     
     /**
@@ -227,6 +237,7 @@ public class WaiterOrderController implements Initializable, UserAwareController
             List<MenuItem> allItems = service.getAllMenuItems();
             
             // Group items by category
+            menuItemsByCategory.clear();
             for (MenuItem item : allItems) {
                 if (item.isAvailable()) {
                     int categoryId = item.getCategoryId();
@@ -237,15 +248,11 @@ public class WaiterOrderController implements Initializable, UserAwareController
                 }
             }
             
-            // Populate each category pane
-            for (Map.Entry<Integer, List<MenuItem>> entry : menuItemsByCategory.entrySet()) {
+            // Populate each category pane, emptying those with nothing available
+            for (Map.Entry<Integer, FlowPane> entry : categoryPanes.entrySet()) {
                 int categoryId = entry.getKey();
-                List<MenuItem> items = entry.getValue();
-                
-                FlowPane pane = categoryPanes.get(categoryId);
-                if (pane != null) {
-                    populateCategoryPane(pane, items, categoryId);
-                }
+                List<MenuItem> items = menuItemsByCategory.getOrDefault(categoryId, Collections.emptyList());
+                populateCategoryPane(entry.getValue(), items, categoryId);
             }
             
             logger.info("Menu items loaded successfully");
@@ -256,6 +263,21 @@ public class WaiterOrderController implements Initializable, UserAwareController
     }
     
     
+    /**
+     * Redraw the menu when items are changed, e.g. marked unavailable
+     */
+    @Override
+    public void onMenuChanged() {
+        Platform.runLater(this::loadMenuItems);
+    }
+    
+    /**
+     * Stop listening for menu changes; called when the order window is hidden
+     */
+    public void dispose() {
+        service.removeMenuObserver(this);
+    }
+    
     /**
      * Populate a category pane with menu items
      * @param pane The FlowPane to populate
@@ -298,17 +320,9 @@ public class WaiterOrderController implements Initializable, UserAwareController
     imageView.setFitHeight(100);
     imageView.setPreserveRatio(true);
 
-    // Load image dynamically using the item ID
+    // Shared, pre-scaled image; decoded in the background the first time
     try {
-        // Adjust the image path based on your folder structure
-        String imagePath = "/Resources/images/menu/" + item.getItemId().toLowerCase() + ".jpg";
-        URL imageUrl = getClass().getResource(imagePath);
-        if (imageUrl != null) {
-            imageView.setImage(new Image(imageUrl.toString()));
-        } else {
-            // Fallback image if not found
-            imageView.setImage(new Image(getClass().getResource("/Resources/images/menu/placeholder.jpg").toString()));
-        }
+        imageView.setImage(MenuImageCache.getImage(item.getItemId(), MenuImageCache.Size.TILE));
     } catch (Exception ex) {
         logger.log(Level.WARNING, "Error loading image for " + item.getItemId(), ex);
     }
@@ -370,10 +384,8 @@ public class WaiterOrderController implements Initializable, UserAwareController
     addButton.setOnAction(event -> {
         int quantity = Integer.parseInt(quantityLabel.getText());
         if (quantity > 0) {
-            // Add the item to the order
-            for (int i = 0; i < quantity; i++) {
-                addItemToOrder(item);
-            }
+            // Add all units to the order in one call
+            addItemToOrder(item, quantity);
 
             // Reset the quantity
             quantityLabel.setText("0");
@@ -470,59 +482,69 @@ public class WaiterOrderController implements Initializable, UserAwareController
     
     /**
      * Add an item to the order
+     * Each unit is stored as its own order item; all of them are written in one batch
      * @param menuItem The menu item to add
+     * @param quantity Number of units to add
      */
-    private void addItemToOrder(MenuItem menuItem) {
+    private void addItemToOrder(MenuItem menuItem, int quantity) {
         if (currentOrder == null || menuItem == null) {
             return;
         }
         
+        // Get special instructions if any
+        String instructions = null;
+        if (specialInstructionsTextArea.getText() != null && !specialInstructionsTextArea.getText().isEmpty()) {
+            instructions = specialInstructionsTextArea.getText();
+        }
+        
+        // Get seat number if specified
+        int seatNumber = 0;
         try {
-            // Create a new order item
+            if (seatNumberTextField.getText() != null && !seatNumberTextField.getText().isEmpty()) {
+                seatNumber = Math.max(0, Integer.parseInt(seatNumberTextField.getText()));
+            }
+        } catch (NumberFormatException e) {
+            // Show warning about invalid seat number
+            showAlert("Warning", "Invalid seat number. Using default.");
+        }
+        
+        // Create one order item per unit
+        List<OrderItem> newItems = new ArrayList<>(quantity);
+        for (int i = 0; i < quantity; i++) {
             OrderItem newItem = new OrderItem();
             newItem.setOrderId(currentOrder.getOrderId());
             newItem.setMenuItemId(menuItem.getItemId());
             newItem.setMenuItemName(menuItem.getName());
             newItem.setQuantity(1);
             newItem.setPrice(menuItem.getPrice());
-            
-            // Get special instructions if any
-            if (specialInstructionsTextArea.getText() != null && !specialInstructionsTextArea.getText().isEmpty()) {
-                newItem.setSpecialInstructions(specialInstructionsTextArea.getText());
-            }
-            
-            // Get seat number if specified
-            try {
-                if (seatNumberTextField.getText() != null && !seatNumberTextField.getText().isEmpty()) {
-                    int seatNumber = Integer.parseInt(seatNumberTextField.getText());
-                    if (seatNumber > 0) {
-                        newItem.setSeatNumber(seatNumber);
-                    }
-                }
-            } catch (NumberFormatException e) {
-                // Show warning about invalid seat number
-                showAlert("Warning", "Invalid seat number. Using default.");
+            if (instructions != null) {
+                newItem.setSpecialInstructions(instructions);
             }
-            
-            // Add the item to the order
-            boolean success = service.addItemToOrder(newItem, currentOrder.getOrderId());
-            
-            if (success) {
-                // Refresh the order to show the new item
-                currentOrder = service.getOrderById(currentOrder.getOrderId());
-                refreshOrderDisplay();
-                
-                // Clear input fields
-                specialInstructionsTextArea.clear();
-                seatNumberTextField.clear();
-            } else {
-                showAlert("Error", "Could not add item to order");
+            if (seatNumber > 0) {
+                newItem.setSeatNumber(seatNumber);
             }
-            
-        } catch (Exception ex) {
-            logger.log(Level.SEVERE, "Error adding item to order", ex);
-            showAlert("Error", "Could not add item to order: " + ex.getMessage());
+            newItems.add(newItem);
         }
+        
+        // Add the items and get the refreshed order back in the same call
+        asyncService.addItemsToOrder(currentOrder.getOrderId(), newItems)
+                .thenAccept(updatedOrder -> {
+                    if (updatedOrder != null) {
+                        currentOrder = updatedOrder;
+                        refreshOrderDisplay();
+                        
+                        // Clear input fields
+                        specialInstructionsTextArea.clear();
+                        seatNumberTextField.clear();
+                    } else {
+                        showAlert("Error", "Could not add item to order");
+                    }
+                })
+                .exceptionally(ex -> {
+                    logger.log(Level.SEVERE, "Error adding item to order", ex);
+                    showAlert("Error", "Could not add item to order: " + RestaurantServiceAsync.unwrap(ex).getMessage());
+                    return null;
+                });
     }
     
     /**
@@ -9,10 +9,11 @@ import java.net.URL;
 import java.util.ResourceBundle;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.io.IOException;
 
-import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -28,6 +29,7 @@ import javafx.stage.StageStyle;
 
 import Controllers.UserAwareController;
 import DAO.RestaurantService;
+import DAO.FxTableStatusObserver;
 import DAO.TableStatusObserver;
 import Model.Order;
 import Model.RestaurantTable;
@@ -36,7 +38,7 @@ import Model.User;
 /**
  * Controller for waiter's table view
  */
-public class WaiterTableController implements Initializable, UserAwareController, TableStatusObserver {
+public class WaiterTableController implements Initializable, UserAwareController, FxTableStatusObserver {
     private static final Logger logger = Logger.getLogger(WaiterTableController.class.getName());
     private final RestaurantService service = RestaurantService.getInstance();
     private User currentUser;
@@ -277,6 +279,7 @@ public class WaiterTableController implements Initializable, UserAwareController
             Stage stage = new Stage();
             stage.setTitle("Table " + table.getTableNumber() + " - Order");
             stage.setScene(scene);
+            stage.setOnHidden(e -> controller.dispose());
             stage.show();
             
         } catch (IOException ex) {
@@ -499,33 +502,38 @@ public class WaiterTableController implements Initializable, UserAwareController
      */
     @Override
     public void onTableStatusChanged(String tableId, String newStatus) {
-        // Update the UI on the JavaFX thread
-        Platform.runLater(() -> {
-            logger.info("Table status changed: " + tableId + " -> " + newStatus);
-            refreshTables();
+        onTableStatusesChanged(Collections.singletonMap(tableId, newStatus));
+    }
+    
+    /**
+     * Redraw the tables once for every change delivered together
+     */
+    @Override
+    public void onTableStatusesChanged(Map<String, String> changes) {
+        // Called on the JavaFX thread (FxTableStatusObserver)
+        logger.info("Table status changed: " + changes);
+        refreshTables();
+        
+        for (Map.Entry<String, String> change : changes.entrySet()) {
+            notifyIfReady(change.getKey(), change.getValue());
+        }
+    }
+    
+    private void notifyIfReady(String tableId, String newStatus) {
+        // If it's a Ready status notification and the table is assigned to this waiter,
+        // show a notification
+        try {
+            RestaurantTable table = service.getTableById(tableId);
             
-            // If it's a Ready status notification and the table is assigned to this waiter,
-            // show a notification
-            try {
-                RestaurantTable table = null;
-                List<RestaurantTable> tables = service.getAllTables();
-                for (RestaurantTable t : tables) {
-                    if (t.getTableId().equals(tableId)) {
-                        table = t;
-                        break;
-                    }
-                }
+            if (table != null && 
+                newStatus.equals("READY") && 
+                table.getAssignedWaiterId() != null &&
+                table.getAssignedWaiterId().equals(currentUser.getUserId())) {
                 
-                if (table != null && 
-                    newStatus.equals("READY") && 
-                    table.getAssignedWaiterId() != null &&
-                    table.getAssignedWaiterId().equals(currentUser.getUserId())) {
-                    
-                    showAlert("Order Ready", "Order for Table " + table.getTableNumber() + " is ready!");
-                }
-            } catch (Exception ex) {
-                logger.log(Level.WARNING, "Error checking table status change", ex);
+                showAlert("Order Ready", "Order for Table " + table.getTableNumber() + " is ready!");
             }
-        });
+        } catch (Exception ex) {
+            logger.log(Level.WARNING, "Error checking table status change", ex);
+        }
     }
 }
\ No newline at end of file
@@ -8,16 +8,15 @@ package Controllers;
 
 import Model.RestaurantTable;
 import Model.User;
-import DAO.TableStatusObserver;
+import DAO.FxTableStatusObserver;
 import DAO.RestaurantService;
 import java.util.List;
-import javafx.application.Platform;
 import javafx.scene.control.Alert;
 
 /**
  * Controller for waiter screens
  */
-public class WaiterController implements TableStatusObserver {
+public class WaiterController implements FxTableStatusObserver {
     private final RestaurantService service;
     private User currentWaiter;
     
@@ -45,19 +44,16 @@ public class WaiterController implements TableStatusObserver {
     
     @Override
     public void onTableStatusChanged(String tableId, String newStatus) {
-        // This gets called whenever a table's status changes
-        // Update UI on JavaFX thread
-        Platform.runLater(() -> {
-            // Update UI component that shows tables
-            // This is just an example - you would update your actual UI here
-            if (newStatus.equals("READY")) {
-                // Show notification to waiter
-                Alert alert = new Alert(Alert.AlertType.INFORMATION);
-                alert.setTitle("Order Ready");
-                alert.setHeaderText("Order for Table " + tableId + " is ready!");
-                alert.show();
-            }
-        });
+        // This gets called on the JavaFX thread whenever a table's status changes
+        // Update UI component that shows tables
+        // This is just an example - you would update your actual UI here
+        if (newStatus.equals("READY")) {
+            // Show notification to waiter
+            Alert alert = new Alert(Alert.AlertType.INFORMATION);
+            alert.setTitle("Order Ready");
+            alert.setHeaderText("Order for Table " + tableId + " is ready!");
+            alert.show();
+        }
     }
     
     public void dispose() {
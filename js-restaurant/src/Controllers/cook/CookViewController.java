@@ -4,8 +4,9 @@ import Components.OrderCardComponent;
 import Components.OrderDetailsPopup;
 import Controllers.UserAwareController;
 import Controllers.Waiter.WaiterAccountController;
+import DAO.OrderChangeObserver;
 import DAO.RestaurantService;
-import DAO.TableStatusObserver;
+import DAO.FxTableStatusObserver;
 import Model.Order;
 import Model.OrderItem;
 import Model.User;
@@ -17,16 +18,16 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import javafx.animation.Animation;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
 import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
@@ -43,20 +44,35 @@ import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 import com.jfoenix.controls.JFXButton;
+import utils.TimerWheel;
 import javafx.scene.Node;
 
 /**
  * Controller for the Kitchen View
  */
-public class CookViewController implements Initializable, TableStatusObserver,UserAwareController  {
+public class CookViewController implements Initializable, FxTableStatusObserver, OrderChangeObserver, UserAwareController  {
     
     private static final Logger logger = Logger.getLogger(CookViewController.class.getName());
     private final RestaurantService service = RestaurantService.getInstance();
     private User currentUser;
     
     
+    // Orders shown, by ID, in the order they arrived; only used on the FX thread
+    private final Map<String, Order> kitchenOrders = new LinkedHashMap<>();
+    
+    // Card of every order shown, by order ID; only used on the FX thread
+    private final Map<String, OrderCardComponent> orderCards = new HashMap<>();
+    
     // Map to store timers for orders in preparation
-    private final Map<String, Timeline> orderTimers = new HashMap<>();
+    private final Map<String, OrderTimer> orderTimers = new HashMap<>();
+    
+    // Clock and ticket timers all run on the shared one-second wheel
+    private final TimerWheel timerWheel = TimerWheel.getInstance();
+    private TimerWheel.Registration clockTicker;
+    
+    // Set by dispose(); only used on the FX thread
+    private boolean disposed;
+    private static final DateTimeFormatter CLOCK_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
     
     // Constants for timer thresholds (in minutes)
     private static final int WARNING_THRESHOLD = 10;
@@ -127,8 +143,10 @@ public class CookViewController implements Initializable, TableStatusObserver,Us
                 System.out.println("No pending user available during initialization");
             }
             
-            // Register as observer for table status changes
-            service.addTableStatusObserver(this);
+            // Receive order changes as they happen; subscribe before loading
+            // so no change between the load and the subscription is missed
+            service.addOrderChangeObserver(this);
+            disposeWhenClosed();
             // Start clock update timer
             startClockTimer();
             
@@ -167,9 +185,6 @@ public void setCurrentUser(User user) {
                 
                 // Load initial orders
                 loadOrders();
-                
-                // Start timer to periodically refresh orders
-                startOrderRefreshTimer();
             });
         } else {
             logger.warning("Attempted to set null user");
@@ -188,142 +203,29 @@ public void setCurrentUser(User user) {
      * Start a timer to update the clock display
      */
     private void startClockTimer() {
-        Timeline clockTimeline = new Timeline(new KeyFrame(javafx.util.Duration.seconds(1), e -> {
-            LocalDateTime now = LocalDateTime.now();
+        if (clockTicker != null) {
+            clockTicker.cancel();
+        }
+        clockTicker = timerWheel.addTicker(() -> {
             if (timeLabel != null) {
-                timeLabel.setText(now.format(DateTimeFormatter.ofPattern("HH:mm:ss")));
+                timeLabel.setText(LocalDateTime.now().format(CLOCK_FORMAT));
             }
-        }));
-        clockTimeline.setCycleCount(Animation.INDEFINITE);
-        clockTimeline.play();
+        });
         logger.info("Clock timer started");
     }
     
     /**
-     * Start a timer to periodically refresh orders
-     */
-    private void startOrderRefreshTimer() {
-        Timeline refreshTimeline = new Timeline(new KeyFrame(javafx.util.Duration.seconds(30), e -> {
-            // Refresh orders every 30 seconds
-            loadOrders();
-        }));
-        refreshTimeline.setCycleCount(Animation.INDEFINITE);
-        refreshTimeline.play();
-        logger.info("Order refresh timer started");
-    }
-    
-    /**
-     * Load orders from the service
+     * Load all active orders from the service, replacing the ones shown
+     * Later changes arrive through onOrdersChanged
      */
     private void loadOrders() {
         try {
             logger.info("Loading orders from database");
-            
-            // Clear existing containers
-            Platform.runLater(() -> {
-                if (pendingOrdersContainer != null) {
-                    pendingOrdersContainer.getChildren().clear();
-                }
-                
-                if (inProgressOrdersContainer != null) {
-                    inProgressOrdersContainer.getChildren().clear();
-                }
-                
-                if (readyOrdersContainer != null) {
-                    readyOrdersContainer.getChildren().clear();
-                }
-            });
-            
-            // Get active orders from database
-            List<Order> activeOrders = service.getActiveOrders();
-            
-            if (activeOrders.isEmpty()) {
-                logger.info("No active orders found in database");
-                Platform.runLater(() -> {
-                    // Update count labels to 0
-                    if (pendingOrdersCount != null) {
-                        pendingOrdersCount.setText("0");
-                    }
-                    if (inPrepCount != null) {
-                        inPrepCount.setText("0");
-                    }
-                    if (readyOrdersCount != null) {
-                        readyOrdersCount.setText("0");
-                    }
-                });
-                return;
-            }
-            
-            int pendingCount = 0;
-            int inPrepCount = 0;
-            int readyCount = 0;
-            
-            logger.info("Processing " + activeOrders.size() + " active orders");
-            
-            for (Order order : activeOrders) {
-                final Order finalOrder = order;
-                
-                // Skip orders that are not in relevant statuses
-                if (!order.getStatus().equals("PENDING") && 
-                    !order.getStatus().equals("IN_PROGRESS") && 
-                    !order.getStatus().equals("READY")) {
-                    continue;
-                }
-
-
-                // Check order status and create appropriate card
-                Platform.runLater(() -> {
-                    try {
-                        switch(finalOrder.getStatus()) {
-                            case "PENDING":
-                                createOrderCard(finalOrder, pendingOrdersContainer, "PENDING");
-                                break;
-                            case "IN_PROGRESS":
-                                createOrderCard(finalOrder, inProgressOrdersContainer, "IN_PROGRESS");
-                                break;
-                            case "READY":
-                                createOrderCard(finalOrder, readyOrdersContainer, "READY");
-                                break;
-                            default:
-                                logger.warning("Unknown order status: " + finalOrder.getStatus());
-                                break;
-                        }
-                    } catch (Exception ex) {
-                        logger.log(Level.SEVERE, "Error creating order card", ex);
-                    }
-                });
-                
-                // Count orders by status
-                switch(order.getStatus()) {
-                    case "PENDING": pendingCount++; break;
-                    case "IN_PROGRESS": inPrepCount++; break;
-                    case "READY": readyCount++; break;
-                }
-            }
-            
-            // Update counts
-            final int finalPendingCount = pendingCount;
-            final int finalInPrepCount = inPrepCount;
-            final int finalReadyCount = readyCount;
-            
+            List<Order> orders = service.getActiveOrders();
             Platform.runLater(() -> {
-                if (pendingOrdersCount != null) {
-                    pendingOrdersCount.setText(String.valueOf(finalPendingCount));
-                }
-                if (this.inPrepCount != null) {
-                    this.inPrepCount.setText(String.valueOf(finalInPrepCount));
-                }
-                if (readyOrdersCount != null) {
-                    readyOrdersCount.setText(String.valueOf(finalReadyCount));
-                }
+                kitchenOrders.clear();
+                applyOrderChanges(orders, Collections.<String>emptySet());
             });
-            
-            // Update average prep time
-            updateAveragePreparationTime();
-            
-            logger.info("Orders loaded - Pending: " + pendingCount + 
-                      ", In Progress: " + inPrepCount + 
-                      ", Ready: " + readyCount);
         } catch (Exception ex) {
             logger.log(Level.SEVERE, "Error loading orders", ex);
             showAlert(AlertType.ERROR, "Data Error", 
@@ -332,44 +234,164 @@ public void setCurrentUser(User user) {
     }
     
     /**
-     * Create an order card for display using the OrderCardComponent
-     * @param order The order to display
-     * @param container The container to add the card to
-     * @param cardType The type of card (PENDING, IN_PROGRESS, READY)
+     * Receive changed orders from the order feed (Observer pattern)
+     * @param changedOrders Orders that changed
+     * @param deletedOrderIds Orders that were deleted
+     */
+    @Override
+    public void onOrdersChanged(List<Order> changedOrders, Set<String> deletedOrderIds) {
+        Platform.runLater(() -> applyOrderChanges(changedOrders, deletedOrderIds));
+    }
+    
+    /**
+     * Replace the orders shown with a full reload from the order feed
+     * @param activeOrders All active orders
+     */
+    @Override
+    public void onOrdersReloaded(List<Order> activeOrders) {
+        Platform.runLater(() -> {
+            kitchenOrders.clear();
+            applyOrderChanges(activeOrders, Collections.<String>emptySet());
+        });
+    }
+    
+    /**
+     * Merge changed orders into the orders shown and redraw; must run on the FX thread
+     * @param changedOrders Orders that were added or changed
+     * @param deletedOrderIds Orders that no longer exist
      */
-    private void createOrderCard(Order order, VBox container, String cardType) {
-        if (container == null) {
-            logger.warning("Cannot create order card - container is null");
+    private void applyOrderChanges(List<Order> changedOrders, Set<String> deletedOrderIds) {
+        if (disposed) {
+            // Queued before the view closed; drawing now would start timers nothing cancels
             return;
         }
+        for (String orderId : deletedOrderIds) {
+            kitchenOrders.remove(orderId);
+        }
+        for (Order order : changedOrders) {
+            if (isKitchenStatus(order.getStatus())) {
+                kitchenOrders.put(order.getOrderId(), order);
+            } else {
+                kitchenOrders.remove(order.getOrderId());
+            }
+        }
+        renderOrders();
+    }
+    
+    private static boolean isKitchenStatus(String status) {
+        return "PENDING".equals(status) || "IN_PROGRESS".equals(status) || "READY".equals(status);
+    }
+    
+    /**
+     * Bring the order cards and counts in line with the orders shown; must run
+     * on the FX thread. Cards are kept per order ID: existing cards are patched
+     * and moved between columns, and cards are only created or removed for
+     * orders that appeared or left the kitchen, so one refresh is one pulse.
+     */
+    private void renderOrders() {
+        // Cards of orders that left the kitchen
+        for (String orderId : new ArrayList<>(orderCards.keySet())) {
+            if (!kitchenOrders.containsKey(orderId)) {
+                OrderCardComponent card = orderCards.remove(orderId);
+                if (card.getParent() instanceof VBox) {
+                    ((VBox) card.getParent()).getChildren().remove(card);
+                }
+                stopOrderTimer(orderId);
+            }
+        }
         
-        try {
-            // Create order card component
-            OrderCardComponent orderCard = new OrderCardComponent(order, cardType);
-            
-            // Set handlers
-            orderCard.setOnStartPreparation(() -> startPreparation(order));
-            orderCard.setOnMarkAsReady(() -> markAsReady(order));
-            orderCard.setOnClearOrder(() -> clearOrder(order));
+        List<Node> pendingCards = new ArrayList<>();
+        List<Node> inProgressCards = new ArrayList<>();
+        List<Node> readyCards = new ArrayList<>();
+        
+        for (Order order : kitchenOrders.values()) {
+            String status = order.getStatus();
+            List<Node> column;
+            switch (status) {
+                case "PENDING": column = pendingCards; break;
+                case "IN_PROGRESS": column = inProgressCards; break;
+                case "READY": column = readyCards; break;
+                default:
+                    logger.warning("Unknown order status: " + status);
+                    continue;
+            }
             
-            // Add double-click handler to show details
-            orderCard.setOnMouseClicked(event -> {
-                if (event.getClickCount() == 2) {
-                    showOrderDetails(order);
+            try {
+                OrderCardComponent card = orderCards.get(order.getOrderId());
+                if (card == null) {
+                    card = createOrderCard(order, status);
+                    orderCards.put(order.getOrderId(), card);
+                } else {
+                    card.update(order, status);
                 }
-            });
-            
-            // Add card to container
-            container.getChildren().add(orderCard);
-            logger.fine("Added order card to container: " + order.getOrderId());
-            
-            // Start timer if the order is in progress
-            if ("IN_PROGRESS".equals(cardType)) {
-                startOrderTimer(order, orderCard.getTimerLabel());
+                column.add(card);
+                
+                // Keep a running timer so the elapsed time is not reset
+                if (!"IN_PROGRESS".equals(status)) {
+                    stopOrderTimer(order.getOrderId());
+                } else if (!orderTimers.containsKey(order.getOrderId())) {
+                    startOrderTimer(order, card.getTimerLabel());
+                }
+            } catch (Exception ex) {
+                logger.log(Level.SEVERE, "Error showing order card for order: " + order.getOrderId(), ex);
             }
-        } catch (Exception ex) {
-            logger.log(Level.SEVERE, "Error creating order card for order: " + order.getOrderId(), ex);
         }
+        
+        placeCards(pendingOrdersContainer, pendingCards);
+        placeCards(inProgressOrdersContainer, inProgressCards);
+        placeCards(readyOrdersContainer, readyCards);
+        
+        if (pendingOrdersCount != null) {
+            pendingOrdersCount.setText(String.valueOf(pendingCards.size()));
+        }
+        if (this.inPrepCount != null) {
+            this.inPrepCount.setText(String.valueOf(inProgressCards.size()));
+        }
+        if (readyOrdersCount != null) {
+            readyOrdersCount.setText(String.valueOf(readyCards.size()));
+        }
+        
+        // Update average prep time
+        updateAveragePreparationTime();
+        
+        logger.fine("Orders shown - Pending: " + pendingCards.size() + 
+                  ", In Progress: " + inProgressCards.size() + 
+                  ", Ready: " + readyCards.size());
+    }
+    
+    /**
+     * Set a column's cards, touching its children only if they differ
+     */
+    private void placeCards(VBox container, List<Node> cards) {
+        if (container != null && !container.getChildren().equals(cards)) {
+            container.getChildren().setAll(cards);
+        }
+    }
+    
+    /**
+     * Create an order card for display using the OrderCardComponent
+     * The card's actions always use the order it currently shows
+     * @param order The order to display
+     * @param cardType The type of card (PENDING, IN_PROGRESS, READY)
+     * @return The new card
+     */
+    private OrderCardComponent createOrderCard(Order order, String cardType) {
+        OrderCardComponent orderCard = new OrderCardComponent(order, cardType);
+        
+        // Set handlers
+        orderCard.setOnStartPreparation(() -> startPreparation(orderCard.getOrder()));
+        orderCard.setOnMarkAsReady(() -> markAsReady(orderCard.getOrder()));
+        orderCard.setOnClearOrder(() -> clearOrder(orderCard.getOrder()));
+        
+        // Add double-click handler to show details
+        orderCard.setOnMouseClicked(event -> {
+            if (event.getClickCount() == 2) {
+                showOrderDetails(orderCard.getOrder());
+            }
+        });
+        
+        logger.fine("Created order card: " + order.getOrderId());
+        return orderCard;
     }
     
     /**
@@ -394,12 +416,7 @@ public void setCurrentUser(User user) {
      * @param timerLabel The label to update
      */
     private void startOrderTimer(Order order, Label timerLabel) {
-        // Check if timer already exists
-        if (orderTimers.containsKey(order.getOrderId())) {
-            Timeline existingTimer = orderTimers.get(order.getOrderId());
-            existingTimer.stop();
-            orderTimers.remove(order.getOrderId());
-        }
+        stopOrderTimer(order.getOrderId());
         
         if (timerLabel == null) {
             logger.warning("Cannot start timer - timer label is null");
@@ -420,40 +437,42 @@ public void setCurrentUser(User user) {
         if (startTime == null) {
             startTime = LocalDateTime.now();
         }
-        
-        // Store start time for use in the timer
         final LocalDateTime timerStartTime = startTime;
         
-        // Create a new timeline to update the timer
-        Timeline timeline = new Timeline(new KeyFrame(javafx.util.Duration.seconds(1), e -> {
-            // Calculate elapsed time
-            java.time.Duration duration = java.time.Duration.between(timerStartTime, LocalDateTime.now());
-            long minutes = duration.toMinutes();
-            long seconds = duration.getSeconds() % 60;
-            
-            // Update timer label
-            String timeText = String.format("%02d:%02d", minutes, seconds);
-            timerLabel.setText(timeText);
-            
-            // Update timer color based on thresholds
-            if (minutes >= CRITICAL_THRESHOLD) {
-                timerLabel.getStyleClass().removeAll("order-timer-normal", "order-timer-warning");
-                timerLabel.getStyleClass().add("order-timer-critical");
-            } else if (minutes >= WARNING_THRESHOLD) {
-                timerLabel.getStyleClass().removeAll("order-timer-normal", "order-timer-critical");
-                timerLabel.getStyleClass().add("order-timer-warning");
+        Runnable updateLabel = () -> {
+            Duration elapsed = Duration.between(timerStartTime, LocalDateTime.now());
+            timerLabel.setText(String.format("%02d:%02d", elapsed.toMinutes(), elapsed.getSeconds() % 60));
+        };
+        updateLabel.run();
+        
+        OrderTimer timer = new OrderTimer();
+        timer.ticker = timerWheel.addTicker(updateLabel);
+        
+        // Color the timer now and when the ticket becomes late or overdue
+        Duration elapsed = Duration.between(timerStartTime, LocalDateTime.now());
+        Duration toWarning = Duration.ofMinutes(WARNING_THRESHOLD).minus(elapsed);
+        Duration toCritical = Duration.ofMinutes(CRITICAL_THRESHOLD).minus(elapsed);
+        if (!toCritical.isNegative() && !toCritical.isZero()) {
+            timer.critical = timerWheel.schedule(toCritical,
+                    () -> setTimerStyle(timerLabel, "order-timer-critical"));
+            if (!toWarning.isNegative() && !toWarning.isZero()) {
+                setTimerStyle(timerLabel, "order-timer-normal");
+                timer.warning = timerWheel.schedule(toWarning,
+                        () -> setTimerStyle(timerLabel, "order-timer-warning"));
             } else {
-                timerLabel.getStyleClass().removeAll("order-timer-warning", "order-timer-critical");
-                timerLabel.getStyleClass().add("order-timer-normal");
+                setTimerStyle(timerLabel, "order-timer-warning");
             }
-        }));
-        
-        timeline.setCycleCount(Animation.INDEFINITE);
-        timeline.play();
+        } else {
+            setTimerStyle(timerLabel, "order-timer-critical");
+        }
         
-        // Store the timeline
-        orderTimers.put(order.getOrderId(), timeline);
-        logger.info("Started timer for order: " + order.getOrderId());
+        orderTimers.put(order.getOrderId(), timer);
+        logger.fine("Started timer for order: " + order.getOrderId());
+    }
+    
+    private static void setTimerStyle(Label timerLabel, String styleClass) {
+        timerLabel.getStyleClass().removeAll("order-timer-normal", "order-timer-warning", "order-timer-critical");
+        timerLabel.getStyleClass().add(styleClass);
     }
     
     /**
@@ -461,11 +480,29 @@ public void setCurrentUser(User user) {
      * @param orderId The order ID to stop timer for
      */
     private void stopOrderTimer(String orderId) {
-        Timeline timeline = orderTimers.get(orderId);
-        if (timeline != null) {
-            timeline.stop();
-            orderTimers.remove(orderId);
-            logger.info("Stopped timer for order: " + orderId);
+        OrderTimer timer = orderTimers.remove(orderId);
+        if (timer != null) {
+            timer.cancel();
+            logger.fine("Stopped timer for order: " + orderId);
+        }
+    }
+    
+    /**
+     * Elapsed-time label and threshold timeouts of one ticket in preparation
+     */
+    private static final class OrderTimer {
+        TimerWheel.Registration ticker;
+        TimerWheel.Registration warning;
+        TimerWheel.Registration critical;
+        
+        void cancel() {
+            ticker.cancel();
+            if (warning != null) {
+                warning.cancel();
+            }
+            if (critical != null) {
+                critical.cancel();
+            }
         }
     }
     
@@ -495,8 +532,8 @@ public void setCurrentUser(User user) {
             if (success) {
                 logger.info("Order status updated to IN_PROGRESS in database");
                 
-                // Refresh orders
-                loadOrders();
+                // Show the change now; the order feed confirms it shortly
+                applyOrderChanges(Collections.singletonList(order), Collections.<String>emptySet());
                 
                 // Switch to In Preparation tab
                 Platform.runLater(() -> {
@@ -541,11 +578,8 @@ public void setCurrentUser(User user) {
             if (success) {
                 logger.info("Order status updated to READY in database");
                 
-                // Stop the timer
-                stopOrderTimer(order.getOrderId());
-                
-                // Refresh orders
-                loadOrders();
+                // Show the change now; the order feed confirms it shortly
+                applyOrderChanges(Collections.singletonList(order), Collections.<String>emptySet());
                 
                 // Switch to Ready tab
                 Platform.runLater(() -> {
@@ -587,8 +621,8 @@ public void setCurrentUser(User user) {
             if (success) {
                 logger.info("Order status updated to DELIVERED in database");
                 
-                // Refresh orders
-                loadOrders();
+                // Show the change now; the order feed confirms it shortly
+                applyOrderChanges(Collections.singletonList(order), Collections.<String>emptySet());
             } else {
                 logger.warning("Failed to update order status in database");
                 showAlert(AlertType.WARNING, "Database Error", 
@@ -606,50 +640,26 @@ public void setCurrentUser(User user) {
      * Update the average preparation time displayed
      */
     private void updateAveragePreparationTime() {
-        try {
-            // Calculate actual average prep time from orders with completion times
-            double totalMinutes = 0;
-            int count = 0;
-            
-            // Get active orders
-            List<Order> orders = service.getActiveOrders();
-            
-            // Calculate average preparation time from completed items
-            for (Order order : orders) {
-                for (OrderItem item : order.getOrderItems()) {
-                    if (item.getPreparationStartTime() != null && item.getCompletionTime() != null) {
-                        Duration prepTime = Duration.between(
-                                item.getPreparationStartTime(), 
-                                item.getCompletionTime());
-                        
-                        totalMinutes += prepTime.toMinutes();
-                        count++;
-                    }
+        // Calculate actual average prep time from the items shown with completion times
+        double totalMinutes = 0;
+        int count = 0;
+        
+        for (Order order : kitchenOrders.values()) {
+            for (OrderItem item : order.getOrderItems()) {
+                if (item.getPreparationStartTime() != null && item.getCompletionTime() != null) {
+                    Duration prepTime = Duration.between(
+                            item.getPreparationStartTime(), 
+                            item.getCompletionTime());
+                    
+                    totalMinutes += prepTime.toMinutes();
+                    count++;
                 }
             }
-            
-            // Calculate average
-            final double avgTime = count > 0 ? totalMinutes / count : 0;
-            
-            // Update the UI
-            Platform.runLater(() -> {
-                if (avgPrepTime != null) {
-                    if (avgTime > 0) {
-                        avgPrepTime.setText(String.format("%.1f", avgTime));
-                    } else {
-                        avgPrepTime.setText("--");
-                    }
-                }
-            });
-            
-            logger.info("Updated average preparation time: " + (avgTime > 0 ? avgTime : "no data"));
-        } catch (Exception ex) {
-            logger.log(Level.WARNING, "Error updating average preparation time", ex);
-            Platform.runLater(() -> {
-                if (avgPrepTime != null) {
-                    avgPrepTime.setText("--");
-                }
-            });
+        }
+        
+        double avgTime = count > 0 ? totalMinutes / count : 0;
+        if (avgPrepTime != null) {
+            avgPrepTime.setText(avgTime > 0 ? String.format("%.1f", avgTime) : "--");
         }
     }
     
@@ -756,24 +766,55 @@ public void setCurrentUser(User user) {
      */
     @Override
     public void onTableStatusChanged(String tableId, String newStatus) {
-        // If table status changes, refresh orders
-        // This is especially useful if waiters add new orders
-        Platform.runLater(this::loadOrders);
-        logger.info("Table status changed: " + tableId + " -> " + newStatus);
+        // New and changed orders arrive through onOrdersChanged
+        logger.fine("Table status changed: " + tableId + " -> " + newStatus);
+    }
+    
+    /**
+     * Call dispose() once this view's scene leaves its window or the window closes
+     */
+    private void disposeWhenClosed() {
+        if (rootPane == null) {
+            return;
+        }
+        rootPane.sceneProperty().addListener((obs, oldScene, scene) -> {
+            if (scene == null) {
+                return;
+            }
+            scene.windowProperty().addListener((windowObs, oldWindow, window) -> {
+                if (window == null) {
+                    dispose();
+                } else {
+                    window.showingProperty().addListener((showingObs, wasShowing, showing) -> {
+                        if (!showing && window.getScene() == scene) {
+                            dispose();
+                        }
+                    });
+                }
+            });
+        });
     }
     
     /**
      * Clean up resources when controller is no longer needed
      */
     public void dispose() {
+        disposed = true;
+        
         // Stop all timers
-        for (Timeline timeline : orderTimers.values()) {
-            timeline.stop();
+        for (OrderTimer timer : orderTimers.values()) {
+            timer.cancel();
         }
         orderTimers.clear();
+        if (clockTicker != null) {
+            clockTicker.cancel();
+            clockTicker = null;
+        }
+        orderCards.clear();
         
-        // Remove observer
+        // Remove observers
         service.removeTableStatusObserver(this);
+        service.removeOrderChangeObserver(this);
         
         logger.info("Kitchen view controller resources disposed");
     }
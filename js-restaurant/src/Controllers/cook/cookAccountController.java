@@ -26,6 +26,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javafx.application.Platform;
@@ -42,6 +43,7 @@ import javafx.scene.control.ButtonType;
 import javafx.scene.control.Label;
 import javafx.scene.layout.AnchorPane;
 import javafx.stage.Stage;
+import utils.ClockService;
 
 /**
  * Controller for the Account view
@@ -654,40 +656,25 @@ void onChangePassword(ActionEvent event) {
     }
     
     /**
-     * Start a timer to update the ongoing time display
+     * Update the ongoing time display every minute while this screen is shown
      */
     private void startTimeUpdateTimer() {
-        // Create a timer to update the ongoing hours display every minute
-        Thread timeUpdateThread = new Thread(() -> {
-            while (true) {
-                try {
-                    // Sleep for 1 minute
-                    Thread.sleep(60000);
-                    
-                    // Update the UI on the JavaFX thread
-                    Platform.runLater(() -> {
-                        if (activeTimeRecord != null && todayHoursLabel != null) {
-                            // Calculate hours worked so far
-                            LocalDateTime now = LocalDateTime.now();
-                            LocalDateTime clockInTime = activeTimeRecord.getClockInTime();
-                            Duration duration = Duration.between(clockInTime, now);
-                            long hoursWorked = duration.toHours();
-                            double minutesFraction = (duration.toMinutes() % 60) / 60.0;
-                            
-                            // Update the hours display
-                            todayHoursLabel.setText(String.format("%.1f hrs (Ongoing)", hoursWorked + minutesFraction));
-                        }
-                    });
-                } catch (InterruptedException ex) {
-                    // Thread was interrupted, exit the loop
-                    break;
-                }
+        if (todayHoursLabel == null) {
+            return;
+        }
+        ClockService.getInstance().subscribeWhileShowing(todayHoursLabel, 1, TimeUnit.MINUTES, () -> {
+            if (activeTimeRecord != null) {
+                // Calculate hours worked so far
+                LocalDateTime now = LocalDateTime.now();
+                LocalDateTime clockInTime = activeTimeRecord.getClockInTime();
+                Duration duration = Duration.between(clockInTime, now);
+                long hoursWorked = duration.toHours();
+                double minutesFraction = (duration.toMinutes() % 60) / 60.0;
+                
+                // Update the hours display
+                todayHoursLabel.setText(String.format("%.1f hrs (Ongoing)", hoursWorked + minutesFraction));
             }
         });
-        
-        // Set as daemon thread so it doesn't prevent application exit
-        timeUpdateThread.setDaemon(true);
-        timeUpdateThread.start();
     }
     
     /**
@@ -22,9 +22,11 @@ import java.util.logging.Logger;
 public abstract class BaseDAO<T> {
     protected static final Logger logger = Logger.getLogger(BaseDAO.class.getName());
     protected final DatabaseManager dbManager;
+    protected final SqlDialect dialect;
     
     protected BaseDAO() {
         this.dbManager = DatabaseManager.getInstance();
+        this.dialect = dbManager.getDialect();
     }
     
     // Generic operations that all DAOs must implement
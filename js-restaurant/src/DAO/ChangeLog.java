@@ -0,0 +1,273 @@
+package DAO;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * An append-only log of changes to one kind of row, e.g. order_change with
+ * one row per change to an order or its items. Rows are numbered by an
+ * auto-increment change_id, so a reader that remembers the last ID it has
+ * seen can fetch just the keys changed since then with an index range scan,
+ * on any terminal.
+ *
+ * The DAOs add the row in the transaction of the change itself. The readers
+ * (OrderChangeFeed, TableDAO, MenuCache, ReportDAOImpl) follow the log with a
+ * Cursor and remove rows older than a day.
+ */
+class ChangeLog {
+    // How long a missing change ID is looked for before it is given up on
+    private static final long GAP_TIMEOUT = 60000; // milliseconds
+    // Missing IDs remembered per cursor; the oldest are given up on first
+    private static final int MAX_GAPS = 1000;
+    // IDs just below the end of the log that a new cursor still looks for
+    private static final int START_WINDOW = 256;
+
+    static final ChangeLog ORDERS = new ChangeLog("order_change", "order_id");
+    static final ChangeLog TABLES = new ChangeLog("table_change", "table_id");
+    static final ChangeLog REPORTS = new ChangeLog("report_change", "scope");
+    static final ChangeLog MENU = new ChangeLog("menu_change", "item_id");
+
+    private final String table;
+    private final String keyColumn;
+    private volatile boolean tableReady;
+
+    private ChangeLog(String table, String keyColumn) {
+        this.table = table;
+        this.keyColumn = keyColumn;
+    }
+
+    /**
+     * Create the log table if this has not been done yet
+     * @param conn Connection in auto-commit mode
+     */
+    void ensureTable(Connection conn) throws SQLException {
+        if (tableReady) {
+            return;
+        }
+        synchronized (this) {
+            if (!tableReady) {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("CREATE TABLE IF NOT EXISTS " + table + " (" +
+                            "change_id BIGINT NOT NULL AUTO_INCREMENT, " +
+                            keyColumn + " VARCHAR(50) NOT NULL, " +
+                            "changed_at DATETIME NOT NULL, " +
+                            "PRIMARY KEY (change_id))");
+                }
+                tableReady = true;
+            }
+        }
+    }
+
+    /**
+     * Log a change
+     * @param conn Connection of the change
+     * @param key ID of the changed row
+     */
+    void record(Connection conn, String key) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO " + table + " (" + keyColumn + ", changed_at) VALUES (?, ?)")) {
+            stmt.setString(1, key);
+            stmt.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Log a change to the row a child row belongs to, e.g. the order of an
+     * order item; call before deleting the child
+     * @param conn Connection of the change
+     * @param childTable Table holding the child row and a column named like the key
+     * @param childIdColumn ID column of the child table
+     * @param childId ID of the changed child row
+     */
+    void recordFrom(Connection conn, String childTable, String childIdColumn, int childId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO " + table + " (" + keyColumn + ", changed_at) " +
+                "SELECT " + keyColumn + ", ? FROM " + childTable + " WHERE " + childIdColumn + " = ?")) {
+            stmt.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+            stmt.setInt(2, childId);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * @return ID of the newest change, 0 if the log is empty
+     */
+    private long latestChangeId(Connection conn) throws SQLException {
+        return aggregate(conn, "MAX");
+    }
+
+    /**
+     * @return ID of the oldest change still kept, 0 if the log is empty
+     */
+    private long oldestChangeId(Connection conn) throws SQLException {
+        return aggregate(conn, "MIN");
+    }
+
+    private long aggregate(Connection conn, String function) throws SQLException {
+        ensureTable(conn);
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT " + function + "(change_id) FROM " + table)) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    /**
+     * Start following the log from its current end. Changes with IDs just
+     * below the end that are not visible yet, because their transaction has
+     * not committed, are still delivered once they commit.
+     * @return Cursor positioned at the end of the log
+     */
+    Cursor startCursor(Connection conn) throws SQLException {
+        long latest = latestChangeId(conn);
+        Cursor cursor = new Cursor(latest);
+        long from = Math.max(latest - START_WINDOW, oldestChangeId(conn) - 1);
+        Set<Long> visible = new HashSet<>();
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT change_id FROM " + table + " WHERE change_id > ? AND change_id <= ?")) {
+            stmt.setLong(1, from);
+            stmt.setLong(2, latest);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    visible.add(rs.getLong(1));
+                }
+            }
+        }
+        long now = System.currentTimeMillis();
+        for (long changeId = Math.max(from + 1, 1); changeId < latest; changeId++) {
+            if (!visible.contains(changeId)) {
+                cursor.gaps.put(changeId, now);
+            }
+        }
+        return cursor;
+    }
+
+    /**
+     * Position of one reader in the log
+     *
+     * Change IDs are handed out when a row is inserted, not when its
+     * transaction commits, so a change can become visible after changes with
+     * higher IDs. The cursor remembers the IDs it has passed without seeing
+     * as gaps and keeps looking for them until they turn up or GAP_TIMEOUT
+     * has passed (the transaction rolled back, or the ID was never used).
+     *
+     * A cursor belongs to one reader thread.
+     */
+    final class Cursor {
+        private long highest;                                   // highest change ID seen
+        private final TreeMap<Long, Long> gaps = new TreeMap<>(); // missing ID -> time noticed
+        private boolean lost;
+
+        private Cursor(long highest) {
+            this.highest = highest;
+        }
+
+        /**
+         * Read the changes this cursor has not seen yet: changes after the
+         * highest one seen, and changes that filled a gap
+         * @param limit Maximum number of new changes after the highest one seen
+         * @return Changed keys by change ID, in change order
+         */
+        Map<Long, String> read(Connection conn, int limit) throws SQLException {
+            ensureTable(conn);
+            long now = System.currentTimeMillis();
+            gaps.values().removeIf(noticed -> now - noticed > GAP_TIMEOUT);
+
+            Map<Long, String> changes = new TreeMap<>();
+            if (!gaps.isEmpty()) {
+                StringBuilder sql = new StringBuilder(
+                        "SELECT change_id, " + keyColumn + " FROM " + table + " WHERE change_id IN (");
+                for (int i = 0; i < gaps.size(); i++) {
+                    sql.append(i == 0 ? "?" : ", ?");
+                }
+                sql.append(")");
+                try (PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+                    int i = 1;
+                    for (Long changeId : gaps.keySet()) {
+                        stmt.setLong(i++, changeId);
+                    }
+                    readInto(stmt, changes);
+                }
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT change_id, " + keyColumn + " FROM " + table + " WHERE change_id > ? ORDER BY change_id")) {
+                stmt.setLong(1, highest);
+                stmt.setMaxRows(limit);
+                Map<Long, String> newer = new LinkedHashMap<>();
+                readInto(stmt, newer);
+                if (!newer.isEmpty() && newer.keySet().iterator().next() > highest + 1
+                        && oldestChangeId(conn) > highest + 1) {
+                    // Changes after the highest one seen were purged before they were read
+                    lost = true;
+                }
+                changes.putAll(newer);
+            }
+            return new LinkedHashMap<>(changes);
+        }
+
+        /**
+         * Record changes as handled, so they are not read again
+         * @param changeIds IDs returned by read()
+         */
+        void markSeen(Collection<Long> changeIds) {
+            List<Long> sorted = new ArrayList<>(changeIds);
+            sorted.sort(null);
+            long now = System.currentTimeMillis();
+            for (Long changeId : sorted) {
+                if (gaps.remove(changeId) != null || changeId <= highest) {
+                    continue;
+                }
+                for (long missing = Math.max(highest + 1, changeId - MAX_GAPS); missing < changeId; missing++) {
+                    gaps.put(missing, now);
+                }
+                highest = changeId;
+            }
+            while (gaps.size() > MAX_GAPS) {
+                gaps.pollFirstEntry();
+            }
+        }
+
+        /**
+         * @return true if changes this cursor had not read were purged, so
+         * the reader must reload everything
+         */
+        boolean isLost() {
+            return lost;
+        }
+
+        private void readInto(PreparedStatement stmt, Map<Long, String> changes) throws SQLException {
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    changes.put(rs.getLong(1), rs.getString(2));
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove changes older than a given time
+     * @return Number of rows removed
+     */
+    int purgeBefore(Connection conn, LocalDateTime cutoff) throws SQLException {
+        ensureTable(conn);
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "DELETE FROM " + table + " WHERE changed_at < ?")) {
+            stmt.setTimestamp(1, Timestamp.valueOf(cutoff));
+            return stmt.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,565 @@
+package DAO;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.SQLTransientConnectionException;
+import java.util.Collections;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Simple JDBC connection pool used by DatabaseManager.
+ * Physical connections are opened once and handed out again on every
+ * getConnection() call; calling close() on a borrowed connection returns it
+ * to the pool instead of closing the socket. Statements and result sets
+ * created through a borrowed connection are watched too, so a connection
+ * that fails while running a query is closed instead of handed out again.
+ */
+public class ConnectionPool {
+    private static final Logger logger = Logger.getLogger(ConnectionPool.class.getName());
+
+    // Idle connections older than this are validated before being handed out
+    private static final long VALIDATION_INTERVAL_MS = 5000;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final long HOUSEKEEPING_INTERVAL_MS = 15000;
+
+    private final String url;
+    private final Properties connectionProperties;
+    private final int minSize;
+    private final int maxSize;
+    private final long acquireTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final long leakDetectionThresholdMillis;
+
+    // Most recently returned connection is reused first so hot sockets stay hot
+    private final LinkedBlockingDeque<PooledConnection> idleConnections = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> borrowedConnections =
+            Collections.newSetFromMap(new ConcurrentHashMap<PooledConnection, Boolean>());
+    private final Semaphore borrowPermits;
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final AtomicInteger waitingThreads = new AtomicInteger();
+
+    // Counters exposed through getStats()
+    private final AtomicLong acquireCount = new AtomicLong();
+    private final AtomicLong acquireNanosTotal = new AtomicLong();
+    private final AtomicLong acquireNanosMax = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong leakCount = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong destroyedCount = new AtomicLong();
+
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed = false;
+
+    /**
+     * Create a new pool. No connections are opened until the first request
+     * or until {@link #fillToMinimum()} is called.
+     * @param url JDBC URL
+     * @param connectionProperties Driver properties (user, password, ...)
+     * @param minSize Number of connections kept open while idle
+     * @param maxSize Maximum number of open connections
+     * @param acquireTimeoutMillis How long a caller waits for a free connection
+     * @param idleTimeoutMillis Idle time after which surplus connections are closed
+     * @param leakDetectionThresholdMillis Borrow time after which a leak warning is logged (0 disables)
+     */
+    public ConnectionPool(String url, Properties connectionProperties, int minSize, int maxSize,
+                          long acquireTimeoutMillis, long idleTimeoutMillis, long leakDetectionThresholdMillis) {
+        if (maxSize <= 0 || minSize < 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        this.url = url;
+        this.connectionProperties = connectionProperties;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.leakDetectionThresholdMillis = leakDetectionThresholdMillis;
+        this.borrowPermits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "db-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.housekeeper.scheduleWithFixedDelay(this::housekeep,
+                HOUSEKEEPING_INTERVAL_MS, HOUSEKEEPING_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrow a connection from the pool, waiting up to the acquire timeout
+     * @return Connection whose close() returns it to the pool
+     * @throws SQLException If the pool is closed or a new connection cannot be opened;
+     * AcquireTimeoutException if no connection became free in time
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(acquireTimeoutMillis);
+
+        waitingThreads.incrementAndGet();
+        try {
+            if (!borrowPermits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeoutCount.incrementAndGet();
+                throw new AcquireTimeoutException("Timed out after " + acquireTimeoutMillis +
+                        "ms waiting for a database connection (" + getStats() + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        } finally {
+            waitingThreads.decrementAndGet();
+        }
+
+        try {
+            PooledConnection pooled = takeConnection(deadline);
+            pooled.markBorrowed(leakDetectionThresholdMillis > 0);
+            borrowedConnections.add(pooled);
+            recordAcquireTime(System.nanoTime() - start);
+            return pooled.newLease();
+        } catch (SQLException | RuntimeException e) {
+            borrowPermits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Open connections until the pool holds at least minSize of them
+     */
+    public void fillToMinimum() {
+        while (!closed && totalConnections.get() < minSize) {
+            if (!reserveSlot()) {
+                return;
+            }
+            try {
+                idleConnections.offerLast(openConnection());
+            } catch (SQLException e) {
+                totalConnections.decrementAndGet();
+                logger.log(Level.WARNING, "Could not open connection while filling pool", e);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Close every idle connection and reject further requests.
+     * Borrowed connections are closed as they are returned.
+     */
+    public void shutdown() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idleConnections.pollFirst()) != null) {
+            destroy(pooled);
+        }
+        logger.info("Connection pool shut down");
+    }
+
+    /**
+     * Get a snapshot of the pool counters
+     * @return Current pool statistics
+     */
+    public PoolStats getStats() {
+        long acquires = acquireCount.get();
+        double avgMillis = acquires == 0 ? 0.0 : acquireNanosTotal.get() / (double) acquires / 1000000.0;
+        return new PoolStats(
+                borrowedConnections.size(),
+                idleConnections.size(),
+                totalConnections.get(),
+                maxSize,
+                waitingThreads.get(),
+                acquires,
+                avgMillis,
+                acquireNanosMax.get() / 1000000.0,
+                timeoutCount.get(),
+                leakCount.get(),
+                createdCount.get(),
+                destroyedCount.get());
+    }
+
+    /**
+     * Take an idle connection or open a new one. Caller must hold a borrow permit.
+     */
+    private PooledConnection takeConnection(long deadline) throws SQLException {
+        while (true) {
+            PooledConnection pooled = idleConnections.pollFirst();
+
+            if (pooled == null) {
+                if (reserveSlot()) {
+                    try {
+                        return openConnection();
+                    } catch (SQLException e) {
+                        totalConnections.decrementAndGet();
+                        throw e;
+                    }
+                }
+                // Pool is at max size: a connection is being returned right now
+                try {
+                    long remaining = deadline - System.nanoTime();
+                    pooled = idleConnections.pollFirst(Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrupted while waiting for a database connection", e);
+                }
+                if (pooled == null) {
+                    timeoutCount.incrementAndGet();
+                    throw new AcquireTimeoutException("Timed out waiting for a database connection (" + getStats() + ")");
+                }
+            }
+
+            if (isUsable(pooled)) {
+                return pooled;
+            }
+            destroy(pooled);
+        }
+    }
+
+    private boolean reserveSlot() {
+        while (true) {
+            int current = totalConnections.get();
+            if (current >= maxSize) {
+                return false;
+            }
+            if (totalConnections.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private PooledConnection openConnection() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, connectionProperties);
+        createdCount.incrementAndGet();
+        return new PooledConnection(physical);
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        if (pooled.broken) {
+            return false;
+        }
+        if (System.currentTimeMillis() - pooled.lastReturnedAt < VALIDATION_INTERVAL_MS) {
+            return true;
+        }
+        try {
+            return pooled.physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Return a connection to the pool. Called when a lease is closed.
+     */
+    private void release(PooledConnection pooled) {
+        borrowedConnections.remove(pooled);
+        try {
+            if (closed || pooled.broken) {
+                destroy(pooled);
+                return;
+            }
+
+            try {
+                // Leave the connection the way the next caller expects to find it
+                if (!pooled.physical.getAutoCommit()) {
+                    pooled.physical.rollback();
+                    pooled.physical.setAutoCommit(true);
+                }
+                pooled.physical.clearWarnings();
+            } catch (SQLException e) {
+                logger.log(Level.WARNING, "Discarding connection that could not be reset", e);
+                destroy(pooled);
+                return;
+            }
+
+            pooled.lastReturnedAt = System.currentTimeMillis();
+            idleConnections.offerFirst(pooled);
+        } finally {
+            borrowPermits.release();
+        }
+    }
+
+    private void destroy(PooledConnection pooled) {
+        totalConnections.decrementAndGet();
+        destroyedCount.incrementAndGet();
+        try {
+            pooled.physical.close();
+        } catch (SQLException e) {
+            logger.log(Level.FINE, "Error closing pooled connection", e);
+        }
+    }
+
+    private void recordAcquireTime(long nanos) {
+        acquireCount.incrementAndGet();
+        acquireNanosTotal.addAndGet(nanos);
+        long max;
+        while (nanos > (max = acquireNanosMax.get())) {
+            if (acquireNanosMax.compareAndSet(max, nanos)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Periodic maintenance: report leaked connections, close surplus idle
+     * connections and top the pool back up to its minimum size
+     */
+    private void housekeep() {
+        try {
+            long now = System.currentTimeMillis();
+
+            if (leakDetectionThresholdMillis > 0) {
+                for (PooledConnection pooled : borrowedConnections) {
+                    if (!pooled.leakReported && now - pooled.borrowedAt > leakDetectionThresholdMillis) {
+                        pooled.leakReported = true;
+                        leakCount.incrementAndGet();
+                        logger.log(Level.WARNING, "Possible connection leak: connection held for " +
+                                (now - pooled.borrowedAt) + "ms", pooled.borrowTrace);
+                    }
+                }
+            }
+
+            for (PooledConnection pooled : idleConnections) {
+                if (totalConnections.get() <= minSize) {
+                    break;
+                }
+                if (now - pooled.lastReturnedAt > idleTimeoutMillis && idleConnections.remove(pooled)) {
+                    destroy(pooled);
+                }
+            }
+
+            fillToMinimum();
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Connection pool housekeeping failed", e);
+        }
+    }
+
+    /**
+     * A physical connection owned by the pool
+     */
+    private final class PooledConnection {
+        private final Connection physical;
+        private volatile long lastReturnedAt = System.currentTimeMillis();
+        private volatile long borrowedAt;
+        private volatile Throwable borrowTrace;
+        private volatile boolean leakReported;
+        private volatile boolean broken;
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+
+        void markBorrowed(boolean captureTrace) {
+            borrowedAt = System.currentTimeMillis();
+            borrowTrace = captureTrace ? new Exception("Connection acquired here") : null;
+            leakReported = false;
+        }
+
+        Connection newLease() {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class },
+                    new Lease(this));
+        }
+    }
+
+    /**
+     * Handle given to callers for a single borrow. close() returns the
+     * connection to the pool; any later use of the handle fails.
+     */
+    private final class Lease implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean returned = false;
+
+        Lease(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public synchronized Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+
+            if ("close".equals(name)) {
+                if (!returned) {
+                    returned = true;
+                    release(pooled);
+                }
+                return null;
+            }
+            if ("isClosed".equals(name)) {
+                return returned || pooled.physical.isClosed();
+            }
+            if ("equals".equals(name)) {
+                return proxy == args[0];
+            }
+            if ("hashCode".equals(name)) {
+                return System.identityHashCode(proxy);
+            }
+            if ("toString".equals(name)) {
+                return "Pooled[" + pooled.physical + "]";
+            }
+            if (returned) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+
+            try {
+                return watch(pooled, proxy, method.getReturnType(), method.invoke(pooled.physical, args));
+            } catch (InvocationTargetException e) {
+                throw markIfBroken(pooled, e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Handle for a statement or result set of a borrowed connection; errors
+     * it throws are checked for a lost connection like the connection's own
+     */
+    private final class Watched implements InvocationHandler {
+        private final PooledConnection pooled;
+        private final Object lease;
+        private final Object target;
+
+        Watched(PooledConnection pooled, Object lease, Object target) {
+            this.pooled = pooled;
+            this.lease = lease;
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+
+            if ("equals".equals(name)) {
+                return proxy == args[0];
+            }
+            if ("hashCode".equals(name)) {
+                return System.identityHashCode(proxy);
+            }
+            if ("getConnection".equals(name) && method.getParameterCount() == 0) {
+                // Hand back the lease, not the physical connection
+                return lease;
+            }
+
+            try {
+                return watch(pooled, lease, method.getReturnType(), method.invoke(target, args));
+            } catch (InvocationTargetException e) {
+                throw markIfBroken(pooled, e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Wrap statements and result sets so their errors are seen by the pool
+     * @param type Declared return type of the JDBC method that produced the value
+     */
+    private Object watch(PooledConnection pooled, Object lease, Class<?> type, Object value) {
+        if (value == null || !(type == Statement.class || type == PreparedStatement.class
+                || type == CallableStatement.class || type == ResultSet.class)) {
+            return value;
+        }
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                new Watched(pooled, lease, value));
+    }
+
+    /**
+     * Mark the connection broken if an error means it is gone
+     * @return The error, to be rethrown
+     */
+    private static Throwable markIfBroken(PooledConnection pooled, Throwable cause) {
+        // SQLState class 08 means the connection itself is gone
+        if (cause instanceof SQLException) {
+            String state = ((SQLException) cause).getSQLState();
+            if (state != null && state.startsWith("08")) {
+                pooled.broken = true;
+            }
+        }
+        return cause;
+    }
+
+    /**
+     * Thrown when every connection stays borrowed for the whole acquire
+     * timeout. The database itself may be fine; the pool is just saturated.
+     */
+    public static class AcquireTimeoutException extends SQLTransientConnectionException {
+        private static final long serialVersionUID = 1L;
+
+        AcquireTimeoutException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Point-in-time view of the pool counters
+     */
+    public static class PoolStats {
+        private final int activeConnections;
+        private final int idleConnections;
+        private final int totalConnections;
+        private final int maxConnections;
+        private final int waitingThreads;
+        private final long acquireCount;
+        private final double averageAcquireMillis;
+        private final double maxAcquireMillis;
+        private final long timeoutCount;
+        private final long leakCount;
+        private final long createdCount;
+        private final long destroyedCount;
+
+        public PoolStats(int activeConnections, int idleConnections, int totalConnections, int maxConnections,
+                         int waitingThreads, long acquireCount, double averageAcquireMillis, double maxAcquireMillis,
+                         long timeoutCount, long leakCount, long createdCount, long destroyedCount) {
+            this.activeConnections = activeConnections;
+            this.idleConnections = idleConnections;
+            this.totalConnections = totalConnections;
+            this.maxConnections = maxConnections;
+            this.waitingThreads = waitingThreads;
+            this.acquireCount = acquireCount;
+            this.averageAcquireMillis = averageAcquireMillis;
+            this.maxAcquireMillis = maxAcquireMillis;
+            this.timeoutCount = timeoutCount;
+            this.leakCount = leakCount;
+            this.createdCount = createdCount;
+            this.destroyedCount = destroyedCount;
+        }
+
+        public int getActiveConnections() { return activeConnections; }
+        public int getIdleConnections() { return idleConnections; }
+        public int getTotalConnections() { return totalConnections; }
+        public int getMaxConnections() { return maxConnections; }
+        public int getWaitingThreads() { return waitingThreads; }
+        public long getAcquireCount() { return acquireCount; }
+        public double getAverageAcquireMillis() { return averageAcquireMillis; }
+        public double getMaxAcquireMillis() { return maxAcquireMillis; }
+        public long getTimeoutCount() { return timeoutCount; }
+        public long getLeakCount() { return leakCount; }
+        public long getCreatedCount() { return createdCount; }
+        public long getDestroyedCount() { return destroyedCount; }
+
+        @Override
+        public String toString() {
+            return String.format("active=%d, idle=%d, total=%d/%d, waiting=%d, acquires=%d, " +
+                    "avgAcquire=%.2fms, maxAcquire=%.2fms, timeouts=%d, leaks=%d",
+                    activeConnections, idleConnections, totalConnections, maxConnections, waitingThreads,
+                    acquireCount, averageAcquireMillis, maxAcquireMillis, timeoutCount, leakCount);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package DAO;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.logging.Logger;
+
+/**
+ * Maintains daily_sales, a rollup of completed payments per day, hour and
+ * payment method, so dashboards and reports read a few rows per day instead
+ * of scanning every order.
+ *
+ * OrderDAO.processPayment adds each payment to its row in the same
+ * transaction that marks the order paid. The table is created on first use
+ * and filled from the payments already in the order table.
+ */
+class DailySalesRollup {
+    private static final Logger logger = Logger.getLogger(DailySalesRollup.class.getName());
+
+    private static final String CREATE_TABLE =
+            "CREATE TABLE IF NOT EXISTS daily_sales (" +
+            "sale_date DATE NOT NULL, " +
+            "sale_hour INT NOT NULL, " +
+            "payment_method VARCHAR(20) NOT NULL, " +
+            "revenue DECIMAL(12,2) NOT NULL DEFAULT 0, " +
+            "tax DECIMAL(12,2) NOT NULL DEFAULT 0, " +
+            "tips DECIMAL(12,2) NOT NULL DEFAULT 0, " +
+            "covers INT NOT NULL DEFAULT 0, " +
+            "order_count INT NOT NULL DEFAULT 0, " +
+            "PRIMARY KEY (sale_date, sale_hour, payment_method))";
+
+    static final String UNKNOWN_METHOD = "UNKNOWN";
+
+    // Payments made before the rollup existed; skipped if it already has rows
+    private static final String BACKFILL =
+            "INSERT INTO daily_sales (sale_date, sale_hour, payment_method, revenue, tax, tips, covers, order_count) " +
+            "SELECT p.sale_date, p.sale_hour, p.payment_method, SUM(p.total_amount), SUM(p.tax_amount), " +
+            "SUM(p.tip_amount), SUM(p.covers), COUNT(*) " +
+            "FROM (SELECT %s AS sale_date, " +
+            "EXTRACT(HOUR FROM o.payment_datetime) AS sale_hour, " +
+            "COALESCE(o.payment_method, '" + UNKNOWN_METHOD + "') AS payment_method, " +
+            "COALESCE(o.total_amount, 0) AS total_amount, COALESCE(o.tax_amount, 0) AS tax_amount, " +
+            "COALESCE(o.tip_amount, 0) AS tip_amount, " +
+            "(SELECT GREATEST(COUNT(DISTINCT oi.seat_number), 1) FROM order_item oi " +
+            " WHERE oi.order_id = o.order_id) AS covers " +
+            "FROM `order` o WHERE o.payment_status = 'COMPLETED' AND o.payment_datetime IS NOT NULL) p " +
+            "WHERE NOT EXISTS (SELECT 1 FROM daily_sales) " +
+            "GROUP BY p.sale_date, p.sale_hour, p.payment_method";
+
+    private static volatile boolean tableReady;
+
+    private DailySalesRollup() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Create and backfill daily_sales if this has not been done yet
+     * @param conn Connection in auto-commit mode
+     */
+    static void ensureTable(Connection conn) throws SQLException {
+        if (tableReady) {
+            return;
+        }
+        synchronized (DailySalesRollup.class) {
+            if (tableReady) {
+                return;
+            }
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(CREATE_TABLE);
+                SqlDialect dialect = DatabaseManager.getInstance().getDialect();
+                int rows = stmt.executeUpdate(String.format(BACKFILL, dialect.dateOf("o.payment_datetime")));
+                if (rows > 0) {
+                    logger.info("Backfilled daily_sales with " + rows + " rows");
+                }
+            } catch (SQLException e) {
+                // SQLState class 23: another terminal starting at the same time
+                // backfilled it first, so the rows are already there
+                if (!(e instanceof SQLIntegrityConstraintViolationException)
+                        && (e.getSQLState() == null || !e.getSQLState().startsWith("23"))) {
+                    throw e;
+                }
+                logger.info("daily_sales was backfilled by another terminal");
+            }
+            tableReady = true;
+        }
+    }
+
+    /**
+     * Add one payment to the rollup, on the caller's transaction
+     * @param conn Connection of the payment transaction
+     * @param paidAt Payment time
+     * @param paymentMethod Payment method, or null
+     * @param revenue Order subtotal
+     * @param tax Order tax
+     * @param tips Tip amount
+     * @param covers Number of guests served
+     */
+    static void recordPayment(Connection conn, LocalDateTime paidAt, String paymentMethod,
+                              double revenue, double tax, double tips, int covers) throws SQLException {
+        String method = paymentMethod != null ? paymentMethod : UNKNOWN_METHOD;
+        if (addToRow(conn, paidAt, method, revenue, tax, tips, covers)) {
+            return;
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO daily_sales (sale_date, sale_hour, payment_method, revenue, tax, tips, covers, order_count) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, 1)")) {
+            stmt.setDate(1, Date.valueOf(paidAt.toLocalDate()));
+            stmt.setInt(2, paidAt.getHour());
+            stmt.setString(3, method);
+            stmt.setDouble(4, revenue);
+            stmt.setDouble(5, tax);
+            stmt.setDouble(6, tips);
+            stmt.setInt(7, covers);
+            stmt.executeUpdate();
+        } catch (SQLIntegrityConstraintViolationException e) {
+            // Another terminal created the row first
+            if (!addToRow(conn, paidAt, method, revenue, tax, tips, covers)) {
+                throw e;
+            }
+        }
+    }
+
+    private static boolean addToRow(Connection conn, LocalDateTime paidAt, String method,
+                                    double revenue, double tax, double tips, int covers) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "UPDATE daily_sales SET revenue = revenue + ?, tax = tax + ?, tips = tips + ?, " +
+                "covers = covers + ?, order_count = order_count + 1 " +
+                "WHERE sale_date = ? AND sale_hour = ? AND payment_method = ?")) {
+            stmt.setDouble(1, revenue);
+            stmt.setDouble(2, tax);
+            stmt.setDouble(3, tips);
+            stmt.setInt(4, covers);
+            stmt.setDate(5, Date.valueOf(paidAt.toLocalDate()));
+            stmt.setInt(6, paidAt.getHour());
+            stmt.setString(7, method);
+            return stmt.executeUpdate() > 0;
+        }
+    }
+}
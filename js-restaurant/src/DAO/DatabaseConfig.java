@@ -0,0 +1,244 @@
+package DAO;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Database settings loaded from database.properties and the environment.
+ *
+ * Lookup order (later sources win):
+ *   1. Built-in defaults
+ *   2. database.properties on the classpath
+ *   3. database.properties in the working directory, or the file named by
+ *      the system property "db.config"
+ *   4. Environment variables: each key upper-cased with dots replaced by
+ *      underscores, e.g. db.url -> DB_URL, db.pool.max_size -> DB_POOL_MAX_SIZE
+ *
+ * Keys starting with "db.driver." are passed straight to the JDBC driver when
+ * the selected SqlDialect understands them.
+ */
+public class DatabaseConfig {
+    private static final Logger logger = Logger.getLogger(DatabaseConfig.class.getName());
+
+    public static final String CONFIG_FILE = "database.properties";
+    public static final String CONFIG_PATH_PROPERTY = "db.config";
+    private static final String DRIVER_PREFIX = "db.driver.";
+
+    private final Properties settings;
+    private final SqlDialect dialect;
+
+    private DatabaseConfig(Properties settings) {
+        this.settings = settings;
+
+        String dialectName = settings.getProperty("db.dialect", "").trim();
+        this.dialect = dialectName.isEmpty()
+                ? SqlDialect.forUrl(settings.getProperty("db.url"))
+                : SqlDialect.forName(dialectName);
+    }
+
+    /**
+     * Load the configuration from all sources
+     * @return The merged configuration
+     */
+    public static DatabaseConfig load() {
+        Properties settings = defaults();
+
+        try (InputStream in = DatabaseConfig.class.getResourceAsStream("/" + CONFIG_FILE)) {
+            if (in != null) {
+                settings.load(in);
+                logger.info("Loaded database settings from classpath " + CONFIG_FILE);
+            }
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Could not read " + CONFIG_FILE + " from classpath", e);
+        }
+
+        Path external = Paths.get(System.getProperty(CONFIG_PATH_PROPERTY, CONFIG_FILE));
+        if (Files.isRegularFile(external)) {
+            try (InputStream in = new FileInputStream(external.toFile())) {
+                settings.load(in);
+                logger.info("Loaded database settings from " + external.toAbsolutePath());
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Could not read database settings from " + external, e);
+            }
+        }
+
+        for (String key : settings.stringPropertyNames()) {
+            String value = System.getenv(toEnvironmentName(key));
+            if (value != null) {
+                settings.setProperty(key, value);
+            }
+        }
+
+        return new DatabaseConfig(settings);
+    }
+
+    private static Properties defaults() {
+        Properties defaults = new Properties();
+        defaults.setProperty("db.driver_class", "");
+        defaults.setProperty("db.dialect", "");
+        defaults.setProperty("db.url", "jdbc:mysql://localhost:3306/js_restaurant");
+        defaults.setProperty("db.user", "root");
+        defaults.setProperty("db.password", "");
+        defaults.setProperty("db.terminal_id", "0");
+
+        defaults.setProperty("db.pool.min_size", "2");
+        defaults.setProperty("db.pool.max_size", "10");
+        defaults.setProperty("db.pool.acquire_timeout_ms", "10000");
+        defaults.setProperty("db.pool.idle_timeout_ms", "600000");
+        defaults.setProperty("db.pool.leak_detection_ms", "60000");
+        defaults.setProperty("db.pool.warm_up", "true");
+
+        defaults.setProperty("db.journal.path", "offline-journal.log");
+        defaults.setProperty("db.journal.retry_interval_ms", "5000");
+
+        // MySQL Connector/J tuning
+        defaults.setProperty(DRIVER_PREFIX + "cachePrepStmts", "true");
+        defaults.setProperty(DRIVER_PREFIX + "prepStmtCacheSize", "250");
+        defaults.setProperty(DRIVER_PREFIX + "prepStmtCacheSqlLimit", "2048");
+        defaults.setProperty(DRIVER_PREFIX + "useServerPrepStmts", "true");
+        defaults.setProperty(DRIVER_PREFIX + "rewriteBatchedStatements", "true");
+        defaults.setProperty(DRIVER_PREFIX + "defaultFetchSize", "100");
+        defaults.setProperty(DRIVER_PREFIX + "useCursorFetch", "false");
+        defaults.setProperty(DRIVER_PREFIX + "cacheServerConfiguration", "true");
+        defaults.setProperty(DRIVER_PREFIX + "elideSetAutoCommits", "true");
+        defaults.setProperty(DRIVER_PREFIX + "useLocalSessionState", "true");
+        return defaults;
+    }
+
+    private static String toEnvironmentName(String key) {
+        return key.toUpperCase().replace('.', '_');
+    }
+
+    /**
+     * Get the storage backend dialect
+     * @return Dialect named by db.dialect, or matching db.url when that is blank
+     */
+    public SqlDialect getDialect() {
+        return dialect;
+    }
+
+    public String getDriverClass() {
+        String driverClass = settings.getProperty("db.driver_class", "").trim();
+        return driverClass.isEmpty() ? dialect.getDefaultDriverClass() : driverClass;
+    }
+
+    public String getUrl() {
+        return dialect.prepareUrl(settings.getProperty("db.url"));
+    }
+
+    public String getUser() {
+        return settings.getProperty("db.user");
+    }
+
+    /**
+     * Get the ID that makes generated keys unique to this terminal
+     * @return Terminal ID, 0-1023
+     * @throws IllegalStateException If db.terminal_id is blank or invalid
+     */
+    public int getTerminalId() {
+        String value = settings.getProperty("db.terminal_id", "").trim();
+        if (value.isEmpty()) {
+            throw new IllegalStateException("db.terminal_id is not set. Give every terminal sharing the " +
+                    "database its own number from 0 to " + OrderIdGenerator.MAX_TERMINAL_ID +
+                    " in " + CONFIG_FILE + " or the DB_TERMINAL_ID environment variable.");
+        }
+        int terminalId;
+        try {
+            terminalId = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Invalid value '" + value + "' for db.terminal_id: expected a number from 0 to " +
+                    OrderIdGenerator.MAX_TERMINAL_ID, e);
+        }
+        if (terminalId < 0 || terminalId > OrderIdGenerator.MAX_TERMINAL_ID) {
+            throw new IllegalStateException("Invalid value " + terminalId + " for db.terminal_id: expected a number from 0 to " +
+                    OrderIdGenerator.MAX_TERMINAL_ID);
+        }
+        return terminalId;
+    }
+
+    /**
+     * Check the settings that cannot be fixed once connections are in use
+     * @throws IllegalStateException If db.terminal_id is blank or invalid
+     */
+    public void validate() {
+        getTerminalId();
+    }
+
+    public int getMinPoolSize() {
+        return getInt("db.pool.min_size");
+    }
+
+    public int getMaxPoolSize() {
+        return getInt("db.pool.max_size");
+    }
+
+    public long getAcquireTimeoutMillis() {
+        return getLong("db.pool.acquire_timeout_ms");
+    }
+
+    public long getIdleTimeoutMillis() {
+        return getLong("db.pool.idle_timeout_ms");
+    }
+
+    public long getLeakDetectionMillis() {
+        return getLong("db.pool.leak_detection_ms");
+    }
+
+    public boolean isWarmUpEnabled() {
+        return Boolean.parseBoolean(settings.getProperty("db.pool.warm_up"));
+    }
+
+    /**
+     * Get the file that journals changes made while the database is unreachable
+     * @return Journal file path, relative to the working directory unless absolute
+     */
+    public String getJournalPath() {
+        return settings.getProperty("db.journal.path");
+    }
+
+    public long getJournalRetryMillis() {
+        return getLong("db.journal.retry_interval_ms");
+    }
+
+    /**
+     * Build the properties handed to DriverManager: credentials plus every
+     * db.driver.* setting the dialect accepts, with its prefix removed
+     * @return Driver connection properties
+     */
+    public Properties getConnectionProperties() {
+        Properties props = new Properties();
+        props.setProperty("user", settings.getProperty("db.user"));
+        props.setProperty("password", settings.getProperty("db.password"));
+        for (String key : settings.stringPropertyNames()) {
+            if (key.startsWith(DRIVER_PREFIX)) {
+                String driverKey = key.substring(DRIVER_PREFIX.length());
+                if (dialect.acceptsDriverProperty(driverKey)) {
+                    props.setProperty(driverKey, settings.getProperty(key));
+                }
+            }
+        }
+        return props;
+    }
+
+    private int getInt(String key) {
+        return (int) getLong(key);
+    }
+
+    private long getLong(String key) {
+        String value = settings.getProperty(key);
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException | NullPointerException e) {
+            long fallback = Long.parseLong(defaults().getProperty(key));
+            logger.warning("Invalid value '" + value + "' for " + key + ", using " + fallback);
+            return fallback;
+        }
+    }
+}
@@ -1,34 +1,54 @@
 package DAO;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Database connection manager - Singleton class
+ * This is the only place the application obtains JDBC connections. Settings
+ * come from DatabaseConfig (database.properties / environment) and connections
+ * are served from a pool, so callers must still close() them to hand them back.
  */
 public class DatabaseManager {
-    private static final String JDBC_DRIVER = "com.mysql.cj.jdbc.Driver";
-    private static final String DB_URL = "jdbc:mysql://localhost:3306/js_restaurant";
-    private static final String USER = "root";
-    private static final String PASS = "yannenzo";
-    
     private static final Logger logger = Logger.getLogger(DatabaseManager.class.getName());
     private static DatabaseManager instance;
-    
+
+    private final DatabaseConfig config;
+    private final ConnectionPool pool;
+
     // Private constructor for singleton pattern
     private DatabaseManager() {
+        config = DatabaseConfig.load();
+
+        // Order IDs depend on it, so refuse to start rather than risk duplicate keys
+        try {
+            config.validate();
+        } catch (IllegalStateException e) {
+            logger.severe(e.getMessage());
+            throw e;
+        }
+
+        // Load the driver once per process rather than on every connection
         try {
-            Class.forName(JDBC_DRIVER);
+            Class.forName(config.getDriverClass());
             logger.info("JDBC Driver loaded successfully");
         } catch (ClassNotFoundException e) {
             logger.log(Level.SEVERE, "JDBC Driver not found", e);
             throw new RuntimeException("Failed to initialize database connection", e);
         }
+
+        pool = new ConnectionPool(config.getUrl(), config.getConnectionProperties(),
+                config.getMinPoolSize(), config.getMaxPoolSize(), config.getAcquireTimeoutMillis(),
+                config.getIdleTimeoutMillis(), config.getLeakDetectionMillis());
+
+        // Close pooled sockets cleanly when the application exits
+        Runtime.getRuntime().addShutdownHook(new Thread(pool::shutdown, "db-pool-shutdown"));
+        logger.info("Database configured for " + config.getUrl() + " as " + config.getUser() +
+                " (" + config.getDialect().getName() + " dialect, terminal " + config.getTerminalId() + ")");
     }
-    
+
     // Get singleton instance
     public static synchronized DatabaseManager getInstance() {
         if (instance == null) {
@@ -36,14 +56,56 @@ public class DatabaseManager {
         }
         return instance;
     }
-    
-    // Get a connection to the database
+
+    // Get a connection from the pool
     public Connection getConnection() throws SQLException {
         try {
-            return DriverManager.getConnection(DB_URL, USER, PASS);
+            return pool.getConnection();
         } catch (SQLException e) {
             logger.log(Level.SEVERE, "Failed to establish database connection", e);
             throw e;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Open the pool's minimum connections on a background thread so the
+     * first query of the shift does not pay for the TCP and auth handshake
+     */
+    public void warmUp() {
+        if (!config.isWarmUpEnabled()) {
+            return;
+        }
+        Thread warmUpThread = new Thread(() -> {
+            long start = System.currentTimeMillis();
+            pool.fillToMinimum();
+            logger.info("Connection pool warmed up in " + (System.currentTimeMillis() - start) +
+                    "ms (" + pool.getStats() + ")");
+        }, "db-pool-warmup");
+        warmUpThread.setDaemon(true);
+        warmUpThread.start();
+    }
+
+    /**
+     * Get the active database configuration
+     * @return Database configuration
+     */
+    public DatabaseConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Get the dialect of the configured storage backend
+     * @return SQL dialect
+     */
+    public SqlDialect getDialect() {
+        return config.getDialect();
+    }
+
+    /**
+     * Get live connection pool counters (active, idle, waiters, acquire latency)
+     * @return Snapshot of the pool statistics
+     */
+    public ConnectionPool.PoolStats getPoolStats() {
+        return pool.getStats();
+    }
+}
@@ -0,0 +1,22 @@
+package DAO;
+
+import java.util.Map;
+
+/**
+ * Table status observer that updates JavaFX controls
+ * Called on the JavaFX application thread; all changes dispatched in one
+ * pulse are delivered in a single Platform.runLater.
+ */
+public interface FxTableStatusObserver extends TableStatusObserver {
+
+    /**
+     * Called once per delivery with every table that changed since the
+     * previous one; override to e.g. redraw once instead of once per table
+     * @param changes New status by table ID, in the order the tables changed
+     */
+    default void onTableStatusesChanged(Map<String, String> changes) {
+        for (Map.Entry<String, String> change : changes.entrySet()) {
+            onTableStatusChanged(change.getKey(), change.getValue());
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package DAO;
+
+import java.util.Locale;
+
+/**
+ * Dialect for an embedded, in-process H2 database.
+ *
+ * Meant for single-terminal sites and test rigs that run without a MySQL
+ * server, e.g. db.url=jdbc:h2:./data/js_restaurant. H2 runs in MySQL
+ * compatibility mode with lower-case identifiers so the DAO SQL, including
+ * the backticked `order` table and the user table, works unchanged. Add h2.jar to the classpath;
+ * the schema is created on first start by appending
+ * ;INIT=RUNSCRIPT FROM 'database/schema-h2.sql' to the URL.
+ */
+public class H2Dialect implements SqlDialect {
+    private static final String[] REQUIRED_SETTINGS = {
+        "MODE=MySQL",
+        "DATABASE_TO_LOWER=TRUE",
+        "CASE_INSENSITIVE_IDENTIFIERS=TRUE",
+        // The schema has a table called user
+        "NON_KEYWORDS=USER"
+    };
+
+    @Override
+    public String getName() {
+        return "h2";
+    }
+
+    @Override
+    public String getDefaultDriverClass() {
+        return "org.h2.Driver";
+    }
+
+    @Override
+    public String prepareUrl(String url) {
+        // Insert missing settings straight after the database name so that
+        // user settings such as INIT keep their place at the end
+        int settingsStart = url.indexOf(';');
+        if (settingsStart < 0) {
+            settingsStart = url.length();
+        }
+        StringBuilder added = new StringBuilder();
+        String upper = url.toUpperCase(Locale.ROOT);
+        for (String setting : REQUIRED_SETTINGS) {
+            String key = setting.substring(0, setting.indexOf('=') + 1).toUpperCase(Locale.ROOT);
+            if (!upper.contains(";" + key)) {
+                added.append(';').append(setting);
+            }
+        }
+        return url.substring(0, settingsStart) + added + url.substring(settingsStart);
+    }
+
+    @Override
+    public boolean acceptsDriverProperty(String key) {
+        // The db.driver.* settings are Connector/J tuning; H2 rejects unknown settings
+        return false;
+    }
+
+    @Override
+    public String dateOf(String column) {
+        return "CAST(" + column + " AS DATE)";
+    }
+
+    @Override
+    public boolean supportsStoredProcedures() {
+        return false;
+    }
+
+    @Override
+    public boolean isEmbedded() {
+        return true;
+    }
+}
@@ -20,6 +20,7 @@ public class InventoryDAO extends BaseDAO<InventoryItem> {
     
     private static final Logger logger = Logger.getLogger(InventoryDAO.class.getName());
     private static InventoryDAO instance;
+    private static final RowMapper<InventoryItem> INVENTORY_MAPPER = new InventoryItemMapper();
     
     // Private constructor for singleton pattern
     private InventoryDAO() {
@@ -47,9 +48,7 @@ public class InventoryDAO extends BaseDAO<InventoryItem> {
             String sql = "SELECT * FROM inventory ORDER BY item_name";
             rs = stmt.executeQuery(sql);
             
-            while (rs.next()) {
-                inventoryItems.add(extractInventoryItemFromResultSet(rs));
-            }
+            inventoryItems = INVENTORY_MAPPER.mapAll(rs);
         } catch (SQLException e) {
             logger.log(Level.SEVERE, "Error retrieving all inventory items", e);
             throw e;
@@ -75,9 +74,7 @@ public class InventoryDAO extends BaseDAO<InventoryItem> {
             String sql = "SELECT * FROM inventory WHERE is_low = TRUE";
             rs = stmt.executeQuery(sql);
             
-            while (rs.next()) {
-                items.add(extractInventoryItemFromResultSet(rs));
-            }
+            items = INVENTORY_MAPPER.mapAll(rs);
         } catch (SQLException e) {
             logger.log(Level.SEVERE, "Error retrieving low stock inventory items", e);
             throw e;
@@ -101,9 +98,7 @@ public class InventoryDAO extends BaseDAO<InventoryItem> {
             stmt.setString(1, id);
             rs = stmt.executeQuery();
             
-            if (rs.next()) {
-                item = extractInventoryItemFromResultSet(rs);
-            }
+            item = INVENTORY_MAPPER.mapFirst(rs);
         } catch (SQLException e) {
             logger.log(Level.SEVERE, "Error retrieving inventory item by ID: " + id, e);
             throw e;
@@ -113,28 +108,30 @@ public class InventoryDAO extends BaseDAO<InventoryItem> {
         
         return item;
     }
-        /**
-     * Extract an InventoryItem from ResultSet
+    /**
+     * Maps inventory rows to InventoryItem objects.
+     * The category column is optional; it reads as null when a query omits it.
      */
-    private InventoryItem extractInventoryItemFromResultSet(ResultSet rs) throws SQLException {
-        int inventoryId = rs.getInt("inventory_id");
-        String itemName = rs.getString("item_name");
-        double quantity = rs.getDouble("quantity");
-        String unit = rs.getString("unit");
-        double reorderLevel = rs.getDouble("reorder_level");
-        boolean isLow = rs.getBoolean("is_low");
-        
-        // Create and return the inventory item
-        // Note: In your actual schema, you might have a category field
-        // For now, we'll extract it if it exists or use null
-        String category = null;
-        try {
-            category = rs.getString("category");
-        } catch (SQLException e) {
-            // Category field doesn't exist, ignore
+    private static final class InventoryItemMapper extends RowMapper<InventoryItem> {
+        private static final int INVENTORY_ID = 0;
+        private static final int ITEM_NAME = 1;
+        private static final int QUANTITY = 2;
+        private static final int UNIT = 3;
+        private static final int REORDER_LEVEL = 4;
+        private static final int IS_LOW = 5;
+        private static final int CATEGORY = 6;
+
+        InventoryItemMapper() {
+            super("inventory_id", "item_name", "quantity", "unit", "reorder_level", "is_low", "category");
+        }
+
+        @Override
+        protected InventoryItem mapRow(Row row) throws SQLException {
+            return new InventoryItem(row.getInt(INVENTORY_ID), row.getString(ITEM_NAME),
+                                     row.getDouble(QUANTITY), row.getString(UNIT),
+                                     row.getDouble(REORDER_LEVEL), row.getBoolean(IS_LOW),
+                                     row.getString(CATEGORY));
         }
-        
-        return new InventoryItem(inventoryId, itemName, quantity, unit, reorderLevel, isLow, category);
     }
        /**
      * Update inventory item quantity
@@ -261,9 +258,7 @@ public class InventoryDAO extends BaseDAO<InventoryItem> {
             String sql = "SELECT * FROM inventory WHERE quantity < reorder_level ORDER BY item_name";
             rs = stmt.executeQuery(sql);
             
-            while (rs.next()) {
-                lowStockItems.add(extractInventoryItemFromResultSet(rs));
-            }
+            lowStockItems = INVENTORY_MAPPER.mapAll(rs);
         } catch (SQLException e) {
             logger.log(Level.SEVERE, "Error retrieving low stock inventory items", e);
             throw e;
@@ -292,9 +287,7 @@ public class InventoryDAO extends BaseDAO<InventoryItem> {
             stmt.setString(1, category);
             rs = stmt.executeQuery(sql);
             
-            while (rs.next()) {
-                categoryItems.add(extractInventoryItemFromResultSet(rs));
-            }
+            categoryItems = INVENTORY_MAPPER.mapAll(rs);
         } catch (SQLException e) {
             logger.log(Level.SEVERE, "Error retrieving inventory items by category: " + category, e);
             throw e;
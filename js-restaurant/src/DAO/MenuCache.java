@@ -8,22 +8,64 @@ package DAO;
 
 import DAO.MenuItemDAO;
 import Model.MenuItem;
+import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import utils.CacheMetrics;
+import utils.MetricsRegistry;
 
 /**
  * Cache for menu items to reduce database queries
+ *
+ * The menu is held in an immutable snapshot that is replaced as a whole on
+ * refresh and published through a volatile field. Readers never lock or
+ * allocate: they get shared unmodifiable lists, a hash index by item ID and a
+ * list per category that were all built once when the snapshot was loaded.
+ * Add-ons are loaded with the menu in a single query and attached to their
+ * items, so getMenuItemById(id).getAddons() needs no further queries.
+ *
+ * Reads never trigger a reload. MenuItemDAO logs every change in menu_change
+ * and calls invalidate(), which reloads the menu on a background thread within
+ * a fraction of a second; screens that must show their own change immediately
+ * call refreshCache(), which reloads synchronously. Every SYNC_INTERVAL the
+ * refresh thread reads the menu_change entries it has not seen, an index
+ * range scan that returns nothing while the menu is unchanged, and reloads the
+ * menu when there are any, so changes made on other terminals, such as an
+ * item that was 86'd, show up within about a second. A full reload every
+ * FULL_RELOAD_INTERVAL is the safety net. Observers are told whenever the
+ * reloaded menu differs from the previous one.
  */
 public class MenuCache {
     private static final Logger logger = Logger.getLogger(MenuCache.class.getName());
-    private static List<MenuItem> menuItems = new ArrayList<>();
-    private static boolean initialized = false;
-    private static long lastRefreshTime = 0;
-    private static final long REFRESH_INTERVAL = 3600000; // 1 hour in milliseconds
+    private static final long SYNC_INTERVAL = 1000;            // 1 second in milliseconds
+    private static final long FULL_RELOAD_INTERVAL = 600000;   // 10 minutes in milliseconds
+    private static final long PURGE_INTERVAL = 3600000;        // 1 hour in milliseconds
+    private static final long INVALIDATION_DELAY = 100;        // coalesce bursts of changes
+    private static final int MAX_CHANGES_PER_SYNC = 500;
+    private static final int LOG_RETENTION_DAYS = 1;
+    
+    private static volatile Snapshot snapshot = Snapshot.EMPTY;
+    private static final List<MenuCacheObserver> observers = new CopyOnWriteArrayList<>();
+    private static final AtomicBoolean refreshPending = new AtomicBoolean();
+    private static ScheduledExecutorService refresher;
+    private static volatile ChangeLog.Cursor changeCursor;  // used on the refresh thread once started
+    private static volatile long lastFullReload;
+    private static long lastPurge;                          // only used on the refresh thread
+    private static final CacheMetrics metrics = MetricsRegistry.cache("menu")
+            .withSize(() -> snapshot.items.size());
     
     private MenuCache() {
         // Private constructor to prevent instantiation
@@ -33,37 +75,115 @@ public class MenuCache {
      * Initialize the cache
      */
     public static synchronized void initialize() {
-        if (!initialized) {
+        if (snapshot == Snapshot.EMPTY) {
+            // Changes logged after this point are picked up by the first sync
+            try (Connection conn = DatabaseManager.getInstance().getConnection()) {
+                changeCursor = ChangeLog.MENU.startCursor(conn);
+            } catch (SQLException e) {
+                logger.log(Level.WARNING, "Could not read the menu change log", e);
+            }
             refreshCache();
-            initialized = true;
+        }
+        startRefresher();
+    }
+    
+    private static synchronized void startRefresher() {
+        if (refresher == null) {
+            refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "menu-cache-refresh");
+                thread.setDaemon(true);
+                return thread;
+            });
+            refresher.scheduleWithFixedDelay(MenuCache::syncWithDatabase,
+                    SYNC_INTERVAL, SYNC_INTERVAL, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    /**
+     * Reload the menu if menu_change has entries this terminal has not seen
+     */
+    private static void syncWithDatabase() {
+        try (Connection conn = DatabaseManager.getInstance().getConnection()) {
+            ChangeLog.Cursor cursor = changeCursor;
+            if (cursor == null || cursor.isLost()) {
+                changeCursor = ChangeLog.MENU.startCursor(conn);
+                refreshCache();
+            } else {
+                Map<Long, String> changes = cursor.read(conn, MAX_CHANGES_PER_SYNC);
+                if (cursor.isLost()) {
+                    // Entries this terminal has not seen were purged
+                    changeCursor = ChangeLog.MENU.startCursor(conn);
+                    refreshCache();
+                } else if (!changes.isEmpty()) {
+                    logger.fine("Menu changed on another terminal: " + changes.values());
+                    if (refreshCache()) {
+                        cursor.markSeen(changes.keySet());
+                    }
+                } else if (System.currentTimeMillis() - lastFullReload > FULL_RELOAD_INTERVAL) {
+                    refreshCache();
+                }
+            }
+
+            long now = System.currentTimeMillis();
+            if (now - lastPurge > PURGE_INTERVAL) {
+                lastPurge = now;
+                ChangeLog.MENU.purgeBefore(conn, LocalDateTime.now().minusDays(LOG_RETENTION_DAYS));
+            }
+        } catch (SQLException e) {
+            logger.log(Level.FINE, "Could not read menu changes", e);
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Unexpected error syncing the menu", e);
+        }
+    }
+    
+    // Observer pattern methods
+    public static void addObserver(MenuCacheObserver observer) {
+        observers.add(observer);
+    }
+    
+    public static void removeObserver(MenuCacheObserver observer) {
+        observers.remove(observer);
+    }
+    
+    /**
+     * Mark the cached menu as out of date after a menu item changed
+     * The menu is reloaded in the background; callers never wait for it
+     * @param itemId ID of the item that was added, changed or removed
+     */
+    public static void invalidate(String itemId) {
+        logger.fine("Menu item changed: " + itemId);
+        requestRefresh();
+    }
+    
+    /**
+     * Reload the menu on the background refresh thread
+     * Several requests made close together result in a single reload
+     */
+    public static void requestRefresh() {
+        startRefresher();
+        if (refreshPending.compareAndSet(false, true)) {
+            refresher.schedule(() -> {
+                refreshPending.set(false);
+                refreshCache();
+            }, INVALIDATION_DELAY, TimeUnit.MILLISECONDS);
         }
     }
     
     /**
      * Get all menu items from cache
-     * @return Unmodifiable list of menu items
+     * @return Unmodifiable list of menu items, shared between callers
      */
     public static List<MenuItem> getMenuItems() {
-        checkRefresh();
-        return Collections.unmodifiableList(new ArrayList<>(menuItems));
+        return current().items;
     }
     
     /**
      * Get menu items by category
      * @param categoryId The category ID
-     * @return List of menu items in the specified category
+     * @return Unmodifiable list of menu items in the specified category, shared between callers
      */
     public static List<MenuItem> getMenuItemsByCategory(int categoryId) {
-        checkRefresh();
-        List<MenuItem> result = new ArrayList<>();
-        
-        for (MenuItem item : menuItems) {
-            if (item.getCategoryId() == categoryId) {
-                result.add(item);
-            }
-        }
-        
-        return result;
+        return current().getCategory(categoryId);
     }
     
     /**
@@ -72,36 +192,128 @@ public class MenuCache {
      * @return The menu item or null if not found
      */
     public static MenuItem getMenuItemById(String itemId) {
-        checkRefresh();
-        
-        for (MenuItem item : menuItems) {
-            if (item.getItemId().equals(itemId)) {
-                return item;
+        return itemId == null ? null : current().byId.get(itemId);
+    }
+    
+    /**
+     * Force a refresh of the cache
+     * Observers are called on the calling thread
+     * @return true if the menu was reloaded
+     */
+    public static boolean refreshCache() {
+        Snapshot previous;
+        Snapshot loaded;
+        synchronized (MenuCache.class) {
+            try {
+                long start = System.nanoTime();
+                loaded = new Snapshot(MenuItemDAO.getInstance().getAll());
+                metrics.recordLoad(start);
+            } catch (SQLException e) {
+                logger.log(Level.SEVERE, "Error refreshing menu cache", e);
+                return false;
             }
+            previous = snapshot;
+            snapshot = loaded;
+            lastFullReload = System.currentTimeMillis();
         }
         
-        return null;
+        logger.info("Menu cache refreshed successfully (" + loaded.items.size() + " items)");
+        if (previous != Snapshot.EMPTY && !previous.signature.equals(loaded.signature)) {
+            for (MenuCacheObserver observer : observers) {
+                try {
+                    observer.onMenuChanged();
+                } catch (RuntimeException e) {
+                    logger.log(Level.WARNING, "Menu observer failed", e);
+                }
+            }
+        }
+        return true;
     }
     
     /**
-     * Force a refresh of the cache
+     * Get the current snapshot, loading it on first use
      */
-    public static synchronized void refreshCache() {
-        try {
-            menuItems = MenuItemDAO.getInstance().getAll();
-            lastRefreshTime = System.currentTimeMillis();
-            logger.info("Menu cache refreshed successfully");
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "Error refreshing menu cache", e);
+    private static Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != Snapshot.EMPTY) {
+            metrics.recordHit();
+        } else {
+            metrics.recordMiss();
+            initialize();
+            current = snapshot;
         }
+        return current;
     }
     
     /**
-     * Check if cache needs refreshing based on time interval
+     * Immutable view of the menu at one point in time
      */
-    private static void checkRefresh() {
-        if (!initialized || System.currentTimeMillis() - lastRefreshTime > REFRESH_INTERVAL) {
-            refreshCache();
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(Collections.<MenuItem>emptyList());
+        
+        final List<MenuItem> items;
+        final Map<String, MenuItem> byId;
+        // Indexed by category ID; category IDs are small and dense
+        final List<List<MenuItem>> byCategory;
+        final String signature;
+        
+        Snapshot(List<MenuItem> menuItems) {
+            this.items = Collections.unmodifiableList(new ArrayList<>(menuItems));
+            
+            Map<String, MenuItem> index = new HashMap<>(menuItems.size() * 2);
+            int maxCategory = -1;
+            for (MenuItem item : menuItems) {
+                if (item.getItemId() != null) {
+                    index.put(item.getItemId(), item);
+                }
+                maxCategory = Math.max(maxCategory, item.getCategoryId());
+            }
+            this.byId = index;
+            
+            
+            int[] counts = new int[maxCategory + 1];
+            for (MenuItem item : menuItems) {
+                if (item.getCategoryId() >= 0) {
+                    counts[item.getCategoryId()]++;
+                }
+            }
+            MenuItem[][] arrays = new MenuItem[maxCategory + 1][];
+            int[] fill = new int[maxCategory + 1];
+            for (int i = 0; i <= maxCategory; i++) {
+                arrays[i] = new MenuItem[counts[i]];
+            }
+            for (MenuItem item : menuItems) {
+                int categoryId = item.getCategoryId();
+                if (categoryId >= 0) {
+                    arrays[categoryId][fill[categoryId]++] = item;
+                }
+            }
+            List<List<MenuItem>> categories = new ArrayList<>(maxCategory + 1);
+            for (int i = 0; i <= maxCategory; i++) {
+                categories.add(Collections.unmodifiableList(Arrays.asList(arrays[i])));
+            }
+            this.byCategory = categories;
+            this.signature = signatureOf(menuItems);
+        }
+        
+        // Fields shown on order screens; a change in any of them notifies observers
+        private static String signatureOf(List<MenuItem> menuItems) {
+            StringBuilder signature = new StringBuilder();
+            for (MenuItem item : menuItems) {
+                signature.append(item.getItemId()).append('|')
+                         .append(item.getName()).append('|')
+                         .append(item.getCategoryId()).append('|')
+                         .append(item.getPrice()).append('|')
+                         .append(item.isAvailable()).append('\n');
+            }
+            return signature.toString();
+        }
+        
+        List<MenuItem> getCategory(int categoryId) {
+            if (categoryId < 0 || categoryId >= byCategory.size()) {
+                return Collections.emptyList();
+            }
+            return byCategory.get(categoryId);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,12 @@
+package DAO;
+
+/**
+ * Observer interface for menu changes
+ * Called after MenuCache has loaded a new menu, on whichever thread loaded
+ * it: the menu refresh thread, or the caller of refreshCache(), e.g. a
+ * manager screen's background task. JavaFX observers must hop to the FX
+ * thread themselves.
+ */
+public interface MenuCacheObserver {
+    void onMenuChanged();
+}
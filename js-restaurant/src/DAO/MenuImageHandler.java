@@ -18,6 +18,7 @@ import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.imageio.ImageIO;
@@ -29,7 +30,12 @@ public class MenuImageHandler {
     private static final Logger logger = Logger.getLogger(MenuImageHandler.class.getName());
     
     // Map to cache image paths
-    private static final Map<String, String> imageCache = new HashMap<>();
+    private static final Map<String, String> imageCache = new ConcurrentHashMap<>();
+    private static final CacheMetrics metrics = MetricsRegistry.cache("menu-image-paths")
+            .withSize(() -> imageCache.size());
+    
+    // Directory uploaded and copied images are written to
+    private static final String UPLOAD_DIR = "src/main/resources/images/menu/";
     
     // Default colors for different menu categories
     private static final Map<Integer, Color> categoryColors = new HashMap<>();
@@ -50,7 +56,7 @@ public class MenuImageHandler {
      */
     private static void ensureImagesDirectoryExists() {
         try {
-            Path imagesDir = Paths.get("src/main/resources/images/menu");
+            Path imagesDir = Paths.get(UPLOAD_DIR);
             if (!Files.exists(imagesDir)) {
                 Files.createDirectories(imagesDir);
                 logger.info("Created menu images directory: " + imagesDir);
@@ -60,6 +66,15 @@ public class MenuImageHandler {
         }
     }
     
+    /**
+     * Get the location of an uploaded menu item image
+     * @param fileName Image file name, e.g. "app001.jpg"
+     * @return Path in the upload directory; the file may not exist
+     */
+    public static Path getUploadedImagePath(String fileName) {
+        return Paths.get(UPLOAD_DIR, fileName);
+    }
+    
     /**
      * Get the image path for a menu item
      * @param itemId Menu item ID
@@ -68,9 +83,12 @@ public class MenuImageHandler {
      */
     public static String getImagePath(String itemId, int categoryId) {
     // Check cache first
-    if (imageCache.containsKey(itemId)) {
-        return imageCache.get(itemId);
+    String cachedPath = imageCache.get(itemId);
+    if (cachedPath != null) {
+        metrics.recordHit();
+        return cachedPath;
     }
+    metrics.recordMiss();
 
     // Ensure images directory exists
     ensureImagesDirectoryExists();
@@ -165,7 +183,7 @@ public class MenuImageHandler {
             
             // Create target file
             String targetFileName = itemId.toLowerCase() + extension;
-            String targetPath = "src/main/resources/images/menu/" + targetFileName;
+            String targetPath = UPLOAD_DIR + targetFileName;
             
             // Copy file
             Path source = Paths.get(sourcePath);
@@ -175,6 +193,7 @@ public class MenuImageHandler {
             // Cache and return path
             String imagePath = "/images/menu/" + targetFileName;
             imageCache.put(itemId, imagePath);
+            MenuImageCache.invalidate(itemId);
             
             logger.info("Copied image for " + itemId + " to " + targetPath);
             return imagePath;
@@ -199,7 +218,7 @@ public class MenuImageHandler {
             
             // Create target file
             String targetFileName = itemId.toLowerCase() + extension;
-            String targetPath = "src/main/resources/images/menu/" + targetFileName;
+            String targetPath = UPLOAD_DIR + targetFileName;
             
             // Copy file
             Path target = Paths.get(targetPath);
@@ -208,6 +227,7 @@ public class MenuImageHandler {
             // Cache and return path
             String imagePath = "/images/menu/" + targetFileName;
             imageCache.put(itemId, imagePath);
+            MenuImageCache.invalidate(itemId);
             
             logger.info("Uploaded image for " + itemId + " to " + targetPath);
             return imagePath;
@@ -8,7 +8,9 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -18,6 +20,8 @@ import java.util.logging.Logger;
 public class MenuItemDAO {
     private static final Logger logger = Logger.getLogger(MenuItemDAO.class.getName());
     private static MenuItemDAO instance;
+    private static final RowMapper<MenuItem> MENU_ITEM_MAPPER = new MenuItemMapper();
+    private static final RowMapper<MenuItemAddon> ADDON_MAPPER = new AddonMapper();
     private final DatabaseManager dbConnection;
     
     // Private constructor for singleton pattern
@@ -51,12 +55,14 @@ public class MenuItemDAO {
                          "JOIN menu_category c ON m.category_id = c.category_id";
             rs = stmt.executeQuery(sql);
             
+            RowMapper<MenuItem>.Binding itemMapper = MENU_ITEM_MAPPER.bind(rs);
+            
             while (rs.next()) {
-                MenuItem item = extractMenuItemFromResultSet(rs);
-                // Load add-ons for this menu item
-                item.setAddons(getAddonsByMenuItemId(item.getItemId(), conn));
-                menuItems.add(item);
+                menuItems.add(itemMapper.map());
             }
+            
+            // Load the add-ons of all items in one query
+            attachAddons(menuItems, conn, null);
         } catch (SQLException ex) {
             logger.log(Level.SEVERE, "Error retrieving all menu items", ex);
             throw ex;
@@ -91,8 +97,8 @@ public class MenuItemDAO {
             stmt.setString(1, id);
             rs = stmt.executeQuery();
             
-            if (rs.next()) {
-                menuItem = extractMenuItemFromResultSet(rs);
+            menuItem = MENU_ITEM_MAPPER.mapFirst(rs);
+            if (menuItem != null) {
                 // Load add-ons for this menu item
                 menuItem.setAddons(getAddonsByMenuItemId(menuItem.getItemId(), conn));
             }
@@ -127,12 +133,14 @@ public class MenuItemDAO {
             stmt.setInt(1, categoryId);
             rs = stmt.executeQuery();
             
+            RowMapper<MenuItem>.Binding itemMapper = MENU_ITEM_MAPPER.bind(rs);
+            
             while (rs.next()) {
-                MenuItem item = extractMenuItemFromResultSet(rs);
-                // Load add-ons for this menu item
-                item.setAddons(getAddonsByMenuItemId(item.getItemId(), conn));
-                menuItems.add(item);
+                menuItems.add(itemMapper.map());
             }
+            
+            // Load the add-ons of these items in one query
+            attachAddons(menuItems, conn, "m.category_id = ?", categoryId);
         } catch (SQLException ex) {
             logger.log(Level.SEVERE, "Error retrieving menu items by category: " + categoryId, ex);
             throw ex;
@@ -162,12 +170,14 @@ public class MenuItemDAO {
             stmt = conn.prepareStatement(sql);
             rs = stmt.executeQuery();
             
+            RowMapper<MenuItem>.Binding itemMapper = MENU_ITEM_MAPPER.bind(rs);
+            
             while (rs.next()) {
-                MenuItem item = extractMenuItemFromResultSet(rs);
-                // Load add-ons for this menu item
-                item.setAddons(getAddonsByMenuItemId(item.getItemId(), conn));
-                menuItems.add(item);
+                menuItems.add(itemMapper.map());
             }
+            
+            // Load the add-ons of these items in one query
+            attachAddons(menuItems, conn, "m.is_available = TRUE");
         } catch (SQLException ex) {
             logger.log(Level.SEVERE, "Error retrieving available menu items", ex);
             throw ex;
@@ -189,6 +199,7 @@ public class MenuItemDAO {
         
         try {
             conn = dbConnection.getConnection();
+            ChangeLog.MENU.ensureTable(conn);
             
             // Begin transaction
             conn.setAutoCommit(false);
@@ -213,9 +224,13 @@ public class MenuItemDAO {
                     addAddon(addon, conn);
                 }
             }
+            if (rowsAffected > 0) {
+                ChangeLog.MENU.record(conn, menuItem.getItemId());
+            }
             
             // Commit transaction
             conn.commit();
+            MenuCache.invalidate(menuItem.getItemId());
             return rowsAffected > 0;
         } catch (SQLException ex) {
             // Rollback transaction on error
@@ -251,6 +266,7 @@ public class MenuItemDAO {
         
         try {
             conn = dbConnection.getConnection();
+            ChangeLog.MENU.ensureTable(conn);
             
             // Begin transaction
             conn.setAutoCommit(false);
@@ -278,9 +294,13 @@ public class MenuItemDAO {
                     addAddon(addon, conn);
                 }
             }
+            if (rowsAffected > 0) {
+                ChangeLog.MENU.record(conn, menuItem.getItemId());
+            }
             
             // Commit transaction
             conn.commit();
+            MenuCache.invalidate(menuItem.getItemId());
             return rowsAffected > 0;
         } catch (SQLException ex) {
             // Rollback transaction on error
@@ -316,6 +336,7 @@ public class MenuItemDAO {
         
         try {
             conn = dbConnection.getConnection();
+            ChangeLog.MENU.ensureTable(conn);
             
             // Begin transaction
             conn.setAutoCommit(false);
@@ -329,9 +350,13 @@ public class MenuItemDAO {
             stmt.setString(1, id);
             
             int rowsAffected = stmt.executeUpdate();
+            if (rowsAffected > 0) {
+                ChangeLog.MENU.record(conn, id);
+            }
             
             // Commit transaction
             conn.commit();
+            MenuCache.invalidate(id);
             return rowsAffected > 0;
         } catch (SQLException ex) {
             // Rollback transaction on error
@@ -368,21 +393,87 @@ public class MenuItemDAO {
         
         try {
             conn = dbConnection.getConnection();
+            ChangeLog.MENU.ensureTable(conn);
+            
+            // Begin transaction
+            conn.setAutoCommit(false);
+            
             String sql = "UPDATE menu_item SET is_available = ? WHERE item_id = ?";
             stmt = conn.prepareStatement(sql);
             stmt.setBoolean(1, available);
             stmt.setString(2, id);
             
             int rowsAffected = stmt.executeUpdate();
+            if (rowsAffected > 0) {
+                ChangeLog.MENU.record(conn, id);
+            }
+            
+            // Commit transaction
+            conn.commit();
+            MenuCache.invalidate(id);
             return rowsAffected > 0;
         } catch (SQLException ex) {
+            // Rollback transaction on error
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException e) {
+                    logger.log(Level.SEVERE, "Error rolling back transaction", e);
+                }
+            }
             logger.log(Level.SEVERE, "Error updating menu item availability: " + id, ex);
             throw ex;
         } finally {
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                } catch (SQLException e) {
+                    logger.log(Level.SEVERE, "Error resetting auto-commit", e);
+                }
+            }
             closeResources(conn, stmt, null);
         }
     }
     
+    /**
+     * Load the add-ons of the given menu items in one query and attach them
+     * @param menuItems Menu items to fill in
+     * @param conn Existing database connection
+     * @param itemCondition Condition on menu_item m that selected the items,
+     * or null if they are the whole menu
+     * @param params Parameters of the condition
+     */
+    private void attachAddons(List<MenuItem> menuItems, Connection conn, String itemCondition,
+                              Object... params) throws SQLException {
+        if (menuItems.isEmpty()) {
+            return;
+        }
+        
+        Map<String, List<MenuItemAddon>> addonsByItem = new HashMap<>();
+        String sql = itemCondition == null
+                ? "SELECT a.* FROM menu_item_addon a ORDER BY a.item_id, a.addon_id"
+                : "SELECT a.* FROM menu_item_addon a JOIN menu_item m ON a.item_id = m.item_id " +
+                  "WHERE " + itemCondition + " ORDER BY a.item_id, a.addon_id";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                stmt.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                for (MenuItemAddon addon : ADDON_MAPPER.mapAll(rs)) {
+                    addonsByItem.computeIfAbsent(addon.getItemId(), k -> new ArrayList<>()).add(addon);
+                }
+            }
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error retrieving menu item add-ons", ex);
+            throw ex;
+        }
+        
+        for (MenuItem item : menuItems) {
+            List<MenuItemAddon> addons = addonsByItem.get(item.getItemId());
+            item.setAddons(addons != null ? addons : new ArrayList<>());
+        }
+    }
+    
     /**
      * Get add-ons for a menu item
      * @param menuItemId Menu item ID
@@ -410,10 +501,7 @@ public class MenuItemDAO {
             stmt.setString(1, menuItemId);
             rs = stmt.executeQuery();
             
-            while (rs.next()) {
-                MenuItemAddon addon = extractAddonFromResultSet(rs);
-                addons.add(addon);
-            }
+            addons = ADDON_MAPPER.mapAll(rs);
         } catch (SQLException ex) {
             logger.log(Level.SEVERE, "Error retrieving add-ons for menu item: " + menuItemId, ex);
             throw ex;
@@ -481,38 +569,61 @@ public class MenuItemDAO {
     }
     
     /**
-     * Extract a MenuItem object from a ResultSet
-     * @param rs ResultSet containing menu item data
-     * @return MenuItem object
+     * Maps menu_item rows (joined with the category name) to MenuItem objects
      */
-    private MenuItem extractMenuItemFromResultSet(ResultSet rs) throws SQLException {
-        MenuItem item = new MenuItem();
-        
-        item.setItemId(rs.getString("item_id"));
-        item.setName(rs.getString("name"));
-        item.setDescription(rs.getString("description"));
-        item.setCategoryId(rs.getInt("category_id"));
-        item.setCategoryName(rs.getString("category_name"));
-        item.setPrice(rs.getDouble("price"));
-        item.setAvailable(rs.getBoolean("is_available"));
-        
-        return item;
+    private static final class MenuItemMapper extends RowMapper<MenuItem> {
+        private static final int ITEM_ID = 0;
+        private static final int NAME = 1;
+        private static final int DESCRIPTION = 2;
+        private static final int CATEGORY_ID = 3;
+        private static final int CATEGORY_NAME = 4;
+        private static final int PRICE = 5;
+        private static final int IS_AVAILABLE = 6;
+
+        MenuItemMapper() {
+            super("item_id", "name", "description", "category_id", "category_name", "price", "is_available");
+        }
+
+        @Override
+        protected MenuItem mapRow(Row row) throws SQLException {
+            MenuItem item = new MenuItem();
+
+            item.setItemId(row.getString(ITEM_ID));
+            item.setName(row.getString(NAME));
+            item.setDescription(row.getString(DESCRIPTION));
+            item.setCategoryId(row.getInt(CATEGORY_ID));
+            item.setCategoryName(row.getString(CATEGORY_NAME));
+            item.setPrice(row.getDouble(PRICE));
+            item.setAvailable(row.getBoolean(IS_AVAILABLE));
+
+            return item;
+        }
     }
-    
+
     /**
-     * Extract a MenuItemAddon object from a ResultSet
-     * @param rs ResultSet containing add-on data
-     * @return MenuItemAddon object
+     * Maps menu_item_addon rows to MenuItemAddon objects
      */
-    private MenuItemAddon extractAddonFromResultSet(ResultSet rs) throws SQLException {
-        MenuItemAddon addon = new MenuItemAddon();
-        
-        addon.setAddonId(rs.getInt("addon_id"));
-        addon.setItemId(rs.getString("item_id"));
-        addon.setName(rs.getString("name"));
-        addon.setPrice(rs.getDouble("price"));
-        
-        return addon;
+    private static final class AddonMapper extends RowMapper<MenuItemAddon> {
+        private static final int ADDON_ID = 0;
+        private static final int ITEM_ID = 1;
+        private static final int NAME = 2;
+        private static final int PRICE = 3;
+
+        AddonMapper() {
+            super("addon_id", "item_id", "name", "price");
+        }
+
+        @Override
+        protected MenuItemAddon mapRow(Row row) throws SQLException {
+            MenuItemAddon addon = new MenuItemAddon();
+
+            addon.setAddonId(row.getInt(ADDON_ID));
+            addon.setItemId(row.getString(ITEM_ID));
+            addon.setName(row.getString(NAME));
+            addon.setPrice(row.getDouble(PRICE));
+
+            return addon;
+        }
     }
     
     /**
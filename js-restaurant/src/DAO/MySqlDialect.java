@@ -0,0 +1,42 @@
+package DAO;
+
+/**
+ * Dialect for a MySQL 8 server - the standard multi-terminal deployment
+ */
+public class MySqlDialect implements SqlDialect {
+
+    @Override
+    public String getName() {
+        return "mysql";
+    }
+
+    @Override
+    public String getDefaultDriverClass() {
+        return "com.mysql.cj.jdbc.Driver";
+    }
+
+    @Override
+    public String prepareUrl(String url) {
+        return url;
+    }
+
+    @Override
+    public boolean acceptsDriverProperty(String key) {
+        return true;
+    }
+
+    @Override
+    public String dateOf(String column) {
+        return "DATE(" + column + ")";
+    }
+
+    @Override
+    public boolean supportsStoredProcedures() {
+        return true;
+    }
+
+    @Override
+    public boolean isEmbedded() {
+        return false;
+    }
+}
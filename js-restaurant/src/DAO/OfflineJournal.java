@@ -0,0 +1,520 @@
+package DAO;
+
+import Model.Order;
+import Model.OrderItem;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Local write-ahead journal for mutations made while MySQL is unreachable - Singleton class
+ *
+ * When a write fails because the database cannot be reached, RestaurantService
+ * records it here instead and the terminal carries on. Entries are appended to
+ * a plain text file (one tab-separated line per entry) and fsync'd before the
+ * call returns; concurrent writers share a single fsync. While any entry is
+ * pending, new writes are journaled too so they are applied in the order they
+ * were made.
+ *
+ * OfflineJournalReplayer applies pending entries in order once connections
+ * succeed again. Every entry carries a UUID that is stored in the
+ * offline_journal_applied table in the same transaction as the change, so an
+ * entry is never applied twice even if the terminal crashes mid-replay.
+ *
+ * The journal also remembers the last known state of recently used orders so
+ * that items can still be added to them while offline.
+ */
+public class OfflineJournal {
+    private static final Logger logger = Logger.getLogger(OfflineJournal.class.getName());
+    private static OfflineJournal instance;
+
+    // Orders kept for offline use; older entries are dropped first
+    private static final int MAX_KNOWN_ORDERS = 200;
+    private static final String NULL_FIELD = "\\N";
+    // How long a caller waits for replayNow()
+    private static final long REPLAY_NOW_TIMEOUT = 10000; // milliseconds
+
+    /**
+     * Kinds of journaled mutations
+     */
+    public enum EntryType {
+        CREATE_ORDER,
+        ADD_ORDER_ITEM,
+        TABLE_STATUS,
+        CLOCK_IN,
+        CLOCK_OUT
+    }
+
+    /**
+     * A single journaled mutation
+     */
+    public static final class Entry {
+        private final String id;
+        private final EntryType type;
+        private final LocalDateTime createdAt;
+        private final String[] fields;
+
+        Entry(String id, EntryType type, LocalDateTime createdAt, String... fields) {
+            this.id = id;
+            this.type = type;
+            this.createdAt = createdAt;
+            this.fields = fields;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public EntryType getType() {
+            return type;
+        }
+
+        public LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+
+        public String getField(int index) {
+            return index < fields.length ? fields[index] : null;
+        }
+
+        @Override
+        public String toString() {
+            return type + " " + id + " @ " + createdAt;
+        }
+    }
+
+    private final Path path;
+    private final Path rejectedPath;
+    private FileChannel channel;
+
+    // Guarded by this
+    private final Deque<Entry> pending = new ArrayDeque<>();
+    private long writtenCount;
+
+    // Guarded by syncLock
+    private final Object syncLock = new Object();
+    private long syncedCount;
+
+    private final Map<String, Order> knownOrders = new LinkedHashMap<String, Order>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Order> eldest) {
+            return size() > MAX_KNOWN_ORDERS;
+        }
+    };
+
+    private final OfflineJournalReplayer replayer;
+
+    private OfflineJournal() {
+        DatabaseConfig config = DatabaseManager.getInstance().getConfig();
+        path = Paths.get(config.getJournalPath()).toAbsolutePath();
+        rejectedPath = Paths.get(path + ".rejected");
+
+        try {
+            open();
+        } catch (IOException e) {
+            // Without a journal file we still work online; offline writes will fail as before
+            logger.log(Level.SEVERE, "Could not open offline journal " + path, e);
+        }
+
+        replayer = new OfflineJournalReplayer(this, config.getJournalRetryMillis());
+        if (hasPending()) {
+            logger.warning(getPendingCount() + " journaled changes from a previous session are waiting to be applied");
+            replayer.requestReplay();
+        }
+    }
+
+    public static synchronized OfflineJournal getInstance() {
+        if (instance == null) {
+            instance = new OfflineJournal();
+        }
+        return instance;
+    }
+
+    /**
+     * Check whether an exception means the database could not be reached,
+     * as opposed to the statement itself being rejected. A pool that is only
+     * saturated (ConnectionPool.AcquireTimeoutException) does not count: the
+     * database is up and writes must not be diverted to the journal.
+     * @param e Exception thrown by a DAO
+     * @return true if the failure is a lost or refused connection
+     */
+    public static boolean isConnectionFailure(SQLException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof ConnectionPool.AcquireTimeoutException) {
+                return false;
+            }
+            if (t instanceof SQLNonTransientConnectionException) {
+                return true;
+            }
+            if (t instanceof SQLException) {
+                // SQLState class 08: connection exception
+                String state = ((SQLException) t).getSQLState();
+                if (state != null && state.startsWith("08")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check whether journaled changes are still waiting to be applied
+     * @return true if the database is behind this terminal
+     */
+    public synchronized boolean hasPending() {
+        return !pending.isEmpty();
+    }
+
+    /**
+     * Apply the pending changes now, waiting up to REPLAY_NOW_TIMEOUT
+     * @return true if nothing is pending any more
+     */
+    public boolean replayNow() {
+        if (!hasPending()) {
+            return true;
+        }
+        boolean drained = replayer.replayNow(REPLAY_NOW_TIMEOUT);
+        if (hasPending()) {
+            replayer.requestReplay();
+        }
+        return drained && !hasPending();
+    }
+
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Get the orders that journaled changes still have to be applied to
+     * @return IDs of orders created or added to while offline, possibly empty
+     */
+    public synchronized Set<String> getPendingOrderIds() {
+        Set<String> orderIds = new HashSet<>();
+        for (Entry entry : pending) {
+            if (entry.type == EntryType.CREATE_ORDER || entry.type == EntryType.ADD_ORDER_ITEM) {
+                orderIds.add(entry.getField(0));
+            }
+        }
+        return orderIds;
+    }
+
+    /**
+     * Journal a new order
+     * @param order Order created while offline
+     * @return true if the order was durably recorded
+     */
+    public boolean recordOrderCreated(Order order) {
+        boolean recorded = append(EntryType.CREATE_ORDER, order.getOrderId(), order.getTableId(),
+                order.getWaiterId(), order.getOrderDateTime().toString(), order.getStatus());
+        if (recorded) {
+            rememberOrder(order);
+        }
+        return recorded;
+    }
+
+    /**
+     * Journal items added to an order
+     * @param orderId Order ID
+     * @param items Items to add
+     * @return true if every item was durably recorded
+     */
+    public boolean recordItemsAdded(String orderId, List<OrderItem> items) {
+        List<Entry> entries = new ArrayList<>(items.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (OrderItem item : items) {
+            entries.add(new Entry(newEntryId(), EntryType.ADD_ORDER_ITEM, now, orderId, item.getMenuItemId(),
+                    String.valueOf(item.getQuantity()), String.valueOf(item.getPrice()),
+                    item.getSpecialInstructions(), String.valueOf(item.getSeatNumber())));
+        }
+        return append(entries);
+    }
+
+    /**
+     * Journal a table status change
+     * @return true if the change was durably recorded
+     */
+    public boolean recordTableStatus(String tableId, String status, String waiterId) {
+        return append(EntryType.TABLE_STATUS, tableId, status, waiterId);
+    }
+
+    /**
+     * Journal a clock-in at the current time
+     * @return true if the clock-in was durably recorded
+     */
+    public boolean recordClockIn(String userId) {
+        return append(EntryType.CLOCK_IN, userId);
+    }
+
+    /**
+     * Journal a clock-out at the current time
+     * @return true if the clock-out was durably recorded
+     */
+    public boolean recordClockOut(String userId) {
+        return append(EntryType.CLOCK_OUT, userId);
+    }
+
+    /**
+     * Remember the latest known state of an order for offline use
+     * @param order Order to remember; paid and cancelled orders are forgotten
+     */
+    public void rememberOrder(Order order) {
+        if (order == null) {
+            return;
+        }
+        synchronized (knownOrders) {
+            if ("PAID".equals(order.getStatus()) || "CANCELLED".equals(order.getStatus())) {
+                knownOrders.remove(order.getOrderId());
+            } else {
+                knownOrders.put(order.getOrderId(), order);
+            }
+        }
+    }
+
+    /**
+     * Forget an order that no longer needs offline access
+     * @param orderId Order ID
+     */
+    public void forgetOrder(String orderId) {
+        synchronized (knownOrders) {
+            knownOrders.remove(orderId);
+        }
+    }
+
+    /**
+     * Get the last known state of an order
+     * @param orderId Order ID
+     * @return The order, or null if this terminal has not seen it recently
+     */
+    public Order getKnownOrder(String orderId) {
+        synchronized (knownOrders) {
+            return knownOrders.get(orderId);
+        }
+    }
+
+    /**
+     * Get the active orders this terminal knows about for a table
+     * @param tableId Table ID
+     * @return Known active orders, possibly empty
+     */
+    public List<Order> getKnownActiveOrders(String tableId) {
+        List<Order> orders = new ArrayList<>();
+        synchronized (knownOrders) {
+            for (Order order : knownOrders.values()) {
+                if (tableId.equals(order.getTableId())) {
+                    orders.add(order);
+                }
+            }
+        }
+        return orders;
+    }
+
+    /**
+     * Copy of the pending entries, oldest first
+     */
+    synchronized List<Entry> snapshotPending() {
+        return new ArrayList<>(pending);
+    }
+
+    /**
+     * Drop entries that have been applied (or rejected) from the head of the
+     * journal and truncate the file once nothing is left
+     * @param count Number of entries handled, counted from the oldest
+     */
+    synchronized void markHandled(int count) {
+        for (int i = 0; i < count && !pending.isEmpty(); i++) {
+            pending.removeFirst();
+        }
+        if (pending.isEmpty() && channel != null) {
+            try {
+                channel.truncate(0);
+                channel.force(true);
+                logger.info("Offline journal fully applied and cleared");
+            } catch (IOException e) {
+                // Harmless: applied entries are skipped on the next replay
+                logger.log(Level.WARNING, "Could not truncate offline journal", e);
+            }
+        }
+    }
+
+    /**
+     * Set aside an entry the database refused so it does not block the rest
+     * @param entry Rejected entry
+     * @param reason Why the database refused it
+     */
+    void reject(Entry entry, Exception reason) {
+        logger.log(Level.SEVERE, "Journaled change " + entry + " was rejected by the database; saved to " + rejectedPath, reason);
+        String line = encode(entry) + "\t" + escape(String.valueOf(reason.getMessage())) + "\n";
+        try {
+            Files.write(rejectedPath, line.getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.SYNC);
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Could not save rejected journal entry " + entry, e);
+        }
+    }
+
+    private boolean append(EntryType type, String... fields) {
+        List<Entry> entries = new ArrayList<>(1);
+        entries.add(new Entry(newEntryId(), type, LocalDateTime.now(), fields));
+        return append(entries);
+    }
+
+    private boolean append(List<Entry> entries) {
+        if (entries.isEmpty()) {
+            return true;
+        }
+
+        StringBuilder lines = new StringBuilder();
+        for (Entry entry : entries) {
+            lines.append(encode(entry)).append('\n');
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+
+        long position;
+        try {
+            synchronized (this) {
+                if (channel == null) {
+                    logger.severe("Offline journal is not available; change was not recorded");
+                    return false;
+                }
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                pending.addAll(entries);
+                position = ++writtenCount;
+            }
+            sync(position);
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Could not write to offline journal " + path, e);
+            return false;
+        }
+
+        logger.warning("Database unavailable: journaled " + entries.size() + " " + entries.get(0).getType() + " change(s)");
+        replayer.requestReplay();
+        return true;
+    }
+
+    /**
+     * Group commit: the first writer to get here forces everything written so
+     * far, and writers whose data that covered return without another fsync
+     */
+    private void sync(long position) throws IOException {
+        synchronized (syncLock) {
+            if (syncedCount >= position) {
+                return;
+            }
+            long target;
+            synchronized (this) {
+                target = writtenCount;
+            }
+            channel.force(false);
+            syncedCount = target;
+        }
+    }
+
+    private void open() throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        // Load entries left over from a previous session
+        byte[] contents = Files.readAllBytes(path);
+        String text = new String(contents, StandardCharsets.UTF_8);
+        int lastNewline = text.lastIndexOf('\n');
+        if (lastNewline < text.length() - 1) {
+            // A torn write from a crash: drop the incomplete last line
+            logger.warning("Discarding incomplete last entry in offline journal " + path);
+            channel.truncate(text.substring(0, lastNewline + 1).getBytes(StandardCharsets.UTF_8).length);
+        }
+        for (String line : text.substring(0, lastNewline + 1).split("\n")) {
+            if (!line.isEmpty()) {
+                try {
+                    pending.add(decode(line));
+                } catch (RuntimeException e) {
+                    logger.log(Level.SEVERE, "Skipping unreadable offline journal entry: " + line, e);
+                }
+            }
+        }
+        channel.position(channel.size());
+    }
+
+    private static String newEntryId() {
+        return UUID.randomUUID().toString();
+    }
+
+    private static String encode(Entry entry) {
+        StringBuilder line = new StringBuilder();
+        line.append(entry.id).append('\t').append(entry.type.name()).append('\t').append(entry.createdAt);
+        for (String field : entry.fields) {
+            line.append('\t').append(escape(field));
+        }
+        return line.toString();
+    }
+
+    private static Entry decode(String line) {
+        String[] parts = line.split("\t", -1);
+        String[] fields = new String[parts.length - 3];
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = unescape(parts[i + 3]);
+        }
+        return new Entry(parts[0], EntryType.valueOf(parts[1]), LocalDateTime.parse(parts[2]), fields);
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return NULL_FIELD;
+        }
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '\\': escaped.append("\\\\"); break;
+                case '\t': escaped.append("\\t"); break;
+                case '\n': escaped.append("\\n"); break;
+                case '\r': escaped.append("\\r"); break;
+                default: escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static String unescape(String value) {
+        if (NULL_FIELD.equals(value)) {
+            return null;
+        }
+        StringBuilder unescaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                switch (next) {
+                    case 't': unescaped.append('\t'); break;
+                    case 'n': unescaped.append('\n'); break;
+                    case 'r': unescaped.append('\r'); break;
+                    default: unescaped.append(next);
+                }
+            } else {
+                unescaped.append(c);
+            }
+        }
+        return unescaped.toString();
+    }
+}
@@ -0,0 +1,345 @@
+package DAO;
+
+import Model.Order;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.SQLTransientException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Applies OfflineJournal entries to the database once it is reachable again.
+ *
+ * Entries are applied strictly in journal order, each in its own transaction
+ * together with a row in offline_journal_applied keyed by the entry ID; an
+ * entry whose ID is already there was applied before and is skipped. A lost
+ * connection, or a temporary refusal such as a deadlock or lock wait
+ * timeout, stops the run and it is retried after the configured interval.
+ * An entry the database refuses outright (for example a deleted table) is set
+ * aside in the .rejected file so it cannot block everything behind it.
+ * Replayed order and table changes are logged in order_change and
+ * table_change in the same transaction, so every terminal picks them up.
+ */
+class OfflineJournalReplayer {
+    private static final Logger logger = Logger.getLogger(OfflineJournalReplayer.class.getName());
+
+    private static final String CREATE_APPLIED_TABLE =
+            "CREATE TABLE IF NOT EXISTS offline_journal_applied (" +
+            "entry_id VARCHAR(36) NOT NULL PRIMARY KEY, " +
+            "entry_type VARCHAR(20) NOT NULL, " +
+            "applied_at DATETIME NOT NULL)";
+
+    private final OfflineJournal journal;
+    private final long retryMillis;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile boolean appliedTableReady;
+
+    OfflineJournalReplayer(OfflineJournal journal, long retryMillis) {
+        this.journal = journal;
+        this.retryMillis = retryMillis;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "offline-journal-replay");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Schedule a replay attempt unless one is already waiting
+     */
+    void requestReplay() {
+        if (scheduled.compareAndSet(false, true)) {
+            scheduler.schedule(this::run, retryMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Replay now and wait for it, e.g. before charging an order whose
+     * journaled items must be in its total. Runs on the replay thread, so it
+     * never overlaps a scheduled run.
+     * @param timeoutMillis How long to wait
+     * @return true if the journal was drained in time
+     */
+    boolean replayNow(long timeoutMillis) {
+        try {
+            return scheduler.submit(this::replayPending).get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            logger.log(Level.WARNING, "Immediate journal replay did not finish", e);
+            return false;
+        }
+    }
+
+    private void run() {
+        scheduled.set(false);
+        try {
+            boolean finished = replayPending();
+            if (!finished || journal.hasPending()) {
+                requestReplay();
+            }
+        } catch (RuntimeException e) {
+            logger.log(Level.SEVERE, "Unexpected error replaying offline journal", e);
+            requestReplay();
+        }
+    }
+
+    /**
+     * Apply every pending entry
+     * @return true if the journal was drained, false if the database is still unreachable
+     */
+    private boolean replayPending() {
+        List<OfflineJournal.Entry> entries = journal.snapshotPending();
+        if (entries.isEmpty()) {
+            return true;
+        }
+
+        Connection conn = null;
+        int handled = 0;
+        try {
+            conn = DatabaseManager.getInstance().getConnection();
+            ensureAppliedTable(conn);
+            ChangeLog.ORDERS.ensureTable(conn);
+            ChangeLog.TABLES.ensureTable(conn);
+            conn.setAutoCommit(false);
+
+            for (OfflineJournal.Entry entry : entries) {
+                try {
+                    applyOnce(entry, conn);
+                    conn.commit();
+                } catch (SQLException e) {
+                    rollback(conn);
+                    if (OfflineJournal.isConnectionFailure(e) || isTemporary(e)) {
+                        throw e;
+                    }
+                    journal.reject(entry, e);
+                } catch (RuntimeException e) {
+                    // Malformed entry
+                    rollback(conn);
+                    journal.reject(entry, e);
+                }
+                handled++;
+            }
+            logger.info("Replayed " + handled + " journaled changes");
+            // Journaled orders may belong to days the report cache treats as closed
+            ReportDAOImpl.getInstance().invalidate();
+            return true;
+        } catch (SQLException e) {
+            if (e instanceof ConnectionPool.AcquireTimeoutException) {
+                logger.info("Connection pool busy, retrying journal replay in " + retryMillis + "ms");
+            } else if (isTemporary(e)) {
+                logger.log(Level.INFO, "Journal replay hit a temporary database error, retrying in " + retryMillis + "ms", e);
+            } else if (!OfflineJournal.isConnectionFailure(e)) {
+                logger.log(Level.SEVERE, "Error replaying offline journal", e);
+            } else {
+                logger.info("Database still unavailable, " + (entries.size() - handled) +
+                        " journaled changes pending; retrying in " + retryMillis + "ms");
+            }
+            return false;
+        } finally {
+            journal.markHandled(handled);
+            if (handled > 0) {
+                OrderChangeFeed.getInstance().orderChanged();
+            }
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                } catch (SQLException e) {
+                    logger.log(Level.FINE, "Error resetting auto-commit", e);
+                }
+                try {
+                    conn.close();
+                } catch (SQLException e) {
+                    logger.log(Level.WARNING, "Error closing connection", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Check whether the database refused a statement only for now, e.g. a
+     * deadlock or lock wait timeout, so the entry must be retried, not rejected
+     */
+    private static boolean isTemporary(SQLException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SQLTransientException) {
+                return true;
+            }
+            if (t instanceof SQLException) {
+                SQLException sqlException = (SQLException) t;
+                // SQLState 40001: serialization failure / deadlock
+                // MySQL 1205: lock wait timeout, 1213: deadlock
+                if ("40001".equals(sqlException.getSQLState())
+                        || sqlException.getErrorCode() == 1205 || sqlException.getErrorCode() == 1213) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void ensureAppliedTable(Connection conn) throws SQLException {
+        if (appliedTableReady) {
+            return;
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(CREATE_APPLIED_TABLE);
+        }
+        appliedTableReady = true;
+    }
+
+    /**
+     * Record the entry as applied and apply it, unless it was applied before
+     */
+    private void applyOnce(OfflineJournal.Entry entry, Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO offline_journal_applied (entry_id, entry_type, applied_at) VALUES (?, ?, ?)")) {
+            stmt.setString(1, entry.getId());
+            stmt.setString(2, entry.getType().name());
+            stmt.setTimestamp(3, Timestamp.valueOf(LocalDateTime.now()));
+            stmt.executeUpdate();
+        } catch (SQLIntegrityConstraintViolationException e) {
+            logger.fine("Journaled change " + entry + " was already applied");
+            return;
+        }
+
+        switch (entry.getType()) {
+            case CREATE_ORDER:
+                applyCreateOrder(entry, conn);
+                break;
+            case ADD_ORDER_ITEM:
+                applyAddOrderItem(entry, conn);
+                break;
+            case TABLE_STATUS:
+                applyTableStatus(entry, conn);
+                break;
+            case CLOCK_IN:
+                applyClockIn(entry, conn);
+                break;
+            case CLOCK_OUT:
+                applyClockOut(entry, conn);
+                break;
+        }
+    }
+
+    private void applyCreateOrder(OfflineJournal.Entry entry, Connection conn) throws SQLException {
+        String sql = "INSERT INTO `order` (order_id, table_id, waiter_id, order_datetime, status) " +
+                     "VALUES (?, ?, ?, ?, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, entry.getField(0));
+            stmt.setString(2, entry.getField(1));
+            stmt.setString(3, entry.getField(2));
+            stmt.setTimestamp(4, Timestamp.valueOf(LocalDateTime.parse(entry.getField(3))));
+            stmt.setString(5, entry.getField(4));
+            stmt.executeUpdate();
+        }
+        ChangeLog.ORDERS.record(conn, entry.getField(0));
+    }
+
+    private void applyAddOrderItem(OfflineJournal.Entry entry, Connection conn) throws SQLException {
+        String orderId = entry.getField(0);
+        String sql = "INSERT INTO order_item (order_id, menu_item_id, quantity, price, special_instructions, seat_number) VALUES (?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, orderId);
+            stmt.setString(2, entry.getField(1));
+            stmt.setInt(3, Integer.parseInt(entry.getField(2)));
+            stmt.setDouble(4, Double.parseDouble(entry.getField(3)));
+            stmt.setString(5, entry.getField(4));
+            stmt.setInt(6, Integer.parseInt(entry.getField(5)));
+            stmt.executeUpdate();
+        }
+
+        // Keep the order totals in step with its items
+        double subtotal = 0;
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT COALESCE(SUM(price * quantity), 0) FROM order_item WHERE order_id = ?")) {
+            stmt.setString(1, orderId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    subtotal = rs.getDouble(1);
+                }
+            }
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "UPDATE `order` SET total_amount = ?, tax_amount = ? WHERE order_id = ?")) {
+            stmt.setDouble(1, subtotal);
+            stmt.setDouble(2, subtotal * Order.TAX_RATE);
+            stmt.setString(3, orderId);
+            stmt.executeUpdate();
+        }
+        ChangeLog.ORDERS.record(conn, orderId);
+    }
+
+    private void applyTableStatus(OfflineJournal.Entry entry, Connection conn) throws SQLException {
+        String sql = "UPDATE restaurant_table SET status = ?, assigned_waiter_id = ? WHERE table_id = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, entry.getField(1));
+            stmt.setString(2, entry.getField(2));
+            stmt.setString(3, entry.getField(0));
+            stmt.executeUpdate();
+        }
+        ChangeLog.TABLES.record(conn, entry.getField(0));
+    }
+
+    private void applyClockIn(OfflineJournal.Entry entry, Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO time_clock (user_id, clock_in) VALUES (?, ?)")) {
+            stmt.setString(1, entry.getField(0));
+            stmt.setTimestamp(2, Timestamp.valueOf(entry.getCreatedAt()));
+            stmt.executeUpdate();
+        }
+    }
+
+    private void applyClockOut(OfflineJournal.Entry entry, Connection conn) throws SQLException {
+        String findSql = "SELECT time_clock_id, clock_in FROM time_clock " +
+                         "WHERE user_id = ? AND clock_out IS NULL AND clock_in <= ? " +
+                         "ORDER BY clock_in DESC LIMIT 1";
+        int recordId;
+        LocalDateTime clockInTime;
+        try (PreparedStatement stmt = conn.prepareStatement(findSql)) {
+            stmt.setString(1, entry.getField(0));
+            stmt.setTimestamp(2, Timestamp.valueOf(entry.getCreatedAt()));
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    logger.warning("No open time record for journaled clock-out " + entry);
+                    return;
+                }
+                recordId = rs.getInt("time_clock_id");
+                clockInTime = rs.getTimestamp("clock_in").toLocalDateTime();
+            }
+        }
+
+        Duration duration = Duration.between(clockInTime, entry.getCreatedAt());
+        double hoursWorked = duration.toHours() + (duration.toMinutes() % 60) / 60.0;
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "UPDATE time_clock SET clock_out = ?, total_hours = ? WHERE time_clock_id = ?")) {
+            stmt.setTimestamp(1, Timestamp.valueOf(entry.getCreatedAt()));
+            stmt.setDouble(2, hoursWorked);
+            stmt.setInt(3, recordId);
+            stmt.executeUpdate();
+        }
+    }
+
+    private void rollback(Connection conn) {
+        try {
+            conn.rollback();
+        } catch (SQLException e) {
+            logger.log(Level.WARNING, "Error rolling back journal replay", e);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package DAO;
+
+import Model.Order;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Delivers changed orders to observers such as the kitchen view
+ *
+ * The feed follows the order_change log with a ChangeLog.Cursor: every
+ * POLL_INTERVAL it asks for the changes it has not seen yet, which is an
+ * index range scan returning nothing while the orders are idle, and loads
+ * only the orders that changed. Changes made on this terminal wake the feed
+ * at once, so they reach observers within milliseconds; changes made on other
+ * terminals within POLL_INTERVAL. Changes whose transaction commits after a
+ * later one are still picked up, see ChangeLog.Cursor. As a safety net every
+ * RECONCILE_INTERVAL, and whenever the feed could not follow the log, the
+ * observers are handed all active orders to replace the ones they show. The
+ * feed only runs while it has observers.
+ */
+public class OrderChangeFeed {
+    private static final Logger logger = Logger.getLogger(OrderChangeFeed.class.getName());
+    private static final long POLL_INTERVAL = 500;          // milliseconds
+    private static final long RECONCILE_INTERVAL = 120000;  // 2 minutes in milliseconds
+    private static final long PURGE_INTERVAL = 3600000;     // 1 hour in milliseconds
+    private static final int MAX_CHANGES_PER_POLL = 1000;
+    private static final int LOG_RETENTION_DAYS = 1;
+
+    private static OrderChangeFeed instance;
+
+    private final List<OrderChangeObserver> observers = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean pollPending = new AtomicBoolean();
+    private ScheduledExecutorService poller;    // guarded by this
+    private volatile ChangeLog.Cursor cursor;   // read on the poller thread; null until started
+    private long lastReconcile;                 // only used on the poller thread
+    private long lastPurge;
+
+    private OrderChangeFeed() {
+    }
+
+    public static synchronized OrderChangeFeed getInstance() {
+        if (instance == null) {
+            instance = new OrderChangeFeed();
+        }
+        return instance;
+    }
+
+    /**
+     * Start delivering order changes to an observer
+     * Every change committed after this call returns is delivered, so an
+     * observer that loads the current orders after subscribing misses none;
+     * changes it has already loaded may be delivered again
+     * @param observer Observer to add
+     */
+    public synchronized void addObserver(OrderChangeObserver observer) {
+        observers.add(observer);
+        if (poller == null) {
+            // Fix the starting point now, before the observer loads its orders
+            cursor = null;
+            try (Connection conn = DatabaseManager.getInstance().getConnection()) {
+                cursor = ChangeLog.ORDERS.startCursor(conn);
+            } catch (SQLException e) {
+                // The first poll starts the cursor and hands observers all active orders
+                logger.log(Level.WARNING, "Could not read the order change log; will reload orders", e);
+            }
+            lastReconcile = System.currentTimeMillis();
+            poller = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "order-change-feed");
+                thread.setDaemon(true);
+                return thread;
+            });
+            poller.scheduleWithFixedDelay(this::poll, POLL_INTERVAL, POLL_INTERVAL, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stop delivering order changes to an observer
+     * @param observer Observer to remove
+     */
+    public synchronized void removeObserver(OrderChangeObserver observer) {
+        observers.remove(observer);
+        if (observers.isEmpty() && poller != null) {
+            poller.shutdownNow();
+            poller = null;
+        }
+    }
+
+    /**
+     * Called by OrderDAO after an order was changed on this terminal, to
+     * deliver the change without waiting for the next poll
+     */
+    void orderChanged() {
+        ScheduledExecutorService current;
+        synchronized (this) {
+            current = poller;
+        }
+        if (current != null && pollPending.compareAndSet(false, true)) {
+            try {
+                current.execute(this::poll);
+            } catch (RuntimeException e) {
+                // Shut down by removeObserver in the meantime
+                pollPending.set(false);
+            }
+        }
+    }
+
+    private void poll() {
+        pollPending.set(false);
+        boolean reload = false;
+        try (Connection conn = DatabaseManager.getInstance().getConnection()) {
+            if (cursor == null || cursor.isLost()) {
+                cursor = ChangeLog.ORDERS.startCursor(conn);
+                reload = true;
+            } else {
+                Map<Long, String> changes = cursor.read(conn, MAX_CHANGES_PER_POLL);
+                if (cursor.isLost()) {
+                    // Entries this terminal has not seen were purged
+                    logger.info("Order change log no longer has entries this terminal has not seen, reloading orders");
+                    cursor = ChangeLog.ORDERS.startCursor(conn);
+                    reload = true;
+                } else if (!changes.isEmpty()) {
+                    Set<String> orderIds = new LinkedHashSet<>(changes.values());
+                    List<Order> orders = OrderDAO.getInstance().getByIds(orderIds, conn);
+                    deliver(orderIds, orders);
+                    cursor.markSeen(changes.keySet());
+                    if (changes.size() >= MAX_CHANGES_PER_POLL) {
+                        orderChanged(); // more to read
+                    }
+                }
+            }
+
+            long now = System.currentTimeMillis();
+            if (now - lastPurge > PURGE_INTERVAL) {
+                lastPurge = now;
+                int purged = ChangeLog.ORDERS.purgeBefore(conn, LocalDateTime.now().minusDays(LOG_RETENTION_DAYS));
+                if (purged > 0) {
+                    logger.fine("Purged " + purged + " old order changes");
+                }
+            }
+        } catch (SQLException e) {
+            logger.log(Level.FINE, "Could not read order changes", e);
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Unexpected error reading order changes", e);
+        }
+
+        if (reload || System.currentTimeMillis() - lastReconcile > RECONCILE_INTERVAL) {
+            reconcile();
+        }
+    }
+
+    /**
+     * Hand every observer all active orders, in case a change was missed
+     */
+    private void reconcile() {
+        lastReconcile = System.currentTimeMillis();
+        List<Order> activeOrders;
+        try {
+            activeOrders = OrderDAO.getInstance().getActiveOrders();
+        } catch (SQLException e) {
+            logger.log(Level.FINE, "Could not reload active orders", e);
+            lastReconcile = 0; // retry on the next poll
+            return;
+        }
+        logger.fine("Reconciling " + activeOrders.size() + " active orders");
+        for (OrderChangeObserver observer : observers) {
+            try {
+                observer.onOrdersReloaded(new ArrayList<>(activeOrders));
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Order observer failed", e);
+            }
+        }
+    }
+
+    private void deliver(Set<String> orderIds, List<Order> orders) {
+        Set<String> deleted = new HashSet<>(orderIds);
+        for (Order order : orders) {
+            deleted.remove(order.getOrderId());
+        }
+        logger.fine("Delivering " + orders.size() + " changed orders");
+        for (OrderChangeObserver observer : observers) {
+            try {
+                observer.onOrdersChanged(new ArrayList<>(orders), deleted);
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Order observer failed", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package DAO;
+
+import Model.Order;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Observer interface for order changes
+ * Called on the order feed thread; JavaFX observers must hop to the FX
+ * thread themselves.
+ */
+public interface OrderChangeObserver {
+    /**
+     * @param changedOrders Current state of every order that changed, whatever its status
+     * @param deletedOrderIds IDs of changed orders that no longer exist
+     */
+    void onOrdersChanged(List<Order> changedOrders, Set<String> deletedOrderIds);
+
+    /**
+     * Replace every order shown, e.g. after the feed may have missed changes
+     * @param activeOrders Every order that is not paid or cancelled
+     */
+    void onOrdersReloaded(List<Order> activeOrders);
+}
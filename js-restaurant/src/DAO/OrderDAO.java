@@ -17,8 +17,10 @@ import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import DAO.RestaurantService;
@@ -26,15 +28,26 @@ import DAO.RestaurantService;
 
 /**
  * Data Access Object for Order entities
+ * Every change to an order or its items is logged in order_change, see
+ * OrderChangeFeed
  */
 public class OrderDAO {
     private static final Logger logger = Logger.getLogger(OrderDAO.class.getName());
     private static OrderDAO instance;
     private final DatabaseManager dbManager;
+    private final OrderIdGenerator orderIdGenerator;
+    private final OrderChangeFeed changeFeed = OrderChangeFeed.getInstance();
+    
+    // Maximum number of order IDs per IN-list when loading order items
+    private static final int ITEM_BATCH_SIZE = 500;
+    
+    private static final RowMapper<Order> ORDER_MAPPER = new OrderMapper();
+    private static final RowMapper<OrderItem> ORDER_ITEM_MAPPER = new OrderItemMapper();
     
     // Private constructor for singleton pattern
     private OrderDAO() {
         this.dbManager = DatabaseManager.getInstance();
+        this.orderIdGenerator = OrderIdGenerator.forTerminal(dbManager.getConfig());
     }
     
     // Get singleton instance
@@ -61,12 +74,7 @@ public class OrderDAO {
             String sql = "SELECT * FROM `order`";
             rs = stmt.executeQuery(sql);
             
-            while (rs.next()) {
-                Order order = extractOrderFromResultSet(rs);
-                // Load order items
-                order.setOrderItems(getOrderItemsByOrderId(order.getOrderId(), conn));
-                orders.add(order);
-            }
+            orders = loadOrdersWithItems(rs, conn);
         } catch (SQLException ex) {
             logger.log(Level.SEVERE, "Error retrieving all orders", ex);
             throw ex;
@@ -92,18 +100,14 @@ public List<Order> getOrdersByDateRange(LocalDate startDate, LocalDate endDate)
     try {
         conn = dbManager.getConnection();
         
-        String sql = "SELECT * FROM `order` WHERE DATE(order_datetime) BETWEEN ? AND ?";
+        // Half-open range on the raw column so the order_datetime index can be used
+        String sql = "SELECT * FROM `order` WHERE order_datetime >= ? AND order_datetime < ?";
         stmt = conn.prepareStatement(sql);
-        stmt.setDate(1, java.sql.Date.valueOf(startDate));
-        stmt.setDate(2, java.sql.Date.valueOf(endDate));
+        stmt.setTimestamp(1, Timestamp.valueOf(startDate.atStartOfDay()));
+        stmt.setTimestamp(2, Timestamp.valueOf(endDate.plusDays(1).atStartOfDay()));
         rs = stmt.executeQuery();
         
-        while (rs.next()) {
-            Order order = extractOrderFromResultSet(rs);
-            // Load order items
-            order.setOrderItems(getOrderItemsByOrderId(order.getOrderId(), conn));
-            orders.add(order);
-        }
+        orders = loadOrdersWithItems(rs, conn);
     } catch (SQLException ex) {
         logger.log(Level.SEVERE, "Error retrieving orders by date range", ex);
         throw ex;
@@ -131,8 +135,8 @@ public List<Order> getOrdersByDateRange(LocalDate startDate, LocalDate endDate)
             stmt.setString(1, id);
             rs = stmt.executeQuery();
             
-            if (rs.next()) {
-                order = extractOrderFromResultSet(rs);
+            order = ORDER_MAPPER.mapFirst(rs);
+            if (order != null) {
                 // Load order items
                 order.setOrderItems(getOrderItemsByOrderId(order.getOrderId(), conn));
             }
@@ -146,6 +150,34 @@ public List<Order> getOrdersByDateRange(LocalDate startDate, LocalDate endDate)
         return order;
     }
     
+    /**
+     * Get several orders by ID with their items
+     * @param ids Order IDs
+     * @param conn Existing database connection
+     * @return The orders that exist, each with its items
+     */
+    List<Order> getByIds(Collection<String> ids, Connection conn) throws SQLException {
+        List<Order> orders = new ArrayList<>();
+        List<String> idList = new ArrayList<>(ids);
+        for (int start = 0; start < idList.size(); start += ITEM_BATCH_SIZE) {
+            List<String> batch = idList.subList(start, Math.min(start + ITEM_BATCH_SIZE, idList.size()));
+            StringBuilder sql = new StringBuilder("SELECT * FROM `order` WHERE order_id IN (");
+            for (int i = 0; i < batch.size(); i++) {
+                sql.append(i == 0 ? "?" : ", ?");
+            }
+            sql.append(")");
+            try (PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+                for (int i = 0; i < batch.size(); i++) {
+                    stmt.setString(i + 1, batch.get(i));
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    orders.addAll(loadOrdersWithItems(rs, conn));
+                }
+            }
+        }
+        return orders;
+    }
+    
     /**
      * Get active orders (not paid or cancelled)
      * @return List of active orders
@@ -162,12 +194,7 @@ public List<Order> getOrdersByDateRange(LocalDate startDate, LocalDate endDate)
             stmt = conn.prepareStatement(sql);
             rs = stmt.executeQuery();
             
-            while (rs.next()) {
-                Order order = extractOrderFromResultSet(rs);
-                // Load order items
-                order.setOrderItems(getOrderItemsByOrderId(order.getOrderId(), conn));
-                orders.add(order);
-            }
+            orders = loadOrdersWithItems(rs, conn);
         } catch (SQLException ex) {
             logger.log(Level.SEVERE, "Error retrieving active orders", ex);
             throw ex;
@@ -189,6 +216,7 @@ public List<Order> getOrdersByDateRange(LocalDate startDate, LocalDate endDate)
         
         try {
             conn = dbManager.getConnection();
+            ChangeLog.ORDERS.ensureTable(conn);
             
             // Begin transaction
             conn.setAutoCommit(false);
@@ -212,8 +240,11 @@ public List<Order> getOrdersByDateRange(LocalDate startDate, LocalDate endDate)
                 }
             }
             
+            ChangeLog.ORDERS.record(conn, order.getOrderId());
+            
             // Commit transaction
             conn.commit();
+            changeFeed.orderChanged();
             return rowsAffected > 0;
         } catch (SQLException ex) {
             // Rollback transaction on error
@@ -249,6 +280,7 @@ public List<Order> getOrdersByDateRange(LocalDate startDate, LocalDate endDate)
         
         try {
             conn = dbManager.getConnection();
+            ChangeLog.ORDERS.ensureTable(conn);
             
             // Begin transaction
             conn.setAutoCommit(false);
@@ -266,8 +298,13 @@ public List<Order> getOrdersByDateRange(LocalDate startDate, LocalDate endDate)
             
             int rowsAffected = stmt.executeUpdate();
             
+            if (rowsAffected > 0) {
+                ChangeLog.ORDERS.record(conn, order.getOrderId());
+            }
+            
             // Commit transaction
             conn.commit();
+            changeFeed.orderChanged();
             return rowsAffected > 0;
         } catch (SQLException ex) {
             // Rollback transaction on error
@@ -303,6 +340,10 @@ public List<Order> getOrdersByDateRange(LocalDate startDate, LocalDate endDate)
         
         try {
             conn = dbManager.getConnection();
+            ChangeLog.ORDERS.ensureTable(conn);
+            
+            // Begin transaction
+            conn.setAutoCommit(false);
             
             // Delete order (CASCADE will delete order items)
             String sql = "DELETE FROM `order` WHERE order_id = ?";
@@ -310,11 +351,35 @@ public List<Order> getOrdersByDateRange(LocalDate startDate, LocalDate endDate)
             stmt.setString(1, id);
             
             int rowsAffected = stmt.executeUpdate();
+            if (rowsAffected > 0) {
+                ChangeLog.ORDERS.record(conn, id);
+            }
+            
+            // Commit transaction
+            conn.commit();
+            if (rowsAffected > 0) {
+                changeFeed.orderChanged();
+            }
             return rowsAffected > 0;
         } catch (SQLException ex) {
+            // Rollback transaction on error
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException e) {
+                    logger.log(Level.SEVERE, "Error rolling back transaction", e);
+                }
+            }
             logger.log(Level.SEVERE, "Error deleting order: " + id, ex);
             throw ex;
         } finally {
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                } catch (SQLException e) {
+                    logger.log(Level.SEVERE, "Error resetting auto-commit", e);
+                }
+            }
             closeResources(conn, stmt, null);
         }
     }
@@ -332,28 +397,54 @@ public List<Order> getOrdersByDateRange(LocalDate startDate, LocalDate endDate)
         
         try {
             conn = dbManager.getConnection();
+            DailySalesRollup.ensureTable(conn);
+            ChangeLog.ORDERS.ensureTable(conn);
             conn.setAutoCommit(false);
             
-            // Get the order to update totals
-            Order order = getById(orderId);
-            if (order == null) {
-                return false;
+            // Lock the order and read its totals for the sales rollup
+            double subtotal;
+            double tax;
+            boolean alreadyPaid;
+            try (PreparedStatement lock = conn.prepareStatement(
+                    "SELECT total_amount, tax_amount, payment_status FROM `order` WHERE order_id = ? FOR UPDATE")) {
+                lock.setString(1, orderId);
+                try (ResultSet rs = lock.executeQuery()) {
+                    if (!rs.next()) {
+                        conn.rollback();
+                        return false;
+                    }
+                    subtotal = rs.getDouble("total_amount");
+                    tax = rs.getDouble("tax_amount");
+                    alreadyPaid = "COMPLETED".equals(rs.getString("payment_status"));
+                }
             }
             
             // Update the order with payment info
+            LocalDateTime paidAt = LocalDateTime.now();
             String sql = "UPDATE `order` SET status = 'PAID', payment_method = ?, " +
                         "payment_status = 'COMPLETED', payment_datetime = ?, tip_amount = ? " +
                         "WHERE order_id = ?";
             stmt = conn.prepareStatement(sql);
             stmt.setString(1, paymentMethod);
-            stmt.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+            stmt.setTimestamp(2, Timestamp.valueOf(paidAt));
             stmt.setDouble(3, tipAmount);
             stmt.setString(4, orderId);
             
             int rowsAffected = stmt.executeUpdate();
             
+            // Count the payment once, even if the order is paid again
+            if (rowsAffected > 0 && !alreadyPaid) {
+                DailySalesRollup.recordPayment(conn, paidAt, paymentMethod, subtotal, tax, tipAmount,
+                                               countCovers(orderId, conn));
+            }
+            
+            if (rowsAffected > 0) {
+                ChangeLog.ORDERS.record(conn, orderId);
+            }
+            
             // Commit transaction
             conn.commit();
+            changeFeed.orderChanged();
             return rowsAffected > 0;
         } catch (SQLException ex) {
             // Rollback transaction on error
@@ -378,15 +469,26 @@ public List<Order> getOrdersByDateRange(LocalDate startDate, LocalDate endDate)
         }
     }
     
+    /**
+     * Count the guests served on an order: one per seat ordered for, at least one
+     */
+    private int countCovers(String orderId, Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT COUNT(DISTINCT seat_number) FROM order_item WHERE order_id = ?")) {
+            stmt.setString(1, orderId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? Math.max(rs.getInt(1), 1) : 1;
+            }
+        }
+    }
+    
     /**
      * Generate a unique order ID
+     * IDs are time-ordered and unique across terminals, see OrderIdGenerator
      * @return Unique order ID
      */
     public String generateOrderId() {
-        // Format: ORD + 7 random digits
-        Random random = new Random();
-        int randomNum = random.nextInt(10000000);
-        return "ORD" + String.format("%07d", randomNum);
+        return orderIdGenerator.nextId();
     }
     
     /**
@@ -401,6 +503,10 @@ public List<Order> getOrdersByDateRange(LocalDate startDate, LocalDate endDate)
 
     try {
         conn = dbManager.getConnection();
+        ChangeLog.ORDERS.ensureTable(conn);
+
+        // Begin transaction
+        conn.setAutoCommit(false);
 
         // SQL to insert the new order item, without specifying order_item_id (auto-incremented by DB)
         String sql = "INSERT INTO order_item (order_id, menu_item_id, quantity, price, special_instructions, seat_number) VALUES (?, ?, ?, ?, ?, ?)";
@@ -415,17 +521,139 @@ public List<Order> getOrdersByDateRange(LocalDate startDate, LocalDate endDate)
         stmt.setInt(6, newItem.getSeatNumber());         // Set the seat number
 
         int rowsAffected = stmt.executeUpdate();         // Execute the insert
+        if (rowsAffected > 0) {
+            ChangeLog.ORDERS.record(conn, orderId);
+        }
+
+        // Commit transaction
+        conn.commit();
+        if (rowsAffected > 0) {
+            changeFeed.orderChanged();
+        }
         return rowsAffected > 0;                         // Return true if the insert was successful
     } catch (SQLException ex) {
+        // Rollback transaction on error
+        if (conn != null) {
+            try {
+                conn.rollback();
+            } catch (SQLException e) {
+                logger.log(Level.SEVERE, "Error rolling back transaction", e);
+            }
+        }
         logger.log(Level.SEVERE, "Error adding order item", ex);
         throw ex;  // Re-throw the exception for further handling
     } finally {
+        if (conn != null) {
+            try {
+                conn.setAutoCommit(true);
+            } catch (SQLException e) {
+                logger.log(Level.SEVERE, "Error resetting auto-commit", e);
+            }
+        }
         closeResources(conn, stmt, null);  // Always close resources after use
     }
 }
 
 
     
+    /**
+     * Add several items to an order in one transaction
+     * The rows are written with a single JDBC batch, the order totals are
+     * recalculated, and the refreshed order is read back on the same connection
+     * @param orderId Order ID
+     * @param items Order items to add
+     * @return The updated order with all of its items, or null if the order does not exist
+     */
+    public Order addItemsToOrder(String orderId, List<OrderItem> items) throws SQLException {
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        PreparedStatement totalsStmt = null;
+        ResultSet rs = null;
+        
+        try {
+            conn = dbManager.getConnection();
+            ChangeLog.ORDERS.ensureTable(conn);
+            
+            // Begin transaction
+            conn.setAutoCommit(false);
+            
+            // Lock the order row so concurrent additions cannot interleave totals
+            stmt = conn.prepareStatement("SELECT * FROM `order` WHERE order_id = ? FOR UPDATE");
+            stmt.setString(1, orderId);
+            rs = stmt.executeQuery();
+            Order order = ORDER_MAPPER.mapFirst(rs);
+            rs.close();
+            rs = null;
+            stmt.close();
+            stmt = null;
+            if (order == null) {
+                conn.rollback();
+                return null;
+            }
+            
+            if (!items.isEmpty()) {
+                String sql = "INSERT INTO order_item (order_id, menu_item_id, quantity, price, special_instructions, seat_number) VALUES (?, ?, ?, ?, ?, ?)";
+                stmt = conn.prepareStatement(sql);
+                for (OrderItem item : items) {
+                    item.setOrderId(orderId);
+                    stmt.setString(1, orderId);
+                    stmt.setString(2, item.getMenuItemId());
+                    stmt.setInt(3, item.getQuantity());
+                    stmt.setDouble(4, item.getPrice());
+                    stmt.setString(5, item.getSpecialInstructions());
+                    stmt.setInt(6, item.getSeatNumber());
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+            
+            // Reload the items and store the new totals
+            order.setOrderItems(getOrderItemsByOrderId(orderId, conn));
+            order.setTotalAmount(order.calculateSubtotal());
+            order.setTaxAmount(order.calculateTax());
+            
+            totalsStmt = conn.prepareStatement("UPDATE `order` SET total_amount = ?, tax_amount = ? WHERE order_id = ?");
+            totalsStmt.setDouble(1, order.getTotalAmount());
+            totalsStmt.setDouble(2, order.getTaxAmount());
+            totalsStmt.setString(3, orderId);
+            totalsStmt.executeUpdate();
+            
+            ChangeLog.ORDERS.record(conn, orderId);
+            
+            // Commit transaction
+            conn.commit();
+            changeFeed.orderChanged();
+            return order;
+        } catch (SQLException ex) {
+            // Rollback transaction on error
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException e) {
+                    logger.log(Level.SEVERE, "Error rolling back transaction", e);
+                }
+            }
+            logger.log(Level.SEVERE, "Error adding " + items.size() + " items to order: " + orderId, ex);
+            throw ex;
+        } finally {
+            if (totalsStmt != null) {
+                try {
+                    totalsStmt.close();
+                } catch (SQLException e) {
+                    logger.log(Level.WARNING, "Error closing statement", e);
+                }
+            }
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                } catch (SQLException e) {
+                    logger.log(Level.SEVERE, "Error resetting auto-commit", e);
+                }
+            }
+            closeResources(conn, stmt, rs);
+        }
+    }
+    
     /**
      * Delete an order item from the database
      * @param orderItemId The ID of the order item to delete
@@ -437,16 +665,46 @@ public List<Order> getOrdersByDateRange(LocalDate startDate, LocalDate endDate)
 
     try {
         conn = dbManager.getConnection();
+        ChangeLog.ORDERS.ensureTable(conn);
+
+        // Begin transaction
+        conn.setAutoCommit(false);
+
+        // Log the change first, while the item still points at its order
+        ChangeLog.ORDERS.recordFrom(conn, "order_item", "order_item_id", orderItemId);
         String sql = "DELETE FROM order_item WHERE order_item_id = ?";
         stmt = conn.prepareStatement(sql);
         stmt.setInt(1, orderItemId);
 
         int rowsAffected = stmt.executeUpdate();
-        return rowsAffected > 0;
+        if (rowsAffected == 0) {
+            conn.rollback();
+            return false;
+        }
+
+        // Commit transaction
+        conn.commit();
+        changeFeed.orderChanged();
+        return true;
     } catch (SQLException ex) {
+        // Rollback transaction on error
+        if (conn != null) {
+            try {
+                conn.rollback();
+            } catch (SQLException e) {
+                logger.log(Level.SEVERE, "Error rolling back transaction", e);
+            }
+        }
         logger.log(Level.SEVERE, "Error deleting order item: " + orderItemId, ex);
         throw ex;
     } finally {
+        if (conn != null) {
+            try {
+                conn.setAutoCommit(true);
+            } catch (SQLException e) {
+                logger.log(Level.SEVERE, "Error resetting auto-commit", e);
+            }
+        }
         closeResources(conn, stmt, null);
     }
 }
@@ -463,17 +721,46 @@ public List<Order> getOrdersByDateRange(LocalDate startDate, LocalDate endDate)
         
         try {
             conn = dbManager.getConnection();
+            ChangeLog.ORDERS.ensureTable(conn);
+            
+            // Begin transaction
+            conn.setAutoCommit(false);
+            
             String sql = "UPDATE `order` SET status = ? WHERE order_id = ?";
             stmt = conn.prepareStatement(sql);
             stmt.setString(1, status);
             stmt.setString(2, orderId);
             
             int rowsAffected = stmt.executeUpdate();
+            if (rowsAffected > 0) {
+                ChangeLog.ORDERS.record(conn, orderId);
+            }
+            
+            // Commit transaction
+            conn.commit();
+            if (rowsAffected > 0) {
+                changeFeed.orderChanged();
+            }
             return rowsAffected > 0;
         } catch (SQLException ex) {
+            // Rollback transaction on error
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException e) {
+                    logger.log(Level.SEVERE, "Error rolling back transaction", e);
+                }
+            }
             logger.log(Level.SEVERE, "Error updating order status: " + orderId, ex);
             throw ex;
         } finally {
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                } catch (SQLException e) {
+                    logger.log(Level.SEVERE, "Error resetting auto-commit", e);
+                }
+            }
             closeResources(conn, stmt, null);
         }
     }
@@ -508,10 +795,7 @@ public List<Order> getOrdersByDateRange(LocalDate startDate, LocalDate endDate)
             stmt.setString(1, orderId);
             rs = stmt.executeQuery();
             
-            while (rs.next()) {
-                OrderItem item = extractOrderItemFromResultSet(rs);
-                items.add(item);
-            }
+            items = ORDER_ITEM_MAPPER.mapAll(rs);
         } catch (SQLException ex) {
             logger.log(Level.SEVERE, "Error retrieving order items for order: " + orderId, ex);
             throw ex;
@@ -529,70 +813,167 @@ public List<Order> getOrdersByDateRange(LocalDate startDate, LocalDate endDate)
     }
     
     /**
-     * Extract an Order object from a ResultSet
-     * @param rs ResultSet containing order data
-     * @return Order object
+     * Read every order in a ResultSet and attach its items.
+     * Items for all orders are fetched with IN-list queries of up to
+     * ITEM_BATCH_SIZE order IDs, so the number of round trips does not grow
+     * with the number of orders on screen.
+     * @param rs ResultSet positioned before the first order row
+     * @param conn Connection used to load the items
+     * @return Orders in ResultSet order, each with its items
      */
-    private Order extractOrderFromResultSet(ResultSet rs) throws SQLException {
-        Order order = new Order();
-        
-        order.setOrderId(rs.getString("order_id"));
-        order.setTableId(rs.getString("table_id"));
-        order.setWaiterId(rs.getString("waiter_id"));
-        
-        Timestamp orderDatetime = rs.getTimestamp("order_datetime");
-        if (orderDatetime != null) {
-            order.setOrderDateTime(orderDatetime.toLocalDateTime());
-        } else {
-            order.setOrderDateTime(LocalDateTime.now());
+    private List<Order> loadOrdersWithItems(ResultSet rs, Connection conn) throws SQLException {
+        Map<String, Order> ordersById = new LinkedHashMap<>();
+        for (Order order : ORDER_MAPPER.mapAll(rs)) {
+            ordersById.put(order.getOrderId(), order);
         }
-        
-        order.setStatus(rs.getString("status"));
-        order.setTotalAmount(rs.getDouble("total_amount"));
-        order.setTaxAmount(rs.getDouble("tax_amount"));
-        order.setTipAmount(rs.getDouble("tip_amount"));
-        order.setPaymentMethod(rs.getString("payment_method"));
-        order.setPaymentStatus(rs.getString("payment_status"));
-        
-        order.setPaymentStatus(rs.getString("payment_status"));
-        
-        Timestamp paymentDatetime = rs.getTimestamp("payment_datetime");
-        if (paymentDatetime != null) {
-            order.setPaymentDateTime(paymentDatetime.toLocalDateTime());
+
+        List<String> orderIds = new ArrayList<>(ordersById.keySet());
+        for (int start = 0; start < orderIds.size(); start += ITEM_BATCH_SIZE) {
+            List<String> batch = orderIds.subList(start, Math.min(start + ITEM_BATCH_SIZE, orderIds.size()));
+            loadOrderItemsInto(ordersById, batch, conn);
+        }
+
+        return new ArrayList<>(ordersById.values());
+    }
+
+    /**
+     * Load the items of a batch of orders in one query and add them to their orders
+     * @param ordersById Orders to fill, keyed by order ID
+     * @param orderIds IDs of the orders in this batch
+     * @param conn Existing database connection
+     */
+    private void loadOrderItemsInto(Map<String, Order> ordersById, List<String> orderIds, Connection conn) throws SQLException {
+        StringBuilder sql = new StringBuilder(
+                "SELECT oi.*, mi.name as menu_item_name " +
+                "FROM order_item oi " +
+                "JOIN menu_item mi ON oi.menu_item_id = mi.item_id " +
+                "WHERE oi.order_id IN (");
+        for (int i = 0; i < orderIds.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(") ORDER BY oi.order_id, oi.order_item_id");
+
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+        try {
+            stmt = conn.prepareStatement(sql.toString());
+            for (int i = 0; i < orderIds.size(); i++) {
+                stmt.setString(i + 1, orderIds.get(i));
+            }
+            rs = stmt.executeQuery();
+
+            RowMapper<OrderItem>.Binding itemMapper = ORDER_ITEM_MAPPER.bind(rs);
+            while (rs.next()) {
+                OrderItem item = itemMapper.map();
+                Order order = ordersById.get(item.getOrderId());
+                if (order != null) {
+                    order.getOrderItems().add(item);
+                }
+            }
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error retrieving order items for " + orderIds.size() + " orders", ex);
+            throw ex;
+        } finally {
+            if (rs != null) rs.close();
+            if (stmt != null) stmt.close();
         }
-        
-        return order;
     }
     
     /**
-     * Extract an OrderItem object from a ResultSet
-     * @param rs ResultSet containing order item data
-     * @return OrderItem object
+     * Maps `order` rows to Order objects
      */
-    private OrderItem extractOrderItemFromResultSet(ResultSet rs) throws SQLException {
-        OrderItem item = new OrderItem();
-        
-        item.setOrderItemId(rs.getInt("order_item_id"));
-        item.setOrderId(rs.getString("order_id"));
-        item.setMenuItemId(rs.getString("menu_item_id"));
-        item.setMenuItemName(rs.getString("menu_item_name"));
-        item.setQuantity(rs.getInt("quantity"));
-        item.setSeatNumber(rs.getInt("seat_number"));
-        item.setPrice(rs.getDouble("price"));
-        item.setSpecialInstructions(rs.getString("special_instructions"));
-        item.setStatus(rs.getString("status"));
-        
-        Timestamp prepStartTime = rs.getTimestamp("preparation_start_time");
-        if (prepStartTime != null) {
-            item.setPreparationStartTime(prepStartTime.toLocalDateTime());
+    private static final class OrderMapper extends RowMapper<Order> {
+        private static final int ORDER_ID = 0;
+        private static final int TABLE_ID = 1;
+        private static final int WAITER_ID = 2;
+        private static final int ORDER_DATETIME = 3;
+        private static final int STATUS = 4;
+        private static final int TOTAL_AMOUNT = 5;
+        private static final int TAX_AMOUNT = 6;
+        private static final int TIP_AMOUNT = 7;
+        private static final int PAYMENT_METHOD = 8;
+        private static final int PAYMENT_STATUS = 9;
+        private static final int PAYMENT_DATETIME = 10;
+
+        OrderMapper() {
+            super("order_id", "table_id", "waiter_id", "order_datetime", "status", "total_amount",
+                  "tax_amount", "tip_amount", "payment_method", "payment_status", "payment_datetime");
         }
-        
-        Timestamp completionTime = rs.getTimestamp("completion_time");
-        if (completionTime != null) {
-            item.setCompletionTime(completionTime.toLocalDateTime());
+
+        @Override
+        protected Order mapRow(Row row) throws SQLException {
+            Order order = new Order();
+
+            order.setOrderId(row.getString(ORDER_ID));
+            order.setTableId(row.getString(TABLE_ID));
+            order.setWaiterId(row.getString(WAITER_ID));
+
+            LocalDateTime orderDatetime = row.getLocalDateTime(ORDER_DATETIME);
+            order.setOrderDateTime(orderDatetime != null ? orderDatetime : LocalDateTime.now());
+
+            order.setStatus(row.getString(STATUS));
+            order.setTotalAmount(row.getDouble(TOTAL_AMOUNT));
+            order.setTaxAmount(row.getDouble(TAX_AMOUNT));
+            order.setTipAmount(row.getDouble(TIP_AMOUNT));
+            order.setPaymentMethod(row.getString(PAYMENT_METHOD));
+            order.setPaymentStatus(row.getString(PAYMENT_STATUS));
+
+            LocalDateTime paymentDatetime = row.getLocalDateTime(PAYMENT_DATETIME);
+            if (paymentDatetime != null) {
+                order.setPaymentDateTime(paymentDatetime);
+            }
+
+            return order;
+        }
+    }
+
+    /**
+     * Maps order_item rows (joined with the menu item name) to OrderItem objects
+     */
+    private static final class OrderItemMapper extends RowMapper<OrderItem> {
+        private static final int ORDER_ITEM_ID = 0;
+        private static final int ORDER_ID = 1;
+        private static final int MENU_ITEM_ID = 2;
+        private static final int MENU_ITEM_NAME = 3;
+        private static final int QUANTITY = 4;
+        private static final int SEAT_NUMBER = 5;
+        private static final int PRICE = 6;
+        private static final int SPECIAL_INSTRUCTIONS = 7;
+        private static final int STATUS = 8;
+        private static final int PREPARATION_START_TIME = 9;
+        private static final int COMPLETION_TIME = 10;
+
+        OrderItemMapper() {
+            super("order_item_id", "order_id", "menu_item_id", "menu_item_name", "quantity", "seat_number",
+                  "price", "special_instructions", "status", "preparation_start_time", "completion_time");
+        }
+
+        @Override
+        protected OrderItem mapRow(Row row) throws SQLException {
+            OrderItem item = new OrderItem();
+
+            item.setOrderItemId(row.getInt(ORDER_ITEM_ID));
+            item.setOrderId(row.getString(ORDER_ID));
+            item.setMenuItemId(row.getString(MENU_ITEM_ID));
+            item.setMenuItemName(row.getString(MENU_ITEM_NAME));
+            item.setQuantity(row.getInt(QUANTITY));
+            item.setSeatNumber(row.getInt(SEAT_NUMBER));
+            item.setPrice(row.getDouble(PRICE));
+            item.setSpecialInstructions(row.getString(SPECIAL_INSTRUCTIONS));
+            item.setStatus(row.getString(STATUS));
+
+            LocalDateTime prepStartTime = row.getLocalDateTime(PREPARATION_START_TIME);
+            if (prepStartTime != null) {
+                item.setPreparationStartTime(prepStartTime);
+            }
+
+            LocalDateTime completionTime = row.getLocalDateTime(COMPLETION_TIME);
+            if (completionTime != null) {
+                item.setCompletionTime(completionTime);
+            }
+
+            return item;
         }
-        
-        return item;
     }
     
     /**
@@ -669,12 +1050,7 @@ public List<Order> getOrdersByWaiter(String waiterId) throws SQLException {
         stmt.setString(1, waiterId);
         rs = stmt.executeQuery();
         
-        while (rs.next()) {
-            Order order = extractOrderFromResultSet(rs);
-            // Load order items
-            order.setOrderItems(getOrderItemsByOrderId(order.getOrderId(), conn));
-            orders.add(order);
-        }
+        orders = loadOrdersWithItems(rs, conn);
     } catch (SQLException ex) {
         logger.log(Level.SEVERE, "Error retrieving orders by waiter: " + waiterId, ex);
         throw ex;
@@ -750,6 +1126,10 @@ public List<Order> getOrdersByWaiter(String waiterId) throws SQLException {
 
     try {
         conn = dbManager.getConnection();
+        ChangeLog.ORDERS.ensureTable(conn);
+
+        // Begin transaction
+        conn.setAutoCommit(false);
 
         String sql = "UPDATE order_item SET quantity = ?, price = ? WHERE order_item_id = ?";
         stmt = conn.prepareStatement(sql);
@@ -758,52 +1138,69 @@ public List<Order> getOrdersByWaiter(String waiterId) throws SQLException {
         stmt.setInt(3, item.getOrderItemId()); // Update based on order item ID
 
         int rowsAffected = stmt.executeUpdate();
+        if (rowsAffected > 0) {
+            ChangeLog.ORDERS.recordFrom(conn, "order_item", "order_item_id", item.getOrderItemId());
+        }
+
+        // Commit transaction
+        conn.commit();
+        if (rowsAffected > 0) {
+            changeFeed.orderChanged();
+        }
         return rowsAffected > 0;
     } catch (SQLException ex) {
+        // Rollback transaction on error
+        if (conn != null) {
+            try {
+                conn.rollback();
+            } catch (SQLException e) {
+                logger.log(Level.SEVERE, "Error rolling back transaction", e);
+            }
+        }
         logger.log(Level.SEVERE, "Error updating order item: " + item.getOrderItemId(), ex);
         throw ex;
     } finally {
+        if (conn != null) {
+            try {
+                conn.setAutoCommit(true);
+            } catch (SQLException e) {
+                logger.log(Level.SEVERE, "Error resetting auto-commit", e);
+            }
+        }
         closeResources(conn, stmt, null);
     }
 }
 
 
 
-    public List<Order> getActiveOrdersByTable(String tableId) {
-    List<Order> activeOrders = new ArrayList<>();
-    Connection conn = null;
-    PreparedStatement stmt = null;
-    ResultSet rs = null;
+    /**
+     * Get active orders (not paid or cancelled) for a table
+     * @param tableId Table ID
+     * @return List of active orders for the table, with their items
+     */
+    public List<Order> getActiveOrdersByTable(String tableId) throws SQLException {
+        List<Order> activeOrders = new ArrayList<>();
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
 
-    try {
-        conn = dbManager.getConnection();
-        
-        // SQL to fetch active orders for a given table (status is not 'PAID' or 'CANCELED')
-        String sql = "SELECT * FROM orders WHERE table_id = ? AND status NOT IN ('PAID', 'CANCELED')";
-        stmt = conn.prepareStatement(sql);
-        stmt.setString(1, tableId);
+        try {
+            conn = dbManager.getConnection();
+            String sql = "SELECT * FROM `order` WHERE table_id = ? AND status NOT IN ('PAID', 'CANCELLED')";
+            stmt = conn.prepareStatement(sql);
+            stmt.setString(1, tableId);
+            rs = stmt.executeQuery();
 
-        rs = stmt.executeQuery();
-        
-        // Process the result set and create Order objects
-        while (rs.next()) {
-            String orderId = rs.getString("order_id");
-            String waiterId = rs.getString("waiter_id");
-            String status = rs.getString("status");
-            Order order = new Order(orderId, tableId, waiterId);
-            order.setStatus(status);
-            
-            // Add any additional data from the result set (e.g., items in the order)
-            activeOrders.add(order);
+            activeOrders = loadOrdersWithItems(rs, conn);
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error getting active orders by table: " + tableId, ex);
+            throw ex;
+        } finally {
+            closeResources(conn, stmt, rs);
         }
-    } catch (SQLException ex) {
-        logger.log(Level.SEVERE, "Error getting active orders by table", ex);
-    } finally {
-        closeResources(conn, stmt, rs);
-    }
 
-    return activeOrders;
-}
+        return activeOrders;
+    }
 
     
 
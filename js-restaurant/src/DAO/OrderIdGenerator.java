@@ -0,0 +1,80 @@
+package DAO;
+
+import java.time.Instant;
+
+/**
+ * Generates time-ordered, collision-free order IDs.
+ *
+ * IDs keep the "ORD" + digits format and use a Snowflake-style layout:
+ *   41 bits  milliseconds since 2025-01-01T00:00:00Z (about 69 years)
+ *   10 bits  terminal ID (0-1023)
+ *   12 bits  per-millisecond sequence (4096 IDs per ms per terminal)
+ * The number is zero-padded to 19 digits so string order matches numeric
+ * order, which keeps inserts at the end of the `order` primary key index.
+ *
+ * The terminal ID comes from db.terminal_id in database.properties (or the
+ * DB_TERMINAL_ID environment variable). Every terminal sharing a database
+ * must use a different value. It is required: DatabaseManager refuses to
+ * start without it rather than guess one that may clash with another terminal.
+ */
+public class OrderIdGenerator {
+    private static final String PREFIX = "ORD";
+    private static final long EPOCH_MILLIS = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+
+    private static final int TERMINAL_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    static final long MAX_TERMINAL_ID = (1L << TERMINAL_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long terminalId;
+    private long lastTimestamp = -1L;
+    private long sequence = 0L;
+
+    /**
+     * @param terminalId Unique ID of this terminal, 0-1023
+     */
+    public OrderIdGenerator(long terminalId) {
+        if (terminalId < 0 || terminalId > MAX_TERMINAL_ID) {
+            throw new IllegalArgumentException("Terminal ID must be between 0 and " + MAX_TERMINAL_ID + ": " + terminalId);
+        }
+        this.terminalId = terminalId;
+    }
+
+    /**
+     * Create a generator for this terminal using the configured terminal ID
+     * @param config Database configuration
+     * @return Order ID generator
+     */
+    public static OrderIdGenerator forTerminal(DatabaseConfig config) {
+        return new OrderIdGenerator(config.getTerminalId());
+    }
+
+    /**
+     * Generate the next order ID
+     * @return Unique order ID, greater than every ID previously returned by this generator
+     */
+    public synchronized String nextId() {
+        long timestamp = System.currentTimeMillis() - EPOCH_MILLIS;
+
+        // Never go backwards, even if the wall clock is adjusted
+        if (timestamp < lastTimestamp) {
+            timestamp = lastTimestamp;
+        }
+
+        if (timestamp == lastTimestamp) {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            if (sequence == 0) {
+                // Sequence exhausted for this millisecond: move on to the next one
+                timestamp = lastTimestamp + 1;
+            }
+        } else {
+            sequence = 0L;
+        }
+        lastTimestamp = timestamp;
+
+        long id = (timestamp << (TERMINAL_BITS + SEQUENCE_BITS))
+                | (terminalId << SEQUENCE_BITS)
+                | sequence;
+        return PREFIX + String.format("%019d", id);
+    }
+}
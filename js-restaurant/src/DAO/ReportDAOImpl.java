@@ -2,35 +2,73 @@ package DAO;
 
 import Model.TopSellerItem;
 import Model.KitchenPerformanceItem;
-import Model.Order;
-import Model.OrderItem;
-import Model.MenuItem;
 import java.sql.Connection;
+import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import utils.CacheMetrics;
+import utils.MetricsRegistry;
 
 /**
  * Implementation of ReportDAO for generating reports
+ *
+ * Every report is computed per business day. A day is closed once CLOSE_GRACE
+ * has passed since it ended, leaving time for late payments and tickets to
+ * be saved; closed days can no longer change, so their results are cached,
+ * keyed by report, filters and day. Only open days and any days not seen
+ * before are queried, each run of consecutive missing days in a single
+ * query. The per-day results are then merged into the requested range, so a
+ * 90-day report costs one day's query once the earlier days have been loaded.
+ *
+ * Kitchen figures are counted on the day an item was completed, not the day
+ * it was ordered, so a ticket finished after midnight does not change a day
+ * that is already closed.
+ *
+ * When closed days do change, e.g. after the offline journal was replayed,
+ * invalidate() logs it in report_change; every terminal checks that log
+ * before answering a report and clears its cache when there is a new entry.
+ *
+ * Revenue and customer figures come from the daily_sales rollup maintained
+ * by OrderDAO.processPayment rather than from the order table.
  */
 public class ReportDAOImpl implements ReportDAOint {
     private static final Logger logger = Logger.getLogger(ReportDAOImpl.class.getName());
     private static ReportDAOImpl instance;
+    // How long after midnight a day is still treated as open
+    private static final Duration CLOSE_GRACE = Duration.ofHours(1);
+    private static final long PURGE_INTERVAL = 3600000; // 1 hour in milliseconds
+    private static final int LOG_RETENTION_DAYS = 1;
+    private static final int MAX_CHANGES_PER_CHECK = 100;
     private final DatabaseManager dbManager;
-    
+    private final SqlDialect dialect;
+
+    private final DayCache<Double> revenueCache = new DayCache<>("revenue");
+    private final DayCache<Integer> customerCountCache = new DayCache<>("customers");
+    private final DayCache<List<TopSellerItem>> topSellerCache = new DayCache<>("top-sellers");
+    private final DayCache<List<KitchenStats>> kitchenCache = new DayCache<>("kitchen");
+    private ChangeLog.Cursor changeCursor; // guarded by this, position in report_change
+    private long lastPurge;                // guarded by this
+
     private ReportDAOImpl() {
         this.dbManager = DatabaseManager.getInstance();
+        this.dialect = dbManager.getDialect();
     }
-    
+
     // Get singleton instance
     public static synchronized ReportDAOImpl getInstance() {
         if (instance == null) {
@@ -38,20 +76,96 @@ public class ReportDAOImpl implements ReportDAOint {
         }
         return instance;
     }
-    
+
+    /**
+     * Forget all cached results, e.g. after orders were added to past days,
+     * on this terminal and, through report_change, on every other one
+     */
+    public void invalidate() {
+        clearCaches();
+        try (Connection conn = dbManager.getConnection()) {
+            ChangeLog.REPORTS.ensureTable(conn);
+            ChangeLog.REPORTS.record(conn, "ALL");
+        } catch (SQLException e) {
+            logger.log(Level.WARNING, "Could not tell other terminals to clear their report cache", e);
+        }
+    }
+
+    private void clearCaches() {
+        revenueCache.clear();
+        customerCountCache.clear();
+        topSellerCache.clear();
+        kitchenCache.clear();
+        logger.info("Report cache cleared");
+    }
+
+    /**
+     * Clear the cache if another terminal invalidated it since the last check
+     */
+    private synchronized void followInvalidations() throws SQLException {
+        try (Connection conn = dbManager.getConnection()) {
+            if (changeCursor == null) {
+                // Nothing is cached yet that an earlier entry could affect
+                changeCursor = ChangeLog.REPORTS.startCursor(conn);
+                return;
+            }
+            Map<Long, String> changes = changeCursor.read(conn, MAX_CHANGES_PER_CHECK);
+            if (changeCursor.isLost()) {
+                changeCursor = ChangeLog.REPORTS.startCursor(conn);
+                clearCaches();
+            } else if (!changes.isEmpty()) {
+                changeCursor.markSeen(changes.keySet());
+                clearCaches();
+            }
+
+            long now = System.currentTimeMillis();
+            if (now - lastPurge > PURGE_INTERVAL) {
+                lastPurge = now;
+                ChangeLog.REPORTS.purgeBefore(conn, LocalDateTime.now().minusDays(LOG_RETENTION_DAYS));
+            }
+        }
+    }
+
     @Override
     public List<TopSellerItem> getTopSellingItems(LocalDate startDate, LocalDate endDate, int limit) throws SQLException {
-        List<TopSellerItem> topSellers = new ArrayList<>();
+        followInvalidations();
+        Map<LocalDate, List<TopSellerItem>> byDay =
+                topSellerCache.get("", startDate, endDate, this::queryTopSellersByDay);
+
+        // Merge the days; an order is paid on one day, so order counts add up
+        Map<String, TopSellerItem> merged = new LinkedHashMap<>();
+        for (List<TopSellerItem> dayItems : byDay.values()) {
+            for (TopSellerItem item : dayItems) {
+                TopSellerItem total = merged.get(item.getItemId());
+                if (total == null) {
+                    merged.put(item.getItemId(), new TopSellerItem(item.getItemId(), item.getItemName(),
+                            item.getCategoryName(), item.getOrderCount(), item.getQuantity(), item.getRevenue()));
+                } else {
+                    total.setOrderCount(total.getOrderCount() + item.getOrderCount());
+                    total.setQuantity(total.getQuantity() + item.getQuantity());
+                    total.setRevenue(total.getRevenue() + item.getRevenue());
+                }
+            }
+        }
+
+        List<TopSellerItem> topSellers = new ArrayList<>(merged.values());
+        topSellers.sort((a, b) -> Integer.compare(b.getQuantity(), a.getQuantity()));
+        return topSellers.size() > limit ? new ArrayList<>(topSellers.subList(0, limit)) : topSellers;
+    }
+
+    private Map<LocalDate, List<TopSellerItem>> queryTopSellersByDay(LocalDate startDate, LocalDate endDate) throws SQLException {
+        Map<LocalDate, List<TopSellerItem>> byDay = new HashMap<>();
         Connection conn = null;
         PreparedStatement stmt = null;
         ResultSet rs = null;
-        
+
         try {
             conn = dbManager.getConnection();
-            
-            // SQL query to get top selling items
-            String sql = 
-                "SELECT mi.item_id, mi.name, mc.name as category_name, " +
+
+            // SQL query to get item sales per day
+            String saleDate = dialect.dateOf("o.payment_datetime");
+            String sql =
+                "SELECT " + saleDate + " as sale_date, mi.item_id, mi.name, mc.name as category_name, " +
                 "COUNT(DISTINCT oi.order_id) as order_count, " +
                 "SUM(oi.quantity) as total_quantity, " +
                 "SUM(oi.quantity * oi.price) as total_revenue " +
@@ -60,19 +174,16 @@ public class ReportDAOImpl implements ReportDAOint {
                 "JOIN menu_category mc ON mi.category_id = mc.category_id " +
                 "JOIN `order` o ON oi.order_id = o.order_id " +
                 "WHERE o.payment_status = 'COMPLETED' " +
-                "AND DATE(o.payment_datetime) BETWEEN ? AND ? " +
-                "GROUP BY mi.item_id " +
-                "ORDER BY total_quantity DESC " +
-                "LIMIT ?";
-            
+                "AND o.payment_datetime >= ? AND o.payment_datetime < ? " +
+                "GROUP BY " + saleDate + ", mi.item_id, mi.name, mc.name";
+
             stmt = conn.prepareStatement(sql);
-            stmt.setDate(1, java.sql.Date.valueOf(startDate));
-            stmt.setDate(2, java.sql.Date.valueOf(endDate));
-            stmt.setInt(3, limit);
+            setDateRange(stmt, 1, startDate, endDate);
             rs = stmt.executeQuery();
-            
+
             while (rs.next()) {
-                topSellers.add(new TopSellerItem(
+                LocalDate date = rs.getDate("sale_date").toLocalDate();
+                byDay.computeIfAbsent(date, d -> new ArrayList<>()).add(new TopSellerItem(
                     rs.getString("item_id"),
                     rs.getString("name"),
                     rs.getString("category_name"),
@@ -87,81 +198,113 @@ public class ReportDAOImpl implements ReportDAOint {
         } finally {
             closeResources(conn, stmt, rs);
         }
-        
-        return topSellers;
+
+        return byDay;
     }
-    
+
     @Override
     public List<KitchenPerformanceItem> getKitchenPerformance(
-            LocalDate startDate, LocalDate endDate, 
+            LocalDate startDate, LocalDate endDate,
             String categoryFilter, String staffFilter) throws SQLException {
-        
+
+        String category = categoryFilter != null && !categoryFilter.equals("All Categories") ? categoryFilter : null;
+        String staff = staffFilter != null && !staffFilter.equals("All Staff") ? staffFilter : null;
+        followInvalidations();
+
+        Map<LocalDate, List<KitchenStats>> byDay = kitchenCache.get(category + "|" + staff, startDate, endDate,
+                (from, to) -> queryKitchenStatsByDay(from, to, category, staff));
+
+        // Merge the days, weighting each day's average by its number of items
+        Map<String, KitchenStats> merged = new LinkedHashMap<>();
+        for (List<KitchenStats> dayStats : byDay.values()) {
+            for (KitchenStats stats : dayStats) {
+                KitchenStats total = merged.get(stats.itemId);
+                if (total == null) {
+                    merged.put(stats.itemId, stats.copy());
+                } else {
+                    total.orderCount += stats.orderCount;
+                    total.totalPrepSeconds += stats.totalPrepSeconds;
+                }
+            }
+        }
+
         List<KitchenPerformanceItem> performanceItems = new ArrayList<>();
+        for (KitchenStats stats : merged.values()) {
+            // Convert seconds to minutes
+            double avgPrepTimeMinutes = stats.totalPrepSeconds / stats.orderCount / 60.0;
+            performanceItems.add(new KitchenPerformanceItem(stats.itemId, stats.itemName, stats.categoryName,
+                    avgPrepTimeMinutes, stats.targetTime, stats.orderCount));
+        }
+        performanceItems.sort((a, b) -> Integer.compare(b.getOrderCount(), a.getOrderCount()));
+        return performanceItems;
+    }
+
+    private Map<LocalDate, List<KitchenStats>> queryKitchenStatsByDay(
+            LocalDate startDate, LocalDate endDate, String category, String staff) throws SQLException {
+
+        Map<LocalDate, List<KitchenStats>> byDay = new HashMap<>();
         Connection conn = null;
         PreparedStatement stmt = null;
         ResultSet rs = null;
-        
+
         try {
             conn = dbManager.getConnection();
-            
+
+            // Counted on the day the item was completed, which cannot be a closed day
+            String completionDate = dialect.dateOf("oi.completion_time");
             StringBuilder sql = new StringBuilder(
-                "SELECT mi.item_id, mi.name, mc.name as category_name, " +
+                "SELECT " + completionDate + " as completion_date, mi.item_id, mi.name, mc.name as category_name, " +
                 "mi.preparation_time as target_time, " +
                 "COUNT(oi.order_item_id) as order_count, " +
-                "AVG(TIMESTAMPDIFF(SECOND, oi.preparation_start_time, oi.completion_time)) as avg_prep_time_seconds " +
+                "SUM(TIMESTAMPDIFF(SECOND, oi.preparation_start_time, oi.completion_time)) as total_prep_time_seconds " +
                 "FROM order_item oi " +
                 "JOIN menu_item mi ON oi.menu_item_id = mi.item_id " +
                 "JOIN menu_category mc ON mi.category_id = mc.category_id " +
                 "JOIN `order` o ON oi.order_id = o.order_id " +
                 "WHERE oi.preparation_start_time IS NOT NULL " +
                 "AND oi.completion_time IS NOT NULL " +
-                "AND DATE(o.order_datetime) BETWEEN ? AND ? ");
-            
+                "AND oi.completion_time >= ? AND oi.completion_time < ? ");
+
             // Add category filter if specified
-            if (categoryFilter != null && !categoryFilter.equals("All Categories")) {
+            if (category != null) {
                 sql.append("AND mc.name = ? ");
             }
-            
+
             // Add staff filter if specified
-            if (staffFilter != null && !staffFilter.equals("All Staff")) {
+            if (staff != null) {
                 sql.append("AND o.waiter_id = ? ");
             }
-            
-            sql.append(
-                "GROUP BY mi.item_id " +
-                "ORDER BY order_count DESC");
-            
+
+            sql.append("GROUP BY " + completionDate + ", mi.item_id, mi.name, mc.name, mi.preparation_time");
+
             stmt = conn.prepareStatement(sql.toString());
             int paramIndex = 1;
-            
+
             // Set date parameters
-            stmt.setDate(paramIndex++, java.sql.Date.valueOf(startDate));
-            stmt.setDate(paramIndex++, java.sql.Date.valueOf(endDate));
-            
+            paramIndex = setDateRange(stmt, paramIndex, startDate, endDate);
+
             // Set category filter parameter if specified
-            if (categoryFilter != null && !categoryFilter.equals("All Categories")) {
-                stmt.setString(paramIndex++, categoryFilter);
+            if (category != null) {
+                stmt.setString(paramIndex++, category);
             }
-            
+
             // Set staff filter parameter if specified
-            if (staffFilter != null && !staffFilter.equals("All Staff")) {
-                stmt.setString(paramIndex++, staffFilter);
+            if (staff != null) {
+                stmt.setString(paramIndex++, staff);
             }
-            
+
             rs = stmt.executeQuery();
-            
+
             while (rs.next()) {
-                // Convert seconds to minutes
-                double avgPrepTimeMinutes = rs.getDouble("avg_prep_time_seconds") / 60.0;
-                
-                performanceItems.add(new KitchenPerformanceItem(
-                    rs.getString("item_id"),
-                    rs.getString("name"),
-                    rs.getString("category_name"),
-                    avgPrepTimeMinutes,
-                    rs.getInt("target_time"),
-                    rs.getInt("order_count")
-                ));
+                LocalDate date = rs.getDate("completion_date").toLocalDate();
+                KitchenStats stats = new KitchenStats();
+                stats.itemId = rs.getString("item_id");
+                stats.itemName = rs.getString("name");
+                stats.categoryName = rs.getString("category_name");
+                stats.targetTime = rs.getInt("target_time");
+                stats.orderCount = rs.getInt("order_count");
+                stats.totalPrepSeconds = rs.getDouble("total_prep_time_seconds");
+                byDay.computeIfAbsent(date, d -> new ArrayList<>()).add(stats);
             }
         } catch (SQLException e) {
             logger.log(Level.SEVERE, "Error retrieving kitchen performance data", e);
@@ -169,34 +312,37 @@ public class ReportDAOImpl implements ReportDAOint {
         } finally {
             closeResources(conn, stmt, rs);
         }
-        
-        return performanceItems;
+
+        return byDay;
     }
-    
+
     @Override
     public Map<LocalDate, Double> getDailyRevenue(LocalDate startDate, LocalDate endDate) throws SQLException {
+        followInvalidations();
+        return new HashMap<>(revenueCache.get("", startDate, endDate, this::queryDailyRevenue));
+    }
+
+    private Map<LocalDate, Double> queryDailyRevenue(LocalDate startDate, LocalDate endDate) throws SQLException {
         Map<LocalDate, Double> revenueMap = new HashMap<>();
         Connection conn = null;
         PreparedStatement stmt = null;
         ResultSet rs = null;
-        
+
         try {
             conn = dbManager.getConnection();
-            
-            String sql = 
-                "SELECT DATE(payment_datetime) as sale_date, " +
-                "SUM(total_amount) as total_revenue " +
-                "FROM `order` " +
-                "WHERE payment_status = 'COMPLETED' " +
-                "AND DATE(payment_datetime) BETWEEN ? AND ? " +
-                "GROUP BY DATE(payment_datetime) " +
+            DailySalesRollup.ensureTable(conn);
+
+            String sql =
+                "SELECT sale_date, SUM(revenue) as total_revenue " +
+                "FROM daily_sales " +
+                "WHERE sale_date >= ? AND sale_date <= ? " +
+                "GROUP BY sale_date " +
                 "ORDER BY sale_date";
-            
+
             stmt = conn.prepareStatement(sql);
-            stmt.setDate(1, java.sql.Date.valueOf(startDate));
-            stmt.setDate(2, java.sql.Date.valueOf(endDate));
+            setDays(stmt, 1, startDate, endDate);
             rs = stmt.executeQuery();
-            
+
             while (rs.next()) {
                 LocalDate date = rs.getDate("sale_date").toLocalDate();
                 double revenue = rs.getDouble("total_revenue");
@@ -208,35 +354,40 @@ public class ReportDAOImpl implements ReportDAOint {
         } finally {
             closeResources(conn, stmt, rs);
         }
-        
+
         return revenueMap;
     }
-    
+
     @Override
     public Map<LocalDate, Integer> getDailyCustomerCount(LocalDate startDate, LocalDate endDate) throws SQLException {
+        followInvalidations();
+        return new HashMap<>(customerCountCache.get("", startDate, endDate, this::queryDailyCustomerCount));
+    }
+
+    private Map<LocalDate, Integer> queryDailyCustomerCount(LocalDate startDate, LocalDate endDate) throws SQLException {
         Map<LocalDate, Integer> customerCountMap = new HashMap<>();
         Connection conn = null;
         PreparedStatement stmt = null;
         ResultSet rs = null;
-        
+
         try {
             conn = dbManager.getConnection();
-            
-            String sql = 
-                "SELECT DATE(order_datetime) as order_date, " +
-                "COUNT(DISTINCT table_id) as customer_count " +
-                "FROM `order` " +
-                "WHERE DATE(order_datetime) BETWEEN ? AND ? " +
-                "GROUP BY DATE(order_datetime) " +
-                "ORDER BY order_date";
-            
+            DailySalesRollup.ensureTable(conn);
+
+            // Covers of paid orders, one per seat ordered for
+            String sql =
+                "SELECT sale_date, SUM(covers) as customer_count " +
+                "FROM daily_sales " +
+                "WHERE sale_date >= ? AND sale_date <= ? " +
+                "GROUP BY sale_date " +
+                "ORDER BY sale_date";
+
             stmt = conn.prepareStatement(sql);
-            stmt.setDate(1, java.sql.Date.valueOf(startDate));
-            stmt.setDate(2, java.sql.Date.valueOf(endDate));
+            setDays(stmt, 1, startDate, endDate);
             rs = stmt.executeQuery();
-            
+
             while (rs.next()) {
-                LocalDate date = rs.getDate("order_date").toLocalDate();
+                LocalDate date = rs.getDate("sale_date").toLocalDate();
                 int count = rs.getInt("customer_count");
                 customerCountMap.put(date, count);
             }
@@ -246,10 +397,103 @@ public class ReportDAOImpl implements ReportDAOint {
         } finally {
             closeResources(conn, stmt, rs);
         }
-        
+
         return customerCountMap;
     }
-    
+
+    @Override
+    public Map<Integer, Double> getHourlyRevenue(LocalDate date) throws SQLException {
+        Map<Integer, Double> revenueByHour = new TreeMap<>();
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+
+        try {
+            conn = dbManager.getConnection();
+            DailySalesRollup.ensureTable(conn);
+
+            String sql =
+                "SELECT sale_hour, SUM(revenue) as total_revenue " +
+                "FROM daily_sales " +
+                "WHERE sale_date = ? " +
+                "GROUP BY sale_hour";
+
+            stmt = conn.prepareStatement(sql);
+            stmt.setDate(1, Date.valueOf(date));
+            rs = stmt.executeQuery();
+
+            while (rs.next()) {
+                revenueByHour.put(rs.getInt("sale_hour"), rs.getDouble("total_revenue"));
+            }
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error retrieving hourly revenue", e);
+            throw e;
+        } finally {
+            closeResources(conn, stmt, rs);
+        }
+
+        return revenueByHour;
+    }
+
+    @Override
+    public Map<String, Double> getRevenueByPaymentMethod(LocalDate startDate, LocalDate endDate) throws SQLException {
+        Map<String, Double> revenueByMethod = new HashMap<>();
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+
+        try {
+            conn = dbManager.getConnection();
+            DailySalesRollup.ensureTable(conn);
+
+            String sql =
+                "SELECT payment_method, SUM(revenue + tax + tips) as total_taken " +
+                "FROM daily_sales " +
+                "WHERE sale_date >= ? AND sale_date <= ? " +
+                "GROUP BY payment_method";
+
+            stmt = conn.prepareStatement(sql);
+            setDays(stmt, 1, startDate, endDate);
+            rs = stmt.executeQuery();
+
+            while (rs.next()) {
+                revenueByMethod.put(rs.getString("payment_method"), rs.getDouble("total_taken"));
+            }
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error retrieving revenue by payment method", e);
+            throw e;
+        } finally {
+            closeResources(conn, stmt, rs);
+        }
+
+        return revenueByMethod;
+    }
+
+    /**
+     * Bind an inclusive range of DATE values
+     * @param stmt Statement to bind
+     * @param index Index of the first of the two parameters
+     * @return Index of the next parameter
+     */
+    private int setDays(PreparedStatement stmt, int index, LocalDate startDate, LocalDate endDate) throws SQLException {
+        stmt.setDate(index, Date.valueOf(startDate));
+        stmt.setDate(index + 1, Date.valueOf(endDate));
+        return index + 2;
+    }
+
+    /**
+     * Bind an inclusive date range as a half-open timestamp range
+     * [startDate 00:00, endDate + 1 day 00:00) so the column index can be used
+     * @param stmt Statement to bind
+     * @param index Index of the first of the two parameters
+     * @return Index of the next parameter
+     */
+    private int setDateRange(PreparedStatement stmt, int index, LocalDate startDate, LocalDate endDate) throws SQLException {
+        stmt.setTimestamp(index, Timestamp.valueOf(startDate.atStartOfDay()));
+        stmt.setTimestamp(index + 1, Timestamp.valueOf(endDate.plusDays(1).atStartOfDay()));
+        return index + 2;
+    }
+
     /**
      * Close database resources
      */
@@ -262,4 +506,125 @@ public class ReportDAOImpl implements ReportDAOint {
             logger.log(Level.WARNING, "Error closing database resources", ex);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Query returning one result per day for the days in an inclusive range
+     * that have data
+     */
+    private interface DailyQuery<T> {
+        Map<LocalDate, T> load(LocalDate startDate, LocalDate endDate) throws SQLException;
+    }
+
+    /**
+     * Per-day results of one report; closed days are kept, including
+     * days without data, until invalidate(); open days are always queried
+     */
+    private static final class DayCache<T> {
+        private static final int MAX_ENTRIES = 20000;
+
+        private final String report;
+        private final Map<String, Optional<T>> closedDays = new ConcurrentHashMap<>();
+        private final CacheMetrics metrics;
+
+        DayCache(String report) {
+            this.report = report;
+            this.metrics = MetricsRegistry.cache("report." + report).withSize(() -> closedDays.size());
+        }
+
+        /**
+         * Get the results for every day in the range that has data
+         * @param filters Report parameters other than the date, as a key
+         * @return Results by day, in date order
+         */
+        Map<LocalDate, T> get(String filters, LocalDate startDate, LocalDate endDate,
+                              DailyQuery<T> query) throws SQLException {
+            Map<LocalDate, T> results = new TreeMap<>();
+            // First day that is still open
+            LocalDate firstOpenDay = LocalDateTime.now().minus(CLOSE_GRACE).toLocalDate();
+            LocalDate missingFrom = null;
+
+            for (LocalDate day = startDate; !day.isAfter(endDate) && day.isBefore(firstOpenDay); day = day.plusDays(1)) {
+                Optional<T> cached = closedDays.get(key(filters, day));
+                if (cached == null) {
+                    metrics.recordMiss();
+                    if (missingFrom == null) {
+                        missingFrom = day;
+                    }
+                    continue;
+                }
+                metrics.recordHit();
+                if (missingFrom != null) {
+                    loadClosedDays(filters, missingFrom, day.minusDays(1), query, results);
+                    missingFrom = null;
+                }
+                if (cached.isPresent()) {
+                    results.put(day, cached.get());
+                }
+            }
+            if (missingFrom != null) {
+                loadClosedDays(filters, missingFrom, min(endDate, firstOpenDay.minusDays(1)), query, results);
+            }
+
+            // Open days' figures can still change
+            if (!endDate.isBefore(firstOpenDay)) {
+                results.putAll(query.load(startDate.isAfter(firstOpenDay) ? startDate : firstOpenDay, endDate));
+            }
+            return results;
+        }
+
+        void clear() {
+            closedDays.clear();
+        }
+
+        private void loadClosedDays(String filters, LocalDate from, LocalDate to,
+                                    DailyQuery<T> query, Map<LocalDate, T> results) throws SQLException {
+            long start = System.nanoTime();
+            Map<LocalDate, T> loaded = query.load(from, to);
+            metrics.recordLoad(start);
+            if (closedDays.size() > MAX_ENTRIES) {
+                logger.info("Report cache for " + report + " is full, clearing it");
+                metrics.recordEvictions(closedDays.size());
+                closedDays.clear();
+            }
+            for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+                T value = loaded.get(day);
+                closedDays.put(key(filters, day), Optional.ofNullable(value));
+                if (value != null) {
+                    results.put(day, value);
+                }
+            }
+            logger.fine("Loaded " + report + " report for " + from + " to " + to);
+        }
+
+        private static String key(String filters, LocalDate day) {
+            return filters + "|" + day;
+        }
+
+        private static LocalDate min(LocalDate a, LocalDate b) {
+            return a.isBefore(b) ? a : b;
+        }
+    }
+
+    /**
+     * Kitchen timings of one menu item, kept as totals so days can be merged
+     */
+    private static final class KitchenStats {
+        String itemId;
+        String itemName;
+        String categoryName;
+        int targetTime;
+        int orderCount;
+        double totalPrepSeconds;
+
+        KitchenStats copy() {
+            KitchenStats copy = new KitchenStats();
+            copy.itemId = itemId;
+            copy.itemName = itemName;
+            copy.categoryName = categoryName;
+            copy.targetTime = targetTime;
+            copy.orderCount = orderCount;
+            copy.totalPrepSeconds = totalPrepSeconds;
+            return copy;
+        }
+    }
+}
@@ -47,4 +47,19 @@ public interface ReportDAOint {
      * @return Map of dates to customer counts
      */
     java.util.Map<LocalDate, Integer> getDailyCustomerCount(LocalDate startDate, LocalDate endDate) throws SQLException;
+    
+    /**
+     * Get revenue by hour of the day
+     * @param date The date
+     * @return Map of hour (0-23) to revenue, for hours with sales
+     */
+    java.util.Map<Integer, Double> getHourlyRevenue(LocalDate date) throws SQLException;
+    
+    /**
+     * Get the amount taken per payment method, including tax and tips
+     * @param startDate Start date (inclusive)
+     * @param endDate End date (inclusive)
+     * @return Map of payment method to amount
+     */
+    java.util.Map<String, Double> getRevenueByPaymentMethod(LocalDate startDate, LocalDate endDate) throws SQLException;
 }
\ No newline at end of file
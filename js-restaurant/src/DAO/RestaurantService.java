@@ -13,10 +13,12 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -31,11 +33,13 @@ public class RestaurantService {
     private final UserDAO userDAO;
     private final TableDAO tableDAO;
     private final OrderDAO orderDAO;
+    private final OfflineJournal journal;
     
     private RestaurantService() {
         userDAO = UserDAO.getInstance();
         tableDAO = TableDAO.getInstance();
         orderDAO = OrderDAO.getInstance();
+        journal = OfflineJournal.getInstance();
         
         // Initialize menu cache
         MenuCache.initialize();
@@ -67,9 +71,14 @@ public class RestaurantService {
         }
     }
     
+    /**
+     * Look up a user by ID through the user directory cache
+     * @param userId User ID
+     * @return The user, or null if not found or on a database error
+     */
     public User getUserById(String userId) {
         try {
-            return userDAO.getById(userId);
+            return UserCache.get(userId);
         } catch (SQLException e) {
             logger.log(Level.SEVERE, "Error getting user by ID", e);
             return null;
@@ -86,18 +95,30 @@ public class RestaurantService {
     }
     
     public boolean clockInEmployee(String userId) {
+        if (journal.hasPending()) {
+            return journal.recordClockIn(userId);
+        }
         try {
             return userDAO.clockInEmployee(userId);
         } catch (SQLException e) {
+            if (OfflineJournal.isConnectionFailure(e)) {
+                return journal.recordClockIn(userId);
+            }
             logger.log(Level.SEVERE, "Error clocking in employee", e);
             return false;
         }
     }
     
     public boolean clockOutEmployee(String userId) {
+        if (journal.hasPending()) {
+            return journal.recordClockOut(userId);
+        }
         try {
             return userDAO.clockOutEmployee(userId);
         } catch (SQLException e) {
+            if (OfflineJournal.isConnectionFailure(e)) {
+                return journal.recordClockOut(userId);
+            }
             logger.log(Level.SEVERE, "Error clocking out employee", e);
             return false;
         }
@@ -157,14 +178,32 @@ public class RestaurantService {
                 return false;
             }
             
+            if (journal.hasPending()) {
+                return updateTableStatusOffline(tableId, status, userId);
+            }
+            
             // Update table status
             return tableDAO.updateTableStatus(tableId, status, userId);
         } catch (SQLException e) {
+            if (OfflineJournal.isConnectionFailure(e)) {
+                return updateTableStatusOffline(tableId, status, userId);
+            }
             logger.log(Level.SEVERE, "Error updating table status", e);
             return false;
         }
     }
     
+    /**
+     * Journal a table status change and show it on this terminal right away
+     */
+    private boolean updateTableStatusOffline(String tableId, String status, String userId) {
+        if (!journal.recordTableStatus(tableId, status, userId)) {
+            return false;
+        }
+        tableDAO.applyLocalStatus(tableId, status, userId);
+        return true;
+    }
+    
     public void addTableStatusObserver(TableStatusObserver observer) {
         tableDAO.addObserver(observer);
     }
@@ -186,30 +225,89 @@ public class RestaurantService {
         return MenuCache.getMenuItemsByCategory(categoryId);
     }
     
+    /**
+     * Reload the menu cache now, so the next read sees changes made on this
+     * terminal; blocks until the menu is loaded
+     */
     public void refreshMenuCache() {
         MenuCache.refreshCache();
     }
     
+    public void addMenuObserver(MenuCacheObserver observer) {
+        MenuCache.addObserver(observer);
+    }
+    
+    public void removeMenuObserver(MenuCacheObserver observer) {
+        MenuCache.removeObserver(observer);
+    }
+    
+    public void addOrderChangeObserver(OrderChangeObserver observer) {
+        OrderChangeFeed.getInstance().addObserver(observer);
+    }
+    
+    public void removeOrderChangeObserver(OrderChangeObserver observer) {
+        OrderChangeFeed.getInstance().removeObserver(observer);
+    }
+    
     // Order-related methods
     public Order createOrder(String tableId, String waiterId) {
+        String orderId = orderDAO.generateOrderId();
+        Order order = new Order(orderId, tableId, waiterId);
+        if (journal.hasPending()) {
+            return createOrderOffline(order);
+        }
+        
         try {
-            String orderId = orderDAO.generateOrderId();
-            Order order = new Order(orderId, tableId, waiterId);
             if (orderDAO.add(order)) {
-                // Update table status to occupied
-                tableDAO.updateTableStatus(tableId, "OCCUPIED", waiterId);
-                return order;
+                journal.rememberOrder(order);
+            } else {
+                return null;
             }
-            return null;
         } catch (SQLException e) {
+            if (OfflineJournal.isConnectionFailure(e)) {
+                return createOrderOffline(order);
+            }
             logger.log(Level.SEVERE, "Error creating order", e);
             return null;
         }
+        
+        // Update table status to occupied
+        updateTableStatus(tableId, "OCCUPIED", waiterId);
+        return order;
     }
     
+    /**
+     * Journal a new order and its table becoming occupied while the database is unreachable
+     * @param order New order (its ID is already unique, see OrderIdGenerator)
+     * @return The order, or null if it could not be journaled
+     */
+    private Order createOrderOffline(Order order) {
+        if (!journal.recordOrderCreated(order)) {
+            return null;
+        }
+        updateTableStatusOffline(order.getTableId(), "OCCUPIED", order.getWaiterId());
+        return order;
+    }
+    
+    /**
+     * Charge an order. An order with journaled changes is only charged once
+     * they have been applied, so the total includes every item.
+     * @return true if the order was paid
+     */
     public boolean processPayment(String orderId, String paymentMethod, double tipAmount) {
+        if (journal.getPendingOrderIds().contains(orderId)) {
+            journal.replayNow();
+            if (journal.getPendingOrderIds().contains(orderId)) {
+                logger.warning("Order " + orderId + " has changes that are not in the database yet; payment refused");
+                return false;
+            }
+        }
         try {
-            return orderDAO.processPayment(orderId, paymentMethod, tipAmount);
+            boolean paid = orderDAO.processPayment(orderId, paymentMethod, tipAmount);
+            if (paid) {
+                journal.forgetOrder(orderId);
+            }
+            return paid;
         } catch (SQLException e) {
             logger.log(Level.SEVERE, "Error processing payment", e);
             return false;
@@ -236,77 +334,134 @@ public class RestaurantService {
     
     public Order getOrderById(String orderId) {
         try {
-            return orderDAO.getById(orderId);
+            Order order = orderDAO.getById(orderId);
+            if (journal.getPendingOrderIds().contains(orderId)) {
+                // Journaled changes to this order have not reached the database yet
+                Order known = journal.getKnownOrder(orderId);
+                if (known != null) {
+                    return known;
+                }
+            }
+            journal.rememberOrder(order);
+            return order;
         } catch (SQLException e) {
+            if (OfflineJournal.isConnectionFailure(e)) {
+                return journal.getKnownOrder(orderId);
+            }
             logger.log(Level.SEVERE, "Error getting order by ID: " + orderId, e);
             return null;
         }
     }
     
     public List<Order> getActiveOrdersByTable(String tableId) {
+        List<Order> orders;
         try {
-            List<Order> allActiveOrders = orderDAO.getActiveOrders();
-            List<Order> tableOrders = new ArrayList<>();
-            
-            for (Order order : allActiveOrders) {
-                if (order.getTableId().equals(tableId)) {
-                    tableOrders.add(order);
-                }
-            }
-            
-            return tableOrders;
+            orders = orderDAO.getActiveOrdersByTable(tableId);
         } catch (SQLException e) {
+            if (OfflineJournal.isConnectionFailure(e)) {
+                return journal.getKnownActiveOrders(tableId);
+            }
             logger.log(Level.SEVERE, "Error getting active orders for table: " + tableId, e);
             return new ArrayList<>(); // Return empty list on error
         }
+        
+        // Orders with journaled changes are newer here than in the database
+        Set<String> journaledIds = journal.getPendingOrderIds();
+        List<Order> merged = new ArrayList<>(orders.size());
+        Set<String> mergedIds = new HashSet<>();
+        for (Order order : orders) {
+            mergedIds.add(order.getOrderId());
+            Order known = journaledIds.contains(order.getOrderId())
+                    ? journal.getKnownOrder(order.getOrderId()) : null;
+            if (known != null) {
+                merged.add(known);
+            } else {
+                journal.rememberOrder(order);
+                merged.add(order);
+            }
+        }
+        if (!journaledIds.isEmpty()) {
+            // Orders created offline that have not been replayed yet
+            for (Order known : journal.getKnownActiveOrders(tableId)) {
+                if (journaledIds.contains(known.getOrderId()) && mergedIds.add(known.getOrderId())) {
+                    merged.add(known);
+                }
+            }
+        }
+        return merged;
     }
     
     public boolean addItemToOrder(OrderItem newItem, String orderId) {
-        try {
+        return addItemsToOrder(orderId, Collections.singletonList(newItem)) != null;
+    }
+    
+    /**
+     * Add several items to an order in a single database transaction
+     * @param orderId Order ID
+     * @param items Items to add; missing prices and names are filled in from the menu
+     * @return The refreshed order including the new items, or null on failure
+     */
+    public Order addItemsToOrder(String orderId, List<OrderItem> items) {
+        for (OrderItem item : items) {
             // Ensure the item has the order ID set
-            newItem.setOrderId(orderId);
+            item.setOrderId(orderId);
             
             // If the item doesn't have a price set, get it from the menu item
-            if (newItem.getPrice() <= 0) {
-                MenuItem menuItem = MenuCache.getMenuItemById(newItem.getMenuItemId());
+            if (item.getPrice() <= 0) {
+                MenuItem menuItem = MenuCache.getMenuItemById(item.getMenuItemId());
                 if (menuItem != null) {
-                    newItem.setPrice(menuItem.getPrice());
+                    item.setPrice(menuItem.getPrice());
                     
                     // Set the menu item name for easier display in the kitchen
-                    if (newItem.getMenuItemName() == null || newItem.getMenuItemName().isEmpty()) {
-                        newItem.setMenuItemName(menuItem.getName());
+                    if (item.getMenuItemName() == null || item.getMenuItemName().isEmpty()) {
+                        item.setMenuItemName(menuItem.getName());
                     }
                 } else {
-                    logger.log(Level.WARNING, "Could not find menu item: " + newItem.getMenuItemId());
-                    return false;
-                }
-            }
-            
-            // Add the item to the order
-            boolean success = orderDAO.addItemToOrder(newItem, orderId);
-            
-            if (success) {
-                // After adding the item, update the order total
-                Order order = orderDAO.getById(orderId);
-                if (order != null) {
-                    // Recalculate totals
-                    double subtotal = order.calculateSubtotal();
-                    double taxAmount = order.calculateTax();
-                    
-                    // Update the order
-                    order.setTotalAmount(subtotal);
-                    order.setTaxAmount(taxAmount);
-                    orderDAO.update(order);
+                    logger.log(Level.WARNING, "Could not find menu item: " + item.getMenuItemId());
+                    return null;
                 }
             }
-            
-            return success;
+        }
+        
+        if (journal.hasPending()) {
+            return addItemsToOrderOffline(orderId, items);
+        }
+        
+        try {
+            // Insert the items, update the order totals and reload the order in one call
+            Order order = orderDAO.addItemsToOrder(orderId, items);
+            journal.rememberOrder(order);
+            return order;
         } catch (SQLException e) {
-            logger.log(Level.SEVERE, "Error adding item to order", e);
-            return false;
+            if (OfflineJournal.isConnectionFailure(e)) {
+                return addItemsToOrderOffline(orderId, items);
+            }
+            logger.log(Level.SEVERE, "Error adding items to order", e);
+            return null;
         }
     }
     
+    /**
+     * Journal new items and apply them to the last known state of the order
+     * @return The updated order, or null if this terminal does not know the order
+     */
+    private Order addItemsToOrderOffline(String orderId, List<OrderItem> items) {
+        Order order = journal.getKnownOrder(orderId);
+        if (order == null) {
+            logger.warning("Order " + orderId + " is not available offline; cannot add items");
+            return null;
+        }
+        if (!journal.recordItemsAdded(orderId, items)) {
+            return null;
+        }
+        for (OrderItem item : items) {
+            order.addOrderItem(item);
+        }
+        order.setTotalAmount(order.calculateSubtotal());
+        order.setTaxAmount(order.calculateTax());
+        return order;
+    }
+    
     public boolean removeItemFromOrder(OrderItem itemToRemove) {
         try {
             // Ensure the item exists in the current order
@@ -356,7 +511,7 @@ public class RestaurantService {
             if (success) {
                 // If the order status changed to PAID, update the table status
                 if ("PAID".equals(order.getStatus())) {
-                    tableDAO.updateTableStatus(order.getTableId(), "DIRTY", order.getWaiterId());
+                    updateTableStatus(order.getTableId(), "DIRTY", order.getWaiterId());
                 }
                 
                 // If the table is now empty (no active orders), it could be marked as available
@@ -393,19 +548,14 @@ public class RestaurantService {
     private void checkTableStatus(String tableId) {
         try {
             // Get all active orders for this table
-            List<Order> activeOrders = new ArrayList<>();
-            for (Order order : orderDAO.getActiveOrders()) {
-                if (order.getTableId().equals(tableId)) {
-                    activeOrders.add(order);
-                }
-            }
+            List<Order> activeOrders = orderDAO.getActiveOrdersByTable(tableId);
             
             // If no active orders, the table can be marked as dirty
             if (activeOrders.isEmpty()) {
                 // Find who last updated this table
                 RestaurantTable table = tableDAO.getById(tableId);
                 if (table != null && table.getAssignedWaiterId() != null) {
-                    tableDAO.updateTableStatus(tableId, "DIRTY", table.getAssignedWaiterId());
+                    updateTableStatus(tableId, "DIRTY", table.getAssignedWaiterId());
                 }
             }
         } catch (SQLException e) {
@@ -424,22 +574,15 @@ public class RestaurantService {
     }
     
     // Dashboard-related methods
+    /**
+     * Get the revenue (subtotals of paid orders) for a day from the daily sales rollup
+     * @param date The date
+     * @return Revenue, 0 if there were no sales or on a database error
+     */
     public double getDailyRevenue(LocalDate date) {
         try {
-            // This would normally query the database through OrderDAO
-            // For now we'll generate realistic sample data
-            // In a real implementation, replace this with actual query results
-            
-            Random random = new Random(date.toEpochDay()); // Use date as seed for consistent results
-            double baseRevenue = 2000 + random.nextDouble() * 1000; // Base between $2000-$3000
-            
-            // Weekends have higher revenue
-            if (date.getDayOfWeek().getValue() >= 5) { // Friday, Saturday, Sunday
-                baseRevenue *= 1.25;
-            }
-            
-            return Math.round(baseRevenue * 100) / 100.0; // Round to 2 decimal places
-        } catch (Exception e) {
+            return ReportDAOImpl.getInstance().getDailyRevenue(date, date).getOrDefault(date, 0.0);
+        } catch (SQLException e) {
             logger.log(Level.SEVERE, "Error getting daily revenue", e);
             return 0.0;
         }
@@ -461,19 +604,15 @@ public class RestaurantService {
         }
     }
     
+    /**
+     * Get the number of guests served on a day from the daily sales rollup
+     * @param date The date
+     * @return Covers of the orders paid that day, 0 on a database error
+     */
     public int getDailyCustomerCount(LocalDate date) {
         try {
-            // This would normally query the database through OrderDAO
-            // For now we'll generate realistic sample data based on revenue
-            // In a real implementation, replace this with actual query results
-            
-            double revenue = getDailyRevenue(date);
-            // Assume average spend of $35 per customer with some randomness
-            Random random = new Random(date.toEpochDay() + 1); // Different seed than revenue
-            double avgSpend = 30 + random.nextDouble() * 10; // $30-$40 per customer
-            
-            return (int) Math.round(revenue / avgSpend);
-        } catch (Exception e) {
+            return ReportDAOImpl.getInstance().getDailyCustomerCount(date, date).getOrDefault(date, 0);
+        } catch (SQLException e) {
             logger.log(Level.SEVERE, "Error getting daily customer count", e);
             return 0;
         }
@@ -566,14 +705,14 @@ public class RestaurantService {
                 "JOIN menu_item mi ON oi.menu_item_id = mi.item_id " +
                 "JOIN menu_category mc ON mi.category_id = mc.category_id " +
                 "JOIN `order` o ON oi.order_id = o.order_id " +
-                "WHERE o.order_datetime BETWEEN ? AND ? " +
-                "GROUP BY mi.item_id " +
+                "WHERE o.order_datetime >= ? AND o.order_datetime < ? " +
+                "GROUP BY mi.item_id, mi.name, mc.name " +
                 "ORDER BY order_count DESC " +
                 "LIMIT ?";
             
             stmt = conn.prepareStatement(sql);
-            stmt.setDate(1, java.sql.Date.valueOf(startDate));
-            stmt.setDate(2, java.sql.Date.valueOf(endDate));
+            stmt.setTimestamp(1, java.sql.Timestamp.valueOf(startDate.atStartOfDay()));
+            stmt.setTimestamp(2, java.sql.Timestamp.valueOf(endDate.plusDays(1).atStartOfDay()));
             stmt.setInt(3, limit);
             
             rs = stmt.executeQuery();
@@ -678,7 +817,7 @@ public class RestaurantService {
                 sql.append(" WHERE mc.name = ?");
             }
             
-            sql.append(" GROUP BY mi.item_id");
+            sql.append(" GROUP BY mi.item_id, mi.name, mc.name, mi.preparation_time");
             
             stmt = conn.prepareStatement(sql.toString());
             
@@ -0,0 +1,257 @@
+package DAO;
+
+import Model.MenuItem;
+import Model.Order;
+import Model.OrderItem;
+import Model.RestaurantTable;
+import Model.TimeRecord;
+import Model.User;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.application.Platform;
+
+/**
+ * Asynchronous facade over RestaurantService - Singleton class
+ *
+ * Each call runs the matching RestaurantService method on a small, bounded pool
+ * of "restaurant-db-N" worker threads and returns a CompletableFuture that is
+ * completed on the JavaFX application thread, so callbacks attached with
+ * thenAccept / exceptionally may update controls directly. When the JavaFX
+ * toolkit is not running (command line tools, test harnesses) futures are
+ * completed on the worker thread instead.
+ *
+ * The pool is kept smaller than the connection pool so background work can
+ * never starve the synchronous callers that remain. If the work queue is full
+ * the future fails with a RejectedExecutionException rather than blocking the
+ * UI thread.
+ */
+public class RestaurantServiceAsync {
+    private static final Logger logger = Logger.getLogger(RestaurantServiceAsync.class.getName());
+    private static RestaurantServiceAsync instance;
+
+    private static final int MAX_THREADS = 4;
+    private static final int QUEUE_CAPACITY = 100;
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private final RestaurantService service;
+    private final ThreadPoolExecutor executor;
+    private final Executor fxExecutor = RestaurantServiceAsync::runOnFxThread;
+
+    private RestaurantServiceAsync() {
+        service = RestaurantService.getInstance();
+
+        int threads = Math.max(1, Math.min(MAX_THREADS,
+                DatabaseManager.getInstance().getConfig().getMaxPoolSize() - 1));
+        executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY), new WorkerThreadFactory());
+        executor.allowCoreThreadTimeOut(true);
+        logger.info("Async service started with " + threads + " worker threads");
+    }
+
+    public static synchronized RestaurantServiceAsync getInstance() {
+        if (instance == null) {
+            instance = new RestaurantServiceAsync();
+        }
+        return instance;
+    }
+
+    /**
+     * Run any blocking task on the service executor
+     * @param task Work to run off the UI thread
+     * @return Future completed on the JavaFX thread with the task's result
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    T value = task.get();
+                    fxExecutor.execute(() -> result.complete(value));
+                } catch (Throwable t) {
+                    logger.log(Level.WARNING, "Background service call failed", t);
+                    fxExecutor.execute(() -> result.completeExceptionally(t));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.warning("Service executor saturated (" + executor.getQueue().size() + " queued), rejecting call");
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    /**
+     * Run a blocking task that has no result on the service executor
+     * @param task Work to run off the UI thread
+     * @return Future completed on the JavaFX thread when the task finishes
+     */
+    public CompletableFuture<Void> run(Runnable task) {
+        return supply(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Queue a task, e.g. a javafx.concurrent.Task, on the service executor
+     * @param task Task to run
+     * @throws RejectedExecutionException If the work queue is full
+     */
+    public void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    /**
+     * Remove cancelled tasks from the work queue so they neither run nor
+     * take up queue capacity
+     */
+    public void purge() {
+        executor.purge();
+    }
+
+    // User-related methods
+    public CompletableFuture<Boolean> authenticateUser(String username, String password) {
+        return supply(() -> service.authenticateUser(username, password));
+    }
+
+    public CompletableFuture<User> getUserByUsername(String username) {
+        return supply(() -> service.getUserByUsername(username));
+    }
+
+    public CompletableFuture<List<User>> getAllUsers() {
+        return supply(service::getAllUsers);
+    }
+
+    public CompletableFuture<Boolean> clockInEmployee(String userId) {
+        return supply(() -> service.clockInEmployee(userId));
+    }
+
+    public CompletableFuture<Boolean> clockOutEmployee(String userId) {
+        return supply(() -> service.clockOutEmployee(userId));
+    }
+
+    // Table-related methods
+    public CompletableFuture<List<RestaurantTable>> getAllTables() {
+        return supply(service::getAllTables);
+    }
+
+    public CompletableFuture<List<RestaurantTable>> getTablesByWaiter(String waiterId) {
+        return supply(() -> service.getTablesByWaiter(waiterId));
+    }
+
+    public CompletableFuture<Boolean> updateTableStatus(String tableId, String status, String userId) {
+        return supply(() -> service.updateTableStatus(tableId, status, userId));
+    }
+
+    // Menu-related methods
+    public CompletableFuture<List<MenuItem>> getAllMenuItems() {
+        return supply(service::getAllMenuItems);
+    }
+
+    // Order-related methods
+    public CompletableFuture<Order> createOrder(String tableId, String waiterId) {
+        return supply(() -> service.createOrder(tableId, waiterId));
+    }
+
+    public CompletableFuture<Order> getOrderById(String orderId) {
+        return supply(() -> service.getOrderById(orderId));
+    }
+
+    public CompletableFuture<List<Order>> getActiveOrders() {
+        return supply(service::getActiveOrders);
+    }
+
+    public CompletableFuture<List<Order>> getOrdersByWaiter(String waiterId) {
+        return supply(() -> service.getOrdersByWaiter(waiterId));
+    }
+
+    public CompletableFuture<List<Order>> getActiveOrdersByTable(String tableId) {
+        return supply(() -> service.getActiveOrdersByTable(tableId));
+    }
+
+    public CompletableFuture<Boolean> addItemToOrder(OrderItem newItem, String orderId) {
+        return supply(() -> service.addItemToOrder(newItem, orderId));
+    }
+
+    public CompletableFuture<Order> addItemsToOrder(String orderId, List<OrderItem> items) {
+        return supply(() -> service.addItemsToOrder(orderId, items));
+    }
+
+    public CompletableFuture<Boolean> updateOrder(Order order) {
+        return supply(() -> service.updateOrder(order));
+    }
+
+    public CompletableFuture<Boolean> processPayment(String orderId, String paymentMethod, double tipAmount) {
+        return supply(() -> service.processPayment(orderId, paymentMethod, tipAmount));
+    }
+
+    // Time record-related methods
+    public CompletableFuture<List<TimeRecord>> getTimeRecordsForEmployee(String userId) {
+        return supply(() -> service.getTimeRecordsForEmployee(userId));
+    }
+
+    // Dashboard-related methods
+    public CompletableFuture<Double> getDailyRevenue(LocalDate date) {
+        return supply(() -> service.getDailyRevenue(date));
+    }
+
+    public CompletableFuture<Integer> getDailyCustomerCount(LocalDate date) {
+        return supply(() -> service.getDailyCustomerCount(date));
+    }
+
+    public CompletableFuture<Map<String, Integer>> getStaffCountByRole() {
+        return supply(service::getStaffCountByRole);
+    }
+
+    public CompletableFuture<Map<String, Integer>> getTableStatusSummary() {
+        return supply(service::getTableStatusSummary);
+    }
+
+    /**
+     * Strip the CompletionException wrapper added by dependent stages
+     * @param ex Exception passed to exceptionally / handle
+     * @return The exception thrown by the service call
+     */
+    public static Throwable unwrap(Throwable ex) {
+        while (ex instanceof CompletionException && ex.getCause() != null) {
+            ex = ex.getCause();
+        }
+        return ex;
+    }
+
+    private static void runOnFxThread(Runnable action) {
+        try {
+            Platform.runLater(action);
+        } catch (IllegalStateException e) {
+            // JavaFX toolkit not initialized: complete on the calling thread
+            action.run();
+        }
+    }
+
+    /**
+     * Names worker threads and marks them as daemons so they never keep the
+     * application alive after the last window closes
+     */
+    private static class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "restaurant-db-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
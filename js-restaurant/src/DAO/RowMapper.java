@@ -0,0 +1,191 @@
+package DAO;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps ResultSet rows to entities using column indices instead of names.
+ *
+ * A mapper declares the columns it reads; each column gets a slot number equal
+ * to its position in that list. The first time a mapper sees a given result
+ * shape (the column labels reported by ResultSetMetaData) it resolves every
+ * slot to a column index and caches the result, so rows are read with
+ * rs.getXxx(int) and no per-row name lookups. Columns missing from a query
+ * map to index 0 and read as null / 0 / false.
+ *
+ * Mappers are stateless apart from that cache and are safe to share between
+ * threads; DAOs keep one static instance per entity.
+ *
+ * @param <T> Entity type produced by this mapper
+ */
+public abstract class RowMapper<T> {
+    private static volatile boolean localDateTimeSupported = true;
+
+    private final String[] columns;
+    private final Map<String, int[]> compiledIndexes = new ConcurrentHashMap<>();
+
+    /**
+     * @param columns Column labels read by this mapper, in slot order
+     */
+    protected RowMapper(String... columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * Build an entity from the current row
+     * @param row Current row, read by slot number
+     * @return Mapped entity
+     */
+    protected abstract T mapRow(Row row) throws SQLException;
+
+    /**
+     * Resolve column indices for a ResultSet so rows can be mapped one at a time
+     * @param rs ResultSet to read
+     * @return Binding whose map() reads the current row
+     */
+    public Binding bind(ResultSet rs) throws SQLException {
+        return new Binding(new Row(rs, indexesFor(rs.getMetaData())));
+    }
+
+    /**
+     * Map every remaining row of a ResultSet
+     * @param rs ResultSet positioned before the first row
+     * @return Mapped entities in row order
+     */
+    public List<T> mapAll(ResultSet rs) throws SQLException {
+        List<T> results = new ArrayList<>();
+        Binding binding = bind(rs);
+        while (rs.next()) {
+            results.add(binding.map());
+        }
+        return results;
+    }
+
+    /**
+     * Map the next row of a ResultSet, if there is one
+     * @param rs ResultSet positioned before the row
+     * @return Mapped entity, or null if the ResultSet is empty
+     */
+    public T mapFirst(ResultSet rs) throws SQLException {
+        return rs.next() ? bind(rs).map() : null;
+    }
+
+    private int[] indexesFor(ResultSetMetaData metaData) throws SQLException {
+        int count = metaData.getColumnCount();
+        StringBuilder shape = new StringBuilder();
+        for (int i = 1; i <= count; i++) {
+            shape.append(metaData.getColumnLabel(i)).append(',');
+        }
+
+        String key = shape.toString();
+        int[] indexes = compiledIndexes.get(key);
+        if (indexes == null) {
+            indexes = compile(metaData, count);
+            compiledIndexes.put(key, indexes);
+        }
+        return indexes;
+    }
+
+    private int[] compile(ResultSetMetaData metaData, int count) throws SQLException {
+        // First occurrence wins, matching ResultSet.findColumn
+        Map<String, Integer> byLabel = new HashMap<>();
+        for (int i = 1; i <= count; i++) {
+            String label = metaData.getColumnLabel(i).toLowerCase();
+            if (!byLabel.containsKey(label)) {
+                byLabel.put(label, i);
+            }
+        }
+
+        int[] indexes = new int[columns.length];
+        for (int slot = 0; slot < columns.length; slot++) {
+            Integer index = byLabel.get(columns[slot].toLowerCase());
+            indexes[slot] = index != null ? index : 0;
+        }
+        return indexes;
+    }
+
+    /**
+     * A mapper bound to one ResultSet
+     */
+    public final class Binding {
+        private final Row row;
+
+        private Binding(Row row) {
+            this.row = row;
+        }
+
+        /**
+         * Map the row the ResultSet is currently positioned on
+         * @return Mapped entity
+         */
+        public T map() throws SQLException {
+            return mapRow(row);
+        }
+    }
+
+    /**
+     * Typed, slot-based access to the current row
+     */
+    public static final class Row {
+        private final ResultSet rs;
+        private final int[] indexes;
+
+        private Row(ResultSet rs, int[] indexes) {
+            this.rs = rs;
+            this.indexes = indexes;
+        }
+
+        public boolean has(int slot) {
+            return indexes[slot] > 0;
+        }
+
+        public String getString(int slot) throws SQLException {
+            int index = indexes[slot];
+            return index > 0 ? rs.getString(index) : null;
+        }
+
+        public int getInt(int slot) throws SQLException {
+            int index = indexes[slot];
+            return index > 0 ? rs.getInt(index) : 0;
+        }
+
+        public double getDouble(int slot) throws SQLException {
+            int index = indexes[slot];
+            return index > 0 ? rs.getDouble(index) : 0.0;
+        }
+
+        public boolean getBoolean(int slot) throws SQLException {
+            int index = indexes[slot];
+            return index > 0 && rs.getBoolean(index);
+        }
+
+        /**
+         * Read a DATETIME/TIMESTAMP column straight into a LocalDateTime,
+         * skipping the intermediate java.sql.Timestamp where the driver allows it
+         */
+        public LocalDateTime getLocalDateTime(int slot) throws SQLException {
+            int index = indexes[slot];
+            if (index <= 0) {
+                return null;
+            }
+            if (localDateTimeSupported) {
+                try {
+                    return rs.getObject(index, LocalDateTime.class);
+                } catch (SQLFeatureNotSupportedException e) {
+                    localDateTimeSupported = false;
+                }
+            }
+            Timestamp timestamp = rs.getTimestamp(index);
+            return timestamp != null ? timestamp.toLocalDateTime() : null;
+        }
+    }
+}
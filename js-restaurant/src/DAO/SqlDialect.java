@@ -0,0 +1,84 @@
+package DAO;
+
+/**
+ * Storage backend SPI: everything the DAOs need to know about the database
+ * product behind the JDBC URL.
+ *
+ * DAO SQL is written to run unchanged on every supported backend (MySQL
+ * backtick quoting is accepted by H2 in MySQL mode, date ranges are plain
+ * comparisons); the few constructs that differ go through the dialect.
+ * The dialect is chosen by DatabaseConfig from db.dialect, or from the
+ * db.url prefix when that is blank.
+ */
+public interface SqlDialect {
+
+    /**
+     * @return Short name used in db.dialect and in log messages
+     */
+    String getName();
+
+    /**
+     * @return JDBC driver class used when db.driver_class is blank
+     */
+    String getDefaultDriverClass();
+
+    /**
+     * Adjust the configured JDBC URL, e.g. to add required compatibility flags
+     * @param url URL from the configuration
+     * @return URL handed to the driver
+     */
+    String prepareUrl(String url);
+
+    /**
+     * Check whether a db.driver.* setting is understood by this backend's driver
+     * @param key Setting name without the db.driver. prefix
+     * @return true if it should be passed to the driver
+     */
+    boolean acceptsDriverProperty(String key);
+
+    /**
+     * SQL expression for the calendar date of a DATETIME column, for GROUP BY and SELECT lists
+     * @param column Column or expression
+     * @return SQL expression of type DATE
+     */
+    String dateOf(String column);
+
+    /**
+     * @return true if the schema's stored procedures (clock_in_employee, ...) are available
+     */
+    boolean supportsStoredProcedures();
+
+    /**
+     * @return true if the database runs inside this JVM
+     */
+    boolean isEmbedded();
+
+    /**
+     * Pick the dialect for a JDBC URL
+     * @param url JDBC URL
+     * @return Matching dialect; MySQL when the URL is not recognised
+     */
+    static SqlDialect forUrl(String url) {
+        if (url != null && url.startsWith("jdbc:h2:")) {
+            return new H2Dialect();
+        }
+        return new MySqlDialect();
+    }
+
+    /**
+     * Look up a dialect by name
+     * @param name Dialect name ("mysql" or "h2")
+     * @return Matching dialect
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    static SqlDialect forName(String name) {
+        switch (name.trim().toLowerCase()) {
+            case "mysql":
+                return new MySqlDialect();
+            case "h2":
+                return new H2Dialect();
+            default:
+                throw new IllegalArgumentException("Unknown database dialect: " + name);
+        }
+    }
+}
@@ -13,21 +13,71 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
+import utils.CacheMetrics;
+import utils.MetricsRegistry;
 
 /**
  * Data Access Object for RestaurantTable entities
- * Includes observer pattern implementation for table status changes
+ * Includes observer pattern implementation for table status changes; observers
+ * are called asynchronously by TableStatusDispatcher
+ *
+ * The state of every table is kept in memory, indexed by ID, table number,
+ * status and assigned waiter, and all reads are served from there. Writes go
+ * to the database first and then to memory, and are logged in table_change.
+ * The whole table list is loaded on first use; after that every SYNC_INTERVAL
+ * the terminal reads the table_change entries it has not seen, following the
+ * log with a ChangeLog.Cursor, and reloads just those tables, once per table however often it changed, so
+ * changes made on other terminals show up within about a second. A full
+ * reload only happens every FULL_RELOAD_INTERVAL, as a safety net, or when
+ * the terminal was away long enough for the log entries it missed to be
+ * purged. Observers are notified of every status change, whether made here
+ * or on another terminal. Callers always receive copies, so changing a
+ * returned table has no effect until it is saved.
  */
 public class TableDAO extends BaseDAO<RestaurantTable> {
     
     private static TableDAO instance;
-    private final List<TableStatusObserver> observers = new CopyOnWriteArrayList<>();
+    private final TableStatusDispatcher dispatcher = new TableStatusDispatcher();
+    private static final RowMapper<RestaurantTable> TABLE_MAPPER = new TableMapper();
+    private static final long SYNC_INTERVAL = 1000;              // 1 second in milliseconds
+    private static final long FULL_RELOAD_INTERVAL = 600000;     // 10 minutes in milliseconds
+    private static final long PURGE_INTERVAL = 3600000;          // 1 hour in milliseconds
+    private static final int MAX_CHANGES_PER_SYNC = 500;
+    private static final int LOG_RETENTION_DAYS = 1;
+    private static final Comparator<RestaurantTable> BY_TABLE_ID =
+            Comparator.comparing(RestaurantTable::getTableId);
+    
+    // In-memory table state; writers hold stateLock, readers never lock
+    private final Object stateLock = new Object();
+    private final Map<String, RestaurantTable> tablesById = new ConcurrentHashMap<>();
+    private final Map<String, String> tableIdsByNumber = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> tableIdsByStatus = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> tableIdsByWaiter = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+    private long stateVersion; // guarded by stateLock, bumped on every change
+    private ChangeLog.Cursor changeCursor; // guarded by stateLock, position in table_change
+    private volatile long lastFullReload;
+    private long lastPurge; // only used on the sync thread
+    private ScheduledExecutorService syncExecutor;
+    // Hits are reads served from memory, misses are tables (re)read from the
+    // database by a reload or sync, so the ratio shows how much the state churns
+    private final CacheMetrics metrics = MetricsRegistry.cache("tables")
+            .withSize(() -> tablesById.size());
     
     // Private constructor for singleton pattern
     private TableDAO() {
@@ -44,21 +94,86 @@ public class TableDAO extends BaseDAO<RestaurantTable> {
     
     // Observer pattern methods
     public void addObserver(TableStatusObserver observer) {
-        observers.add(observer);
+        dispatcher.addObserver(observer);
     }
     
     public void removeObserver(TableStatusObserver observer) {
-        observers.remove(observer);
+        dispatcher.removeObserver(observer);
     }
     
+    /**
+     * Queue a status change for the observers; returns without waiting for them
+     */
     private void notifyTableStatusChanged(String tableId, String newStatus) {
-        for (TableStatusObserver observer : observers) {
-            observer.onTableStatusChanged(tableId, newStatus);
-        }
+        dispatcher.publish(tableId, newStatus);
     }
     
     @Override
     public List<RestaurantTable> getAll() throws SQLException {
+        ensureLoaded();
+        return copiesOf(tablesById.keySet());
+    }
+    
+    /**
+     * Reload every table from the database, replacing the in-memory state
+     * Observers are notified of any status that changed
+     * @throws SQLException If a database error occurs
+     */
+    public void reload() throws SQLException {
+        long versionBeforeLoad;
+        synchronized (stateLock) {
+            versionBeforeLoad = stateVersion;
+        }
+        // Changes logged after this point are applied by the next sync
+        ChangeLog.Cursor cursorBeforeLoad;
+        try (Connection conn = dbManager.getConnection()) {
+            cursorBeforeLoad = ChangeLog.TABLES.startCursor(conn);
+        }
+        long start = System.nanoTime();
+        List<RestaurantTable> tables = loadAll();
+        metrics.recordLoad(start);
+        metrics.recordMisses(tables.size());
+        List<RestaurantTable> changed = new ArrayList<>();
+        synchronized (stateLock) {
+            if (loaded && stateVersion != versionBeforeLoad) {
+                // A write landed while loading; these rows may predate it
+                logger.fine("Table state changed during reload, skipping");
+                return;
+            }
+            Set<String> removed = new HashSet<>(tablesById.keySet());
+            for (RestaurantTable table : tables) {
+                removed.remove(table.getTableId());
+                RestaurantTable previous = putState(table);
+                if (loaded && (previous == null || !Objects.equals(previous.getStatus(), table.getStatus()))) {
+                    changed.add(table);
+                }
+            }
+            for (String tableId : removed) {
+                removeState(tableId);
+            }
+            loaded = true;
+            changeCursor = cursorBeforeLoad;
+            lastFullReload = System.currentTimeMillis();
+        }
+        for (RestaurantTable table : changed) {
+            notifyTableStatusChanged(table.getTableId(), table.getStatus());
+        }
+    }
+    
+    /**
+     * Apply a status change that could not be saved yet, e.g. one held in the
+     * offline journal, so this terminal shows it immediately
+     * @param tableId Table ID
+     * @param status New status
+     * @param waiterId Assigned waiter, or null
+     */
+    public void applyLocalStatus(String tableId, String status, String waiterId) {
+        if (updateState(tableId, status, waiterId)) {
+            notifyTableStatusChanged(tableId, status);
+        }
+    }
+    
+    private List<RestaurantTable> loadAll() throws SQLException {
         List<RestaurantTable> tables = new ArrayList<>();
         Connection conn = null;
         Statement stmt = null;
@@ -70,9 +185,7 @@ public class TableDAO extends BaseDAO<RestaurantTable> {
             String sql = "SELECT * FROM restaurant_table";
             rs = stmt.executeQuery(sql);
             
-            while (rs.next()) {
-                tables.add(extractTableFromResultSet(rs));
-            }
+            tables = TABLE_MAPPER.mapAll(rs);
         } catch (SQLException e) {
             logger.log(Level.SEVERE, "Error retrieving all tables", e);
             throw e;
@@ -85,61 +198,21 @@ public class TableDAO extends BaseDAO<RestaurantTable> {
     
     @Override
     public RestaurantTable getById(String id) throws SQLException {
-        RestaurantTable table = null;
-        Connection conn = null;
-        PreparedStatement stmt = null;
-        ResultSet rs = null;
-        
-        try {
-            conn = dbManager.getConnection();
-            String sql = "SELECT * FROM restaurant_table WHERE table_id = ?";
-            stmt = conn.prepareStatement(sql);
-            stmt.setString(1, id);
-            rs = stmt.executeQuery();
-            
-            if (rs.next()) {
-                table = extractTableFromResultSet(rs);
-            }
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "Error retrieving table by ID: " + id, e);
-            throw e;
-        } finally {
-            closeResources(conn, stmt, rs);
-        }
-        
-        return table;
+        ensureLoaded();
+        return id == null ? null : copyOf(tablesById.get(id));
     }
-    /**
- * Get a table by its table number
- * @param tableNumber The table number (e.g., "A1")
- * @return The table, or null if not found
- * @throws SQLException If a database error occurs
- */
-public RestaurantTable getByTableNumber(String tableNumber) throws SQLException {
-    RestaurantTable table = null;
-    Connection conn = null;
-    PreparedStatement stmt = null;
-    ResultSet rs = null;
     
-    try {
-        conn = dbManager.getConnection();
-        String sql = "SELECT * FROM restaurant_table WHERE table_number = ?";
-        stmt = conn.prepareStatement(sql);
-        stmt.setString(1, tableNumber);
-        rs = stmt.executeQuery();
-        
-        if (rs.next()) {
-            table = extractTableFromResultSet(rs);
-        }
-    } catch (SQLException e) {
-        logger.log(Level.SEVERE, "Error retrieving table by number: " + tableNumber, e);
-        throw e;
-    } finally {
-        closeResources(conn, stmt, rs);
+    /**
+     * Get a table by its table number
+     * @param tableNumber The table number (e.g., "A1")
+     * @return The table, or null if not found
+     * @throws SQLException If a database error occurs
+     */
+    public RestaurantTable getByTableNumber(String tableNumber) throws SQLException {
+        ensureLoaded();
+        String tableId = tableNumber == null ? null : tableIdsByNumber.get(tableNumber);
+        return tableId == null ? null : copyOf(tablesById.get(tableId));
     }
-    
-    return table;
-}
 
     @Override
     public boolean add(RestaurantTable table) throws SQLException {
@@ -148,6 +221,10 @@ public RestaurantTable getByTableNumber(String tableNumber) throws SQLException
         
         try {
             conn = dbManager.getConnection();
+            ChangeLog.TABLES.ensureTable(conn);
+            
+            // Begin transaction; the change is logged in the same one
+            conn.setAutoCommit(false);
             String sql = "INSERT INTO restaurant_table (table_id, table_number, status, " +
                          "capacity, location_x, location_y, assigned_waiter_id) " +
                          "VALUES (?, ?, ?, ?, ?, ?, ?)";
@@ -161,11 +238,35 @@ public RestaurantTable getByTableNumber(String tableNumber) throws SQLException
             stmt.setString(7, table.getAssignedWaiterId());
             
             int rowsAffected = stmt.executeUpdate();
+            if (rowsAffected > 0) {
+                ChangeLog.TABLES.record(conn, table.getTableId());
+            }
+            conn.commit();
+            
+            if (rowsAffected > 0 && loaded) {
+                synchronized (stateLock) {
+                    putState(table);
+                }
+            }
             return rowsAffected > 0;
         } catch (SQLException e) {
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException ex) {
+                    logger.log(Level.SEVERE, "Error rolling back transaction", ex);
+                }
+            }
             logger.log(Level.SEVERE, "Error adding table: " + table.getTableId(), e);
             throw e;
         } finally {
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                } catch (SQLException e) {
+                    logger.log(Level.SEVERE, "Error resetting auto-commit", e);
+                }
+            }
             closeResources(conn, stmt, null);
         }
     }
@@ -177,6 +278,10 @@ public RestaurantTable getByTableNumber(String tableNumber) throws SQLException
         
         try {
             conn = dbManager.getConnection();
+            ChangeLog.TABLES.ensureTable(conn);
+            
+            // Begin transaction; the change is logged in the same one
+            conn.setAutoCommit(false);
             String sql = "UPDATE restaurant_table SET table_number = ?, status = ?, " +
                          "capacity = ?, location_x = ?, location_y = ?, assigned_waiter_id = ? " +
                          "WHERE table_id = ?";
@@ -190,17 +295,40 @@ public RestaurantTable getByTableNumber(String tableNumber) throws SQLException
             stmt.setString(7, table.getTableId());
             
             int rowsAffected = stmt.executeUpdate();
+            if (rowsAffected > 0) {
+                ChangeLog.TABLES.record(conn, table.getTableId());
+            }
+            conn.commit();
             
             if (rowsAffected > 0) {
+                if (loaded) {
+                    synchronized (stateLock) {
+                        putState(table);
+                    }
+                }
                 // Notify observers about the table status change
                 notifyTableStatusChanged(table.getTableId(), table.getStatus());
                 return true;
             }
             return false;
         } catch (SQLException e) {
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException ex) {
+                    logger.log(Level.SEVERE, "Error rolling back transaction", ex);
+                }
+            }
             logger.log(Level.SEVERE, "Error updating table: " + table.getTableId(), e);
             throw e;
         } finally {
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                } catch (SQLException e) {
+                    logger.log(Level.SEVERE, "Error resetting auto-commit", e);
+                }
+            }
             closeResources(conn, stmt, null);
         }
     }
@@ -212,16 +340,44 @@ public RestaurantTable getByTableNumber(String tableNumber) throws SQLException
         
         try {
             conn = dbManager.getConnection();
+            ChangeLog.TABLES.ensureTable(conn);
+            
+            // Begin transaction; the change is logged in the same one
+            conn.setAutoCommit(false);
             String sql = "DELETE FROM restaurant_table WHERE table_id = ?";
             stmt = conn.prepareStatement(sql);
             stmt.setString(1, id);
             
             int rowsAffected = stmt.executeUpdate();
+            if (rowsAffected > 0) {
+                ChangeLog.TABLES.record(conn, id);
+            }
+            conn.commit();
+            
+            if (rowsAffected > 0) {
+                synchronized (stateLock) {
+                    removeState(id);
+                }
+            }
             return rowsAffected > 0;
         } catch (SQLException e) {
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException ex) {
+                    logger.log(Level.SEVERE, "Error rolling back transaction", ex);
+                }
+            }
             logger.log(Level.SEVERE, "Error deleting table: " + id, e);
             throw e;
         } finally {
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                } catch (SQLException e) {
+                    logger.log(Level.SEVERE, "Error resetting auto-commit", e);
+                }
+            }
             closeResources(conn, stmt, null);
         }
     }
@@ -232,6 +388,10 @@ public RestaurantTable getByTableNumber(String tableNumber) throws SQLException
 
     try {
         conn = dbManager.getConnection();
+        ChangeLog.TABLES.ensureTable(conn);
+
+        // Begin transaction; the change is logged in the same one
+        conn.setAutoCommit(false);
 
         // SQL query to update the status and assigned waiter (if provided)
         String sql = "UPDATE restaurant_table SET status = ?, assigned_waiter_id = ? WHERE table_id = ?";
@@ -242,13 +402,37 @@ public RestaurantTable getByTableNumber(String tableNumber) throws SQLException
         stmt.setString(2, waiterId);          // Set the assigned waiter, or NULL if not assigned
         stmt.setString(3, tableId);           // Identify the table to update
 
-        // Execute the update
+        // Execute the update, then bring the in-memory state and observers up to date
         int rowsAffected = stmt.executeUpdate();  
+        if (rowsAffected > 0) {
+            ChangeLog.TABLES.record(conn, tableId);
+        }
+        conn.commit();
+
+        if (rowsAffected > 0) {
+            if (updateState(tableId, status, waiterId)) {
+                notifyTableStatusChanged(tableId, status);
+            }
+        }
         return rowsAffected > 0;              // Return true if the update was successful
     } catch (SQLException ex) {
+        if (conn != null) {
+            try {
+                conn.rollback();
+            } catch (SQLException e) {
+                logger.log(Level.SEVERE, "Error rolling back transaction", e);
+            }
+        }
         logger.log(Level.SEVERE, "Error updating table status", ex);
-        return false;  // Return false if an error occurred
+        throw ex;  // Re-throw so callers can tell a lost connection from a missing table
     } finally {
+        if (conn != null) {
+            try {
+                conn.setAutoCommit(true);
+            } catch (SQLException e) {
+                logger.log(Level.SEVERE, "Error resetting auto-commit", e);
+            }
+        }
         closeResources(conn, stmt, null);  // Always close resources after use
     }
 }
@@ -256,54 +440,16 @@ public RestaurantTable getByTableNumber(String tableNumber) throws SQLException
 
     
     public List<RestaurantTable> getTablesByStatus(String status) throws SQLException {
-        List<RestaurantTable> tables = new ArrayList<>();
-        Connection conn = null;
-        PreparedStatement stmt = null;
-        ResultSet rs = null;
-        
-        try {
-            conn = dbManager.getConnection();
-            String sql = "SELECT * FROM restaurant_table WHERE status = ?";
-            stmt = conn.prepareStatement(sql);
-            stmt.setString(1, status);
-            rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                tables.add(extractTableFromResultSet(rs));
-            }
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "Error retrieving tables by status: " + status, e);
-            throw e;
-        } finally {
-            closeResources(conn, stmt, rs);
-        }
-        
+        ensureLoaded();
+        List<RestaurantTable> tables = copiesOf(indexed(tableIdsByStatus, status));
+        tables.removeIf(table -> !status.equals(table.getStatus()));
         return tables;
     }
     
     public List<RestaurantTable> getTablesByWaiter(String waiterId) throws SQLException {
-        List<RestaurantTable> tables = new ArrayList<>();
-        Connection conn = null;
-        PreparedStatement stmt = null;
-        ResultSet rs = null;
-        
-        try {
-            conn = dbManager.getConnection();
-            String sql = "SELECT * FROM restaurant_table WHERE assigned_waiter_id = ?";
-            stmt = conn.prepareStatement(sql);
-            stmt.setString(1, waiterId);
-            rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                tables.add(extractTableFromResultSet(rs));
-            }
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "Error retrieving tables by waiter: " + waiterId, e);
-            throw e;
-        } finally {
-            closeResources(conn, stmt, rs);
-        }
-        
+        ensureLoaded();
+        List<RestaurantTable> tables = copiesOf(indexed(tableIdsByWaiter, waiterId));
+        tables.removeIf(table -> !waiterId.equals(table.getAssignedWaiterId()));
         return tables;
     }
     
@@ -313,59 +459,330 @@ public RestaurantTable getByTableNumber(String tableNumber) throws SQLException
         
         try {
             conn = dbManager.getConnection();
+            ChangeLog.TABLES.ensureTable(conn);
+            
+            // Begin transaction; the change is logged in the same one
+            conn.setAutoCommit(false);
             String sql = "UPDATE restaurant_table SET assigned_waiter_id = ? WHERE table_id = ?";
             stmt = conn.prepareStatement(sql);
             stmt.setString(1, waiterId);
             stmt.setString(2, tableId);
             
             int rowsAffected = stmt.executeUpdate();
+            if (rowsAffected > 0) {
+                ChangeLog.TABLES.record(conn, tableId);
+            }
+            conn.commit();
+            
+            if (rowsAffected > 0) {
+                updateWaiterState(tableId, waiterId);
+            }
             return rowsAffected > 0;
         } catch (SQLException e) {
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException ex) {
+                    logger.log(Level.SEVERE, "Error rolling back transaction", ex);
+                }
+            }
             logger.log(Level.SEVERE, "Error assigning waiter to table: " + tableId, e);
             throw e;
         } finally {
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                } catch (SQLException e) {
+                    logger.log(Level.SEVERE, "Error resetting auto-commit", e);
+                }
+            }
             closeResources(conn, stmt, null);
         }
     }
     
-    private RestaurantTable extractTableFromResultSet(ResultSet rs) throws SQLException {
-        String tableId = rs.getString("table_id");
-        String tableNumber = rs.getString("table_number");
-        String status = rs.getString("status");
-        int capacity = rs.getInt("capacity");
-        int locationX = rs.getInt("location_x");
-        int locationY = rs.getInt("location_y");
-        String assignedWaiterId = rs.getString("assigned_waiter_id");
-        
-        return new RestaurantTable(tableId, tableNumber, status, capacity, 
-                                  locationX, locationY, assignedWaiterId);
+    /**
+     * Maps restaurant_table rows to RestaurantTable objects
+     */
+    private static final class TableMapper extends RowMapper<RestaurantTable> {
+        private static final int TABLE_ID = 0;
+        private static final int TABLE_NUMBER = 1;
+        private static final int STATUS = 2;
+        private static final int CAPACITY = 3;
+        private static final int LOCATION_X = 4;
+        private static final int LOCATION_Y = 5;
+        private static final int ASSIGNED_WAITER_ID = 6;
+
+        TableMapper() {
+            super("table_id", "table_number", "status", "capacity",
+                  "location_x", "location_y", "assigned_waiter_id");
+        }
+
+        @Override
+        protected RestaurantTable mapRow(Row row) throws SQLException {
+            return new RestaurantTable(row.getString(TABLE_ID), row.getString(TABLE_NUMBER),
+                                       row.getString(STATUS), row.getInt(CAPACITY),
+                                       row.getInt(LOCATION_X), row.getInt(LOCATION_Y),
+                                       row.getString(ASSIGNED_WAITER_ID));
+        }
     }
+    
     /**
- * Get table count grouped by status
- * @return Map with status as key and count as value
- */
-public Map<String, Integer> getTableStatusSummary() throws SQLException {
-    Map<String, Integer> statusCounts = new HashMap<>();
-    Connection conn = null;
-    Statement stmt = null;
-    ResultSet rs = null;
+     * Get table count grouped by status
+     * @return Map with status as key and count as value
+     */
+    public Map<String, Integer> getTableStatusSummary() throws SQLException {
+        ensureLoaded();
+        Map<String, Integer> statusCounts = new HashMap<>();
+        for (RestaurantTable table : tablesById.values()) {
+            if (table.getStatus() != null) {
+                statusCounts.merge(table.getStatus(), 1, Integer::sum);
+            }
+        }
+        return statusCounts;
+    }
+
+    /**
+     * Load the tables on first use and start the background reloads
+     */
+    private void ensureLoaded() throws SQLException {
+        if (loaded) {
+            metrics.recordHit();
+            return;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                reload();
+                logger.info("Loaded " + tablesById.size() + " tables into memory");
+            }
+            if (syncExecutor == null) {
+                syncExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+                    Thread thread = new Thread(r, "table-state-sync");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                syncExecutor.scheduleWithFixedDelay(this::syncWithDatabase,
+                        SYNC_INTERVAL, SYNC_INTERVAL, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
     
-    try {
-        conn = dbManager.getConnection();
-        stmt = conn.createStatement();
-        String sql = "SELECT status, COUNT(*) as count FROM restaurant_table GROUP BY status";
-        rs = stmt.executeQuery(sql);
+    private void syncWithDatabase() {
+        // Journaled changes are not in the database yet; a reload would undo them
+        if (OfflineJournal.getInstance().hasPending()) {
+            return;
+        }
+        try {
+            if (System.currentTimeMillis() - lastFullReload > FULL_RELOAD_INTERVAL) {
+                reload();
+            } else {
+                applyLoggedChanges();
+            }
+            purgeChangeLog();
+        } catch (SQLException e) {
+            logger.log(Level.FINE, "Could not reload table state", e);
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Unexpected error reloading table state", e);
+        }
+    }
+    
+    /**
+     * Reload the tables logged in table_change since the last sync, each once
+     */
+    private void applyLoggedChanges() throws SQLException {
+        ChangeLog.Cursor cursor;
+        long versionBeforeLoad;
+        synchronized (stateLock) {
+            cursor = changeCursor;
+            versionBeforeLoad = stateVersion;
+        }
+        if (cursor == null) {
+            return;
+        }
         
-        while (rs.next()) {
-            statusCounts.put(rs.getString("status"), rs.getInt("count"));
+        Map<Long, String> changes;
+        Set<String> changedIds;
+        Map<String, RestaurantTable> rows = new HashMap<>();
+        try (Connection conn = dbManager.getConnection()) {
+            changes = cursor.read(conn, MAX_CHANGES_PER_SYNC);
+            if (cursor.isLost()) {
+                // Entries this terminal has not seen were purged
+                logger.info("Table change log no longer has entries this terminal has not seen, reloading all tables");
+                lastFullReload = 0;
+                return;
+            }
+            if (changes.isEmpty()) {
+                return;
+            }
+            changedIds = new LinkedHashSet<>(changes.values());
+            long start = System.nanoTime();
+            for (RestaurantTable table : loadByIds(changedIds, conn)) {
+                rows.put(table.getTableId(), table);
+            }
+            metrics.recordLoad(start);
+            metrics.recordMisses(changedIds.size());
+        }
+        
+        List<RestaurantTable> changed = new ArrayList<>();
+        synchronized (stateLock) {
+            if (stateVersion != versionBeforeLoad || changeCursor != cursor) {
+                // A write or reload landed while loading; read these entries again next time
+                return;
+            }
+            for (String tableId : changedIds) {
+                RestaurantTable table = rows.get(tableId);
+                if (table == null) {
+                    removeState(tableId);
+                    continue;
+                }
+                RestaurantTable previous = putState(table);
+                if (previous == null || !Objects.equals(previous.getStatus(), table.getStatus())) {
+                    changed.add(table);
+                }
+            }
+            cursor.markSeen(changes.keySet());
+        }
+        for (RestaurantTable table : changed) {
+            notifyTableStatusChanged(table.getTableId(), table.getStatus());
         }
-    } catch (SQLException e) {
-        logger.log(Level.SEVERE, "Error retrieving table status summary", e);
-        throw e;
-    } finally {
-        closeResources(conn, stmt, rs);
     }
     
-    return statusCounts;
-}
+    private List<RestaurantTable> loadByIds(Set<String> tableIds, Connection conn) throws SQLException {
+        StringBuilder sql = new StringBuilder("SELECT * FROM restaurant_table WHERE table_id IN (");
+        for (int i = 0; i < tableIds.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(")");
+        try (PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            int i = 1;
+            for (String tableId : tableIds) {
+                stmt.setString(i++, tableId);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                return TABLE_MAPPER.mapAll(rs);
+            }
+        }
+    }
+    
+    private void purgeChangeLog() throws SQLException {
+        long now = System.currentTimeMillis();
+        if (now - lastPurge < PURGE_INTERVAL) {
+            return;
+        }
+        lastPurge = now;
+        try (Connection conn = dbManager.getConnection()) {
+            int purged = ChangeLog.TABLES.purgeBefore(conn, LocalDateTime.now().minusDays(LOG_RETENTION_DAYS));
+            if (purged > 0) {
+                logger.fine("Purged " + purged + " old table changes");
+            }
+        }
+    }
+    
+    /**
+     * Change the status and waiter of a table held in memory
+     * @return true if the status changed
+     */
+    private boolean updateState(String tableId, String status, String waiterId) {
+        synchronized (stateLock) {
+            RestaurantTable current = tablesById.get(tableId);
+            if (current == null) {
+                return true;
+            }
+            RestaurantTable updated = copyOf(current);
+            updated.setStatus(status);
+            updated.setAssignedWaiterId(waiterId);
+            putState(updated);
+            return !Objects.equals(current.getStatus(), status);
+        }
+    }
+    
+    /**
+     * Change the waiter of a table held in memory, keeping its current status
+     */
+    private void updateWaiterState(String tableId, String waiterId) {
+        synchronized (stateLock) {
+            RestaurantTable current = tablesById.get(tableId);
+            if (current == null) {
+                return;
+            }
+            RestaurantTable updated = copyOf(current);
+            updated.setAssignedWaiterId(waiterId);
+            putState(updated);
+        }
+    }
+    
+    /**
+     * Store a copy of the table and update the indexes; caller holds stateLock
+     * @return The state it replaced, or null
+     */
+    private RestaurantTable putState(RestaurantTable table) {
+        stateVersion++;
+        RestaurantTable stored = copyOf(table);
+        RestaurantTable previous = tablesById.put(stored.getTableId(), stored);
+        if (previous != null) {
+            unindex(previous);
+        }
+        if (stored.getTableNumber() != null) {
+            tableIdsByNumber.put(stored.getTableNumber(), stored.getTableId());
+        }
+        index(tableIdsByStatus, stored.getStatus(), stored.getTableId());
+        index(tableIdsByWaiter, stored.getAssignedWaiterId(), stored.getTableId());
+        return previous;
+    }
+    
+    /**
+     * Remove a table and its index entries; caller holds stateLock
+     */
+    private void removeState(String tableId) {
+        stateVersion++;
+        RestaurantTable previous = tablesById.remove(tableId);
+        if (previous != null) {
+            unindex(previous);
+        }
+    }
+    
+    private void unindex(RestaurantTable table) {
+        if (table.getTableNumber() != null) {
+            tableIdsByNumber.remove(table.getTableNumber(), table.getTableId());
+        }
+        Set<String> ids = table.getStatus() == null ? null : tableIdsByStatus.get(table.getStatus());
+        if (ids != null) {
+            ids.remove(table.getTableId());
+        }
+        ids = table.getAssignedWaiterId() == null ? null : tableIdsByWaiter.get(table.getAssignedWaiterId());
+        if (ids != null) {
+            ids.remove(table.getTableId());
+        }
+    }
+    
+    private static void index(Map<String, Set<String>> index, String key, String tableId) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(tableId);
+        }
+    }
+    
+    private static Set<String> indexed(Map<String, Set<String>> index, String key) {
+        Set<String> ids = key == null ? null : index.get(key);
+        return ids == null ? new HashSet<>() : ids;
+    }
+    
+    private List<RestaurantTable> copiesOf(Iterable<String> tableIds) {
+        List<RestaurantTable> tables = new ArrayList<>();
+        for (String tableId : tableIds) {
+            RestaurantTable table = tablesById.get(tableId);
+            if (table != null) {
+                tables.add(copyOf(table));
+            }
+        }
+        tables.sort(BY_TABLE_ID);
+        return tables;
+    }
+    
+    private static RestaurantTable copyOf(RestaurantTable table) {
+        if (table == null) {
+            return null;
+        }
+        return new RestaurantTable(table.getTableId(), table.getTableNumber(), table.getStatus(),
+                                   table.getCapacity(), table.getLocationX(), table.getLocationY(),
+                                   table.getAssignedWaiterId());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,133 @@
+package DAO;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.application.Platform;
+
+/**
+ * Delivers table status changes to TableStatusObservers off the writer's thread
+ *
+ * publish() only records the change and returns, so a status write is done
+ * once its row is saved. Changes are delivered on the "table-status-dispatch"
+ * thread, coalesced per table: if a table changes several times before its
+ * change is delivered, observers only see its latest status. FxTableStatusObserver
+ * instances are called on the JavaFX thread instead, with everything that
+ * arrived since the previous delivery handed over in one Platform.runLater
+ * and one onTableStatusesChanged call.
+ */
+class TableStatusDispatcher {
+    private static final Logger logger = Logger.getLogger(TableStatusDispatcher.class.getName());
+
+    private final List<TableStatusObserver> observers = new CopyOnWriteArrayList<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "table-status-dispatch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Latest undelivered status per table, in the order tables first changed
+    private final Map<String, String> pending = new LinkedHashMap<>();       // guarded by pending
+    private boolean dispatchScheduled;                                        // guarded by pending
+    private final Map<String, String> pendingFx = new LinkedHashMap<>();     // guarded by pendingFx
+    private boolean fxScheduled;                                              // guarded by pendingFx
+
+    void addObserver(TableStatusObserver observer) {
+        observers.add(observer);
+    }
+
+    void removeObserver(TableStatusObserver observer) {
+        observers.remove(observer);
+    }
+
+    /**
+     * Queue a status change for delivery
+     * @param tableId Table that changed
+     * @param status Its new status
+     */
+    void publish(String tableId, String status) {
+        synchronized (pending) {
+            pending.remove(tableId); // re-inserted at the end, as the latest change
+            pending.put(tableId, status);
+            if (dispatchScheduled) {
+                return;
+            }
+            dispatchScheduled = true;
+        }
+        executor.execute(this::dispatch);
+    }
+
+    private void dispatch() {
+        Map<String, String> changes;
+        synchronized (pending) {
+            changes = new LinkedHashMap<>(pending);
+            pending.clear();
+            dispatchScheduled = false;
+        }
+
+        boolean hasFxObservers = false;
+        for (TableStatusObserver observer : observers) {
+            if (observer instanceof FxTableStatusObserver) {
+                hasFxObservers = true;
+            } else {
+                deliver(observer, changes);
+            }
+        }
+        if (hasFxObservers) {
+            publishFx(changes);
+        }
+    }
+
+    private void publishFx(Map<String, String> changes) {
+        synchronized (pendingFx) {
+            for (Map.Entry<String, String> change : changes.entrySet()) {
+                pendingFx.remove(change.getKey());
+                pendingFx.put(change.getKey(), change.getValue());
+            }
+            if (fxScheduled) {
+                return;
+            }
+            fxScheduled = true;
+        }
+        try {
+            Platform.runLater(this::dispatchFx);
+        } catch (IllegalStateException e) {
+            // JavaFX toolkit not initialized: deliver on this thread
+            dispatchFx();
+        }
+    }
+
+    private void dispatchFx() {
+        Map<String, String> changes;
+        synchronized (pendingFx) {
+            changes = new LinkedHashMap<>(pendingFx);
+            pendingFx.clear();
+            fxScheduled = false;
+        }
+        for (TableStatusObserver observer : new ArrayList<>(observers)) {
+            if (observer instanceof FxTableStatusObserver) {
+                try {
+                    ((FxTableStatusObserver) observer).onTableStatusesChanged(changes);
+                } catch (RuntimeException e) {
+                    logger.log(Level.WARNING, "Table status observer failed", e);
+                }
+            }
+        }
+    }
+
+    private void deliver(TableStatusObserver observer, Map<String, String> changes) {
+        for (Map.Entry<String, String> change : changes.entrySet()) {
+            try {
+                observer.onTableStatusChanged(change.getKey(), change.getValue());
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Table status observer failed", e);
+            }
+        }
+    }
+}
@@ -21,6 +21,7 @@ import java.util.logging.Logger;
 public class TimeRecordDAO {
     private static final Logger logger = Logger.getLogger(TimeRecordDAO.class.getName());
     private static TimeRecordDAO instance;
+    private static final RowMapper<TimeRecord> TIME_RECORD_MAPPER = new TimeRecordMapper();
     private final DatabaseManager dbManager;
     
     // Private constructor for singleton pattern
@@ -52,9 +53,7 @@ public class TimeRecordDAO {
             String sql = "SELECT * FROM time_clock ORDER BY clock_in DESC";
             rs = stmt.executeQuery(sql);
             
-            while (rs.next()) {
-                records.add(extractTimeRecordFromResultSet(rs));
-            }
+            records = TIME_RECORD_MAPPER.mapAll(rs);
         } catch (SQLException e) {
             logger.log(Level.SEVERE, "Error retrieving all time records", e);
             throw e;
@@ -83,9 +82,7 @@ public class TimeRecordDAO {
             stmt.setInt(1, id);
             rs = stmt.executeQuery();
             
-            if (rs.next()) {
-                record = extractTimeRecordFromResultSet(rs);
-            }
+            record = TIME_RECORD_MAPPER.mapFirst(rs);
         } catch (SQLException e) {
             logger.log(Level.SEVERE, "Error retrieving time record by ID: " + id, e);
             throw e;
@@ -114,9 +111,7 @@ public class TimeRecordDAO {
             stmt.setString(1, userId);
             rs = stmt.executeQuery();
             
-            while (rs.next()) {
-                records.add(extractTimeRecordFromResultSet(rs));
-            }
+            records = TIME_RECORD_MAPPER.mapAll(rs);
         } catch (SQLException e) {
             logger.log(Level.SEVERE, "Error retrieving time records for employee: " + userId, e);
             throw e;
@@ -143,17 +138,15 @@ public class TimeRecordDAO {
         
         try {
             conn = dbManager.getConnection();
-            String sql = "SELECT * FROM time_clock WHERE user_id = ? AND DATE(clock_in) BETWEEN ? AND ? " +
+            String sql = "SELECT * FROM time_clock WHERE user_id = ? AND clock_in >= ? AND clock_in < ? " +
                          "ORDER BY clock_in ASC";
             stmt = conn.prepareStatement(sql);
             stmt.setString(1, userId);
-            stmt.setDate(2, java.sql.Date.valueOf(startDate));
-            stmt.setDate(3, java.sql.Date.valueOf(endDate));
+            stmt.setTimestamp(2, Timestamp.valueOf(startDate.atStartOfDay()));
+            stmt.setTimestamp(3, Timestamp.valueOf(endDate.plusDays(1).atStartOfDay()));
             rs = stmt.executeQuery();
             
-            while (rs.next()) {
-                records.add(extractTimeRecordFromResultSet(rs));
-            }
+            records = TIME_RECORD_MAPPER.mapAll(rs);
         } catch (SQLException e) {
             logger.log(Level.SEVERE, "Error retrieving time records for employee: " + userId + 
                     " between " + startDate + " and " + endDate, e);
@@ -273,25 +266,36 @@ public boolean clockOut(String userId) throws SQLException {
     }
     
     /**
-     * Extract a TimeRecord object from a ResultSet
-     * @param rs ResultSet containing time record data
-     * @return TimeRecord object
+     * Maps time_clock rows to TimeRecord objects
      */
-    private TimeRecord extractTimeRecordFromResultSet(ResultSet rs) throws SQLException {
-        TimeRecord record = new TimeRecord();
-        
-        record.setRecordId(rs.getInt("time_clock_id"));
-        record.setUserId(rs.getString("user_id"));
-        record.setClockInTime(rs.getTimestamp("clock_in").toLocalDateTime());
-        
-        Timestamp clockOutTime = rs.getTimestamp("clock_out");
-        if (clockOutTime != null) {
-            record.setClockOutTime(clockOutTime.toLocalDateTime());
+    private static final class TimeRecordMapper extends RowMapper<TimeRecord> {
+        private static final int TIME_CLOCK_ID = 0;
+        private static final int USER_ID = 1;
+        private static final int CLOCK_IN = 2;
+        private static final int CLOCK_OUT = 3;
+        private static final int TOTAL_HOURS = 4;
+
+        TimeRecordMapper() {
+            super("time_clock_id", "user_id", "clock_in", "clock_out", "total_hours");
+        }
+
+        @Override
+        protected TimeRecord mapRow(Row row) throws SQLException {
+            TimeRecord record = new TimeRecord();
+
+            record.setRecordId(row.getInt(TIME_CLOCK_ID));
+            record.setUserId(row.getString(USER_ID));
+            record.setClockInTime(row.getLocalDateTime(CLOCK_IN));
+
+            LocalDateTime clockOutTime = row.getLocalDateTime(CLOCK_OUT);
+            if (clockOutTime != null) {
+                record.setClockOutTime(clockOutTime);
+            }
+
+            record.setTotalHours(row.getDouble(TOTAL_HOURS));
+
+            return record;
         }
-        
-        record.setTotalHours(rs.getDouble("total_hours"));
-        
-        return record;
     }
     
     /**
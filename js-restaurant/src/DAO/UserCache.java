@@ -0,0 +1,131 @@
+package DAO;
+
+import Model.User;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import utils.CacheMetrics;
+import utils.MetricsRegistry;
+
+/**
+ * Cache of users by ID for screens that only need to turn a user ID into a
+ * name, such as order cards and table details.
+ *
+ * Entries expire after USER_TTL; IDs with no matching user are remembered for
+ * the shorter MISSING_TTL so a stale ID on an old order does not cost a query
+ * on every refresh. UserDAO invalidates an entry whenever that user is added,
+ * changed or deleted on this terminal; a load that was running at the time
+ * is not cached, so it cannot bring back the old user. The cache holds at
+ * most MAX_ENTRIES users; when full, expired entries and then the oldest ones
+ * are dropped.
+ *
+ * Cached users are shared between callers and must not be modified.
+ */
+public class UserCache {
+    private static final Logger logger = Logger.getLogger(UserCache.class.getName());
+    private static final long USER_TTL = 300000;     // 5 minutes in milliseconds
+    private static final long MISSING_TTL = 30000;   // 30 seconds in milliseconds
+    private static final int MAX_ENTRIES = 500;
+
+    private static final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // Bumped by every invalidation, before the entry is removed
+    private static final AtomicLong invalidations = new AtomicLong();
+    private static final CacheMetrics metrics = MetricsRegistry.cache("users").withSize(() -> entries.size());
+
+    private UserCache() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Get a user by ID, loading it from the database if it is not cached
+     * @param userId User ID
+     * @return The user, or null if there is no user with this ID
+     * @throws SQLException if the user had to be loaded and the query failed
+     */
+    public static User get(String userId) throws SQLException {
+        if (userId == null) {
+            return null;
+        }
+
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(userId);
+        if (entry != null && entry.expiresAt > now) {
+            metrics.recordHit();
+            return entry.user;
+        }
+
+        metrics.recordMiss();
+        long invalidationsBeforeLoad = invalidations.get();
+        long start = System.nanoTime();
+        User user = UserDAO.getInstance().getById(userId);
+        metrics.recordLoad(start);
+        put(userId, user, now, invalidationsBeforeLoad);
+        return user;
+    }
+
+    /**
+     * Drop a user so the next lookup reads it from the database
+     * @param userId ID of the user that was added, changed or deleted
+     */
+    public static void invalidate(String userId) {
+        if (userId != null) {
+            invalidations.incrementAndGet();
+            entries.remove(userId);
+        }
+    }
+
+    /**
+     * Drop every cached user
+     */
+    public static void invalidateAll() {
+        invalidations.incrementAndGet();
+        entries.clear();
+    }
+
+    /**
+     * Cache a loaded user unless an invalidation happened since the load
+     * started. The check runs inside compute(), so an invalidate() either
+     * sees the entry and removes it or is seen here and keeps it out.
+     */
+    private static void put(String userId, User user, long now, long invalidationsBeforeLoad) {
+        if (entries.size() >= MAX_ENTRIES && !entries.containsKey(userId)) {
+            evict(now);
+        }
+        Entry loaded = new Entry(user, now + (user != null ? USER_TTL : MISSING_TTL));
+        entries.compute(userId, (id, current) ->
+                invalidations.get() == invalidationsBeforeLoad ? loaded : current);
+    }
+
+    /**
+     * Make room for a new entry: remove expired entries, then the oldest
+     * quarter of the cache if that was not enough
+     */
+    private static void evict(long now) {
+        int before = entries.size();
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+        metrics.recordEvictions(before - entries.size());
+        int excess = entries.size() - MAX_ENTRIES * 3 / 4;
+        if (excess <= 0) {
+            return;
+        }
+        entries.entrySet().stream()
+                .sorted((a, b) -> Long.compare(a.getValue().expiresAt, b.getValue().expiresAt))
+                .limit(excess)
+                .map(Map.Entry::getKey)
+                .forEach(entries::remove);
+        metrics.recordEvictions(excess);
+        logger.fine("User cache full, evicted " + excess + " entries");
+    }
+
+    private static final class Entry {
+        final User user;
+        final long expiresAt;
+
+        Entry(User user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -25,6 +25,7 @@ import java.util.logging.Level;
 public class UserDAO extends BaseDAO<User> {
     
     private static UserDAO instance;
+    private static final RowMapper<User> USER_MAPPER = new UserMapper();
     
     // Private constructor for singleton pattern
     private UserDAO() {
@@ -52,9 +53,7 @@ public class UserDAO extends BaseDAO<User> {
             String sql = "SELECT * FROM user";
             rs = stmt.executeQuery(sql);
             
-            while (rs.next()) {
-                users.add(extractUserFromResultSet(rs));
-            }
+            users = USER_MAPPER.mapAll(rs);
         } catch (SQLException e) {
             logger.log(Level.SEVERE, "Error retrieving all users", e);
             throw e;
@@ -79,9 +78,7 @@ public class UserDAO extends BaseDAO<User> {
             stmt.setString(1, id);
             rs = stmt.executeQuery();
             
-            if (rs.next()) {
-                user = extractUserFromResultSet(rs);
-            }
+            user = USER_MAPPER.mapFirst(rs);
         } catch (SQLException e) {
             logger.log(Level.SEVERE, "Error retrieving user by ID: " + id, e);
             throw e;
@@ -105,9 +102,7 @@ public class UserDAO extends BaseDAO<User> {
             stmt.setString(1, username);
             rs = stmt.executeQuery();
             
-            if (rs.next()) {
-                user = extractUserFromResultSet(rs);
-            }
+            user = USER_MAPPER.mapFirst(rs);
         } catch (SQLException e) {
             logger.log(Level.SEVERE, "Error retrieving user by username: " + username, e);
             throw e;
@@ -138,6 +133,7 @@ public class UserDAO extends BaseDAO<User> {
             stmt.setBoolean(8, user.isActive());
             
             int rowsAffected = stmt.executeUpdate();
+            UserCache.invalidate(user.getUserId());
             return rowsAffected > 0;
         } catch (SQLException e) {
             logger.log(Level.SEVERE, "Error adding user: " + user.getUserId(), e);
@@ -166,6 +162,7 @@ public class UserDAO extends BaseDAO<User> {
             stmt.setString(7, user.getUserId());
             
             int rowsAffected = stmt.executeUpdate();
+            UserCache.invalidate(user.getUserId());
             return rowsAffected > 0;
         } catch (SQLException e) {
             logger.log(Level.SEVERE, "Error updating user: " + user.getUserId(), e);
@@ -199,6 +196,7 @@ public boolean updateWithPassword(User user, String newPassword) throws SQLExcep
         stmt.setString(8, user.getUserId());
         
         int rowsAffected = stmt.executeUpdate();
+        UserCache.invalidate(user.getUserId());
         return rowsAffected > 0;
     } catch (SQLException e) {
         logger.log(Level.SEVERE, "Error updating user with password: " + user.getUserId(), e);
@@ -233,6 +231,7 @@ public boolean addWithPassword(User user, String password) throws SQLException {
         stmt.setBoolean(8, user.isActive());
         
         int rowsAffected = stmt.executeUpdate();
+        UserCache.invalidate(user.getUserId());
         return rowsAffected > 0;
     } catch (SQLException e) {
         logger.log(Level.SEVERE, "Error adding user with password: " + user.getUserId(), e);
@@ -253,6 +252,7 @@ public boolean addWithPassword(User user, String password) throws SQLException {
             stmt.setString(1, id);
             
             int rowsAffected = stmt.executeUpdate();
+            UserCache.invalidate(id);
             return rowsAffected > 0;
         } catch (SQLException e) {
             logger.log(Level.SEVERE, "Error deleting user: " + id, e);
@@ -289,6 +289,10 @@ public boolean addWithPassword(User user, String password) throws SQLException {
     }
     
     public boolean clockInEmployee(String userId) throws SQLException {
+        if (!dialect.supportsStoredProcedures()) {
+            return TimeRecordDAO.getInstance().clockIn(userId);
+        }
+        
         Connection conn = null;
         PreparedStatement stmt = null;
         
@@ -309,6 +313,10 @@ public boolean addWithPassword(User user, String password) throws SQLException {
     }
     
     public boolean clockOutEmployee(String userId) throws SQLException {
+        if (!dialect.supportsStoredProcedures()) {
+            return TimeRecordDAO.getInstance().clockOut(userId);
+        }
+        
         Connection conn = null;
         PreparedStatement stmt = null;
         
@@ -328,16 +336,28 @@ public boolean addWithPassword(User user, String password) throws SQLException {
         }
     }
     
-    private User extractUserFromResultSet(ResultSet rs) throws SQLException {
-        String userId = rs.getString("user_id");
-        String username = rs.getString("username");
-        String firstName = rs.getString("first_name");
-        String lastName = rs.getString("last_name");
-        String role = rs.getString("role");
-        String contactNumber = rs.getString("contact_number");
-        boolean isActive = rs.getBoolean("is_active");
-        
-        return new User(userId, username, firstName, lastName, role, contactNumber, isActive);
+    /**
+     * Maps user rows to User objects
+     */
+    private static final class UserMapper extends RowMapper<User> {
+        private static final int USER_ID = 0;
+        private static final int USERNAME = 1;
+        private static final int FIRST_NAME = 2;
+        private static final int LAST_NAME = 3;
+        private static final int ROLE = 4;
+        private static final int CONTACT_NUMBER = 5;
+        private static final int IS_ACTIVE = 6;
+
+        UserMapper() {
+            super("user_id", "username", "first_name", "last_name", "role", "contact_number", "is_active");
+        }
+
+        @Override
+        protected User mapRow(Row row) throws SQLException {
+            return new User(row.getString(USER_ID), row.getString(USERNAME), row.getString(FIRST_NAME),
+                            row.getString(LAST_NAME), row.getString(ROLE), row.getString(CONTACT_NUMBER),
+                            row.getBoolean(IS_ACTIVE));
+        }
     }
     /**
  * Get staff count grouped by role
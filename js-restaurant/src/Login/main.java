@@ -6,12 +6,15 @@
 package Login;
 
 
+import DAO.DatabaseManager;
 import java.util.Locale;
 import javafx.application.Application;
+import javafx.application.Platform;
 import static javafx.application.Application.launch;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.control.Alert;
 import javafx.scene.image.Image;
 import javafx.scene.input.MouseEvent;
 import javafx.stage.Stage;
@@ -29,6 +32,20 @@ public class main extends Application {
     public void start(Stage stage) throws Exception {
         
         Locale.setDefault(Locale.ENGLISH);
+        
+        // Open database connections in the background while the login screen loads
+        try {
+            DatabaseManager.getInstance().warmUp();
+        } catch (IllegalStateException e) {
+            // Misconfigured terminal, e.g. no db.terminal_id
+            Alert alert = new Alert(Alert.AlertType.ERROR, e.getMessage());
+            alert.setTitle("J's Restaurant");
+            alert.setHeaderText("This terminal is not configured");
+            alert.showAndWait();
+            Platform.exit();
+            return;
+        }
+        
         Parent root = FXMLLoader.load(getClass().getResource("/Views/login.fxml"));
         
         Scene scene = new Scene(root);
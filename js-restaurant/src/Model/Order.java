@@ -14,6 +14,8 @@ import java.util.List;
  * Represents a customer order
  */
 public class Order {
+    public static final double TAX_RATE = 0.10;
+    
     private String orderId;
     private String tableId;
     private String waiterId;
@@ -153,7 +155,7 @@ public class Order {
     }
     
     public double calculateTax() {
-        return calculateSubtotal() * 0.10; // Assuming 10% tax
+        return calculateSubtotal() * TAX_RATE; // Assuming 10% tax
     }
     
     public double calculateTotal() {
@@ -1,7 +1,8 @@
 package Tests;
 
+import DAO.DatabaseManager;
+import DAO.OrderDAO;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -12,18 +13,14 @@ import java.util.List;
 
 public class DatabaseTest {
 
-    // Database connection parameters
-    private static final String DB_URL = "jdbc:mysql://localhost:3306/js_restaurant";
-    private static final String USER = "root"; // Replace with your MySQL username
-    private static final String PASS = "yannenzo"; // Replace with your MySQL password
-
     private static Connection connection;
 
     public static void main(String[] args) {
         try {
             // Establish connection
             System.out.println("Connecting to database...");
-            connection = DriverManager.getConnection(DB_URL, USER, PASS);
+            // Connection settings come from database.properties
+            connection = DatabaseManager.getInstance().getConnection();
             System.out.println("Connection successful!");
 
             // Test various database operations
@@ -168,7 +165,7 @@ public class DatabaseTest {
         System.out.println("\n--- Testing Order Operations ---");
         
         // Create a new order
-        String orderId = "ORD" + String.format("%07d", (int)(Math.random() * 10000000));
+        String orderId = OrderDAO.getInstance().generateOrderId();
         String sql = "INSERT INTO `order` (order_id, table_id, waiter_id, status) " +
                     "VALUES (?, ?, ?, ?)";
         
@@ -0,0 +1,136 @@
+package utils;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Hit, miss, eviction, load time and size metrics of one cache
+ *
+ * Counters are LongAdders, so recording costs a few nanoseconds even on the
+ * hottest read paths. Size and weight are gauges read from the cache itself
+ * when the metrics are viewed. Obtain instances from MetricsRegistry.cache().
+ */
+public class CacheMetrics implements CacheMetricsMBean {
+    private final String name;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LatencyHistogram loadTimes = new LatencyHistogram();
+    private volatile LongSupplier sizeGauge = () -> -1;
+    private volatile LongSupplier weightGauge = () -> -1;
+
+    CacheMetrics(String name) {
+        this.name = name;
+    }
+
+    public void recordHit() {
+        hits.increment();
+    }
+
+    public void recordHits(long count) {
+        hits.add(count);
+    }
+
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    public void recordMisses(long count) {
+        misses.add(count);
+    }
+
+    public void recordEvictions(long count) {
+        evictions.add(count);
+    }
+
+    /**
+     * Record the time taken to load an entry or refresh the whole cache
+     * @param startNanos System.nanoTime() when the load started
+     */
+    public void recordLoad(long startNanos) {
+        loadTimes.record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * @param gauge Supplies the current number of entries
+     * @return This object
+     */
+    public CacheMetrics withSize(LongSupplier gauge) {
+        this.sizeGauge = gauge;
+        return this;
+    }
+
+    /**
+     * @param gauge Supplies the estimated memory held by the cache in bytes
+     * @return This object
+     */
+    public CacheMetrics withWeight(LongSupplier gauge) {
+        this.weightGauge = gauge;
+        return this;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public double getHitRatio() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    @Override
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    @Override
+    public long getLoads() {
+        return loadTimes.getCount();
+    }
+
+    @Override
+    public double getLoadTimeMeanMillis() {
+        return loadTimes.getMeanMillis();
+    }
+
+    @Override
+    public double getLoadTimeP95Millis() {
+        return loadTimes.getPercentileMillis(95);
+    }
+
+    @Override
+    public double getLoadTimeMaxBucketMillis() {
+        return loadTimes.getPercentileMillis(100);
+    }
+
+    @Override
+    public long getSize() {
+        return sizeGauge.getAsLong();
+    }
+
+    @Override
+    public long getWeightBytes() {
+        return weightGauge.getAsLong();
+    }
+
+    @Override
+    public void reset() {
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+        loadTimes.reset();
+    }
+}
@@ -0,0 +1,30 @@
+package utils;
+
+/**
+ * JMX view of one cache's metrics, registered by MetricsRegistry
+ */
+public interface CacheMetricsMBean {
+    String getName();
+
+    long getHits();
+
+    long getMisses();
+
+    double getHitRatio();
+
+    long getEvictions();
+
+    long getLoads();
+
+    double getLoadTimeMeanMillis();
+
+    double getLoadTimeP95Millis();
+
+    double getLoadTimeMaxBucketMillis();
+
+    long getSize();
+
+    long getWeightBytes();
+
+    void reset();
+}
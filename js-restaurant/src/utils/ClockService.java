@@ -0,0 +1,176 @@
+package utils;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.stage.Window;
+
+/**
+ * Application-wide clock for periodic screen updates, e.g. refreshing the
+ * hours worked on the account screens every minute
+ *
+ * Every subscription shares one daemon "clock-service" thread; actions run
+ * on the JavaFX thread. subscribeWhileShowing() ties a subscription to a
+ * control, so it only runs while the control's screen is shown and is
+ * dropped when the screen is replaced or closed, without the controller
+ * having to clean up. Per-second label ticking on the kitchen screen uses
+ * TimerWheel instead.
+ */
+public class ClockService {
+    private static final Logger logger = Logger.getLogger(ClockService.class.getName());
+    private static ClockService instance;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "clock-service");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Handle to stop a subscription
+     */
+    public interface Subscription {
+        void cancel();
+    }
+
+    private ClockService() {
+    }
+
+    public static synchronized ClockService getInstance() {
+        if (instance == null) {
+            instance = new ClockService();
+        }
+        return instance;
+    }
+
+    /**
+     * Run an action on the JavaFX thread at a fixed rate until cancelled
+     * @param period Time between runs; the first run is one period from now
+     * @param unit Unit of the period
+     * @param action Action to run
+     * @return Handle to stop the subscription
+     */
+    public Subscription subscribe(long period, TimeUnit unit, Runnable action) {
+        ScheduledSubscription subscription = new ScheduledSubscription(action);
+        subscription.future = scheduler.scheduleAtFixedRate(subscription::post, period, period, unit);
+        return subscription;
+    }
+
+    /**
+     * Run an action on the JavaFX thread at a fixed rate while a control is
+     * in a window that is showing; must be called on the JavaFX thread
+     * @param node Control whose screen the action belongs to
+     * @param period Time between runs
+     * @param unit Unit of the period
+     * @param action Action to run
+     * @return Handle to stop the subscription for good
+     */
+    public Subscription subscribeWhileShowing(Node node, long period, TimeUnit unit, Runnable action) {
+        ShowingSubscription subscription = new ShowingSubscription(node, period, unit, action);
+        node.sceneProperty().addListener(subscription.sceneListener);
+        subscription.update();
+        return subscription;
+    }
+
+    private static final class ScheduledSubscription implements Subscription {
+        private final Runnable action;
+        private volatile boolean cancelled;
+        private ScheduledFuture<?> future;
+
+        ScheduledSubscription(Runnable action) {
+            this.action = action;
+        }
+
+        void post() {
+            Platform.runLater(() -> {
+                if (cancelled) {
+                    return;
+                }
+                try {
+                    action.run();
+                } catch (RuntimeException e) {
+                    logger.log(Level.WARNING, "Clock subscriber failed", e);
+                }
+            });
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            future.cancel(false);
+        }
+    }
+
+    /**
+     * Follows a control's scene, window and window visibility, and keeps a
+     * scheduled subscription only while all three are there. Listeners are
+     * moved as the scene and window change, so a long-lived window keeps no
+     * reference to screens that were replaced.
+     */
+    private final class ShowingSubscription implements Subscription {
+        private final Node node;
+        private final long period;
+        private final TimeUnit unit;
+        private final Runnable action;
+        private final ChangeListener<Scene> sceneListener = (obs, oldScene, newScene) -> update();
+        private final ChangeListener<Window> windowListener = (obs, oldWindow, newWindow) -> update();
+        private final ChangeListener<Boolean> showingListener = (obs, wasShowing, showing) -> update();
+        private Scene scene;
+        private Window window;
+        private Subscription active;
+        private boolean cancelled;
+
+        ShowingSubscription(Node node, long period, TimeUnit unit, Runnable action) {
+            this.node = node;
+            this.period = period;
+            this.unit = unit;
+            this.action = action;
+        }
+
+        void update() {
+            Scene newScene = cancelled ? null : node.getScene();
+            if (newScene != scene) {
+                if (scene != null) {
+                    scene.windowProperty().removeListener(windowListener);
+                }
+                scene = newScene;
+                if (scene != null) {
+                    scene.windowProperty().addListener(windowListener);
+                }
+            }
+
+            Window newWindow = scene != null ? scene.getWindow() : null;
+            if (newWindow != window) {
+                if (window != null) {
+                    window.showingProperty().removeListener(showingListener);
+                }
+                window = newWindow;
+                if (window != null) {
+                    window.showingProperty().addListener(showingListener);
+                }
+            }
+
+            boolean showing = window != null && window.isShowing();
+            if (showing && active == null) {
+                active = subscribe(period, unit, action);
+            } else if (!showing && active != null) {
+                active.cancel();
+                active = null;
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            node.sceneProperty().removeListener(sceneListener);
+            update();
+        }
+    }
+}
@@ -1,34 +0,0 @@
-/*
- * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
- * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
- */
-package utils;
-
-/**
- *
- * @author yanoubryan
- */
-
-import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.SQLException;
-import java.util.logging.Level;
-import java.util.logging.Logger;
-
-public class DatabaseConnection {
-    
-    private static final String URL = "jdbc:mysql://localhost:3306/js_restaurant";
-    private static final String USER = "root";
-    private static final String PASSWORD = ""; // Set your MySQL password here
-    
-    public static Connection getConnection() throws SQLException {
-        try {
-            // Load MySQL JDBC driver
-            Class.forName("com.mysql.cj.jdbc.Driver");
-            return DriverManager.getConnection(URL, USER, PASSWORD);
-        } catch (ClassNotFoundException ex) {
-            Logger.getLogger(DatabaseConnection.class.getName()).log(Level.SEVERE, null, ex);
-            throw new SQLException("MySQL JDBC Driver not found", ex);
-        }
-    }
-}
@@ -0,0 +1,229 @@
+package utils;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+import javafx.scene.image.Image;
+
+/**
+ * Cache of decoded menu item pictures, shared by every screen that shows them
+ *
+ * Images are decoded once per item and size, already scaled to the size they
+ * are displayed at, and decoding runs on JavaFX's background loader so
+ * building a screen never waits for it. The cache is bounded by the estimated
+ * pixel memory of its images (4 bytes per pixel) and drops the least recently
+ * used ones first. Items without a picture are remembered, so later lookups
+ * go straight to the shared placeholder instead of probing the disk again.
+ * MenuImageHandler invalidates an item when its picture is replaced.
+ */
+public class MenuImageCache {
+    private static final Logger logger = Logger.getLogger(MenuImageCache.class.getName());
+    private static final long MAX_BYTES = 32L * 1024 * 1024; // 32 MB of pixels
+    private static final String RESOURCE_DIR = "/Resources/images/menu/";
+    private static final String[] EXTENSIONS = {".jpg", ".png", ".jpeg", ".gif"};
+    private static final String PLACEHOLDER = "placeholder";
+    private static final int MAX_WITHOUT_PICTURE = 2000;
+
+    /**
+     * Display sizes images are decoded at
+     */
+    public enum Size {
+        TILE(160, 100),      // order screen menu tiles
+        THUMBNAIL(64, 40);   // manager menu list rows
+
+        final int width;
+        final int height;
+
+        Size(int width, int height) {
+            this.width = width;
+            this.height = height;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
+        long estimatedBytes() {
+            return 4L * width * height;
+        }
+    }
+
+    // Access-ordered, so iteration starts at the least recently used image
+    private static final Map<String, Image> images = new LinkedHashMap<>(64, 0.75f, true);
+    private static long totalBytes;
+    // Keys of items (and sizes) found to have no picture
+    private static final Set<String> withoutPicture = new HashSet<>();
+    private static final CacheMetrics metrics = MetricsRegistry.cache("menu-images")
+            .withSize(MenuImageCache::entryCount)
+            .withWeight(MenuImageCache::byteCount);
+
+    private MenuImageCache() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Get the picture of a menu item at the given size
+     * A new image may still be loading; ImageView shows it once it is ready
+     * @param itemId Menu item ID
+     * @param size Display size
+     * @return The item's image, the placeholder if it has none, or null if neither exists
+     */
+    public static Image getImage(String itemId, Size size) {
+        String key = key(itemId, size);
+        synchronized (MenuImageCache.class) {
+            String lookupKey = withoutPicture.contains(key) ? key(PLACEHOLDER, size) : key;
+            Image cached = images.get(lookupKey);
+            if (cached != null || withoutPicture.contains(lookupKey)) {
+                metrics.recordHit();
+                return cached;
+            }
+        }
+
+        metrics.recordMiss();
+        return load(itemId, size);
+    }
+
+    private static Image load(String itemId, Size size) {
+        String key = key(itemId, size);
+        long start = System.nanoTime();
+        URL url = findImage(itemId);
+        if (url == null) {
+            Image placeholder;
+            synchronized (MenuImageCache.class) {
+                if (withoutPicture.size() >= MAX_WITHOUT_PICTURE) {
+                    withoutPicture.clear();
+                }
+                withoutPicture.add(key);
+                placeholder = images.get(key(PLACEHOLDER, size));
+            }
+            if (placeholder != null || PLACEHOLDER.equals(itemId)) {
+                return placeholder;
+            }
+            return load(PLACEHOLDER, size);
+        }
+
+        Image image = new Image(url.toExternalForm(), size.width, size.height, true, true, true);
+        // Decoding continues in the background; this covers lookup and setup
+        metrics.recordLoad(start);
+
+        synchronized (MenuImageCache.class) {
+            // Another thread may have loaded the same image in the meantime
+            Image existing = images.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            images.put(key, image);
+            totalBytes += size.estimatedBytes();
+            evictIfNeeded();
+        }
+
+        image.errorProperty().addListener((obs, wasError, isError) -> {
+            if (isError) {
+                failed(key, image, url);
+            }
+        });
+        // The background load may have failed before the listener was added
+        if (image.isError()) {
+            failed(key, image, url);
+        }
+        return image;
+    }
+
+    /**
+     * Drop every cached size of an item's picture, e.g. after it was replaced
+     * @param itemId Menu item ID
+     */
+    public static synchronized void invalidate(String itemId) {
+        for (Size size : Size.values()) {
+            withoutPicture.remove(key(itemId, size));
+            if (images.remove(key(itemId, size)) != null) {
+                totalBytes -= size.estimatedBytes();
+            }
+        }
+    }
+
+    /**
+     * Drop all cached pictures
+     */
+    public static synchronized void clear() {
+        images.clear();
+        withoutPicture.clear();
+        totalBytes = 0;
+    }
+
+    /**
+     * Locate an item's picture: an uploaded file takes precedence over the
+     * image bundled with the application
+     */
+    private static URL findImage(String itemId) {
+        String baseName = itemId.toLowerCase();
+        for (String ext : EXTENSIONS) {
+            Path uploaded = MenuImageHandler.getUploadedImagePath(baseName + ext);
+            if (Files.isRegularFile(uploaded)) {
+                try {
+                    return uploaded.toUri().toURL();
+                } catch (MalformedURLException e) {
+                    logger.warning("Invalid image path " + uploaded);
+                }
+            }
+        }
+        for (String ext : EXTENSIONS) {
+            URL resource = MenuImageCache.class.getResource(RESOURCE_DIR + baseName + ext);
+            if (resource != null) {
+                return resource;
+            }
+        }
+        return null;
+    }
+
+    private static void failed(String key, Image image, URL url) {
+        if (remove(key, image)) {
+            logger.warning("Could not load image " + url + ": " + image.getException());
+        }
+    }
+
+    private static synchronized boolean remove(String key, Image image) {
+        if (images.remove(key, image)) {
+            totalBytes -= sizeOf(key).estimatedBytes();
+            return true;
+        }
+        return false;
+    }
+
+    private static void evictIfNeeded() {
+        Iterator<Map.Entry<String, Image>> it = images.entrySet().iterator();
+        while (totalBytes > MAX_BYTES && it.hasNext()) {
+            Map.Entry<String, Image> eldest = it.next();
+            it.remove();
+            totalBytes -= sizeOf(eldest.getKey()).estimatedBytes();
+            metrics.recordEvictions(1);
+        }
+    }
+
+    private static synchronized long entryCount() {
+        return images.size();
+    }
+
+    private static synchronized long byteCount() {
+        return totalBytes;
+    }
+
+    private static String key(String itemId, Size size) {
+        return itemId.toLowerCase() + "@" + size.name();
+    }
+
+    private static Size sizeOf(String key) {
+        return Size.valueOf(key.substring(key.lastIndexOf('@') + 1));
+    }
+}
@@ -0,0 +1,61 @@
+package utils;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Registry of cache metrics, each also published as a JMX MBean named
+ * JsRestaurant:type=Cache,name=&lt;cache&gt; for jconsole / VisualVM. The
+ * manager diagnostics pane shows the same figures.
+ */
+public class MetricsRegistry {
+    private static final Logger logger = Logger.getLogger(MetricsRegistry.class.getName());
+    private static final String JMX_DOMAIN = "JsRestaurant";
+
+    private static final Map<String, CacheMetrics> caches = new ConcurrentHashMap<>();
+
+    private MetricsRegistry() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Get the metrics of a cache, creating and registering them on first use
+     * @param name Cache name, e.g. "menu"
+     * @return Metrics shared by every caller using this name
+     */
+    public static CacheMetrics cache(String name) {
+        return caches.computeIfAbsent(name, MetricsRegistry::register);
+    }
+
+    /**
+     * @return Metrics of every cache, sorted by name
+     */
+    public static List<CacheMetrics> getCaches() {
+        List<CacheMetrics> all = new ArrayList<>(caches.values());
+        all.sort(Comparator.comparing(CacheMetrics::getName));
+        return all;
+    }
+
+    private static CacheMetrics register(String name) {
+        CacheMetrics metrics = new CacheMetrics(name);
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(JMX_DOMAIN + ":type=Cache,name=" + ObjectName.quote(name));
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(metrics, objectName);
+            }
+        } catch (JMException | RuntimeException e) {
+            logger.log(Level.WARNING, "Could not register JMX metrics for cache " + name, e);
+        }
+        return metrics;
+    }
+}
@@ -0,0 +1,184 @@
+package utils;
+
+import DAO.RestaurantServiceAsync;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.concurrent.Task;
+import javafx.scene.Node;
+
+/**
+ * Background work owned by one screen, e.g. the queries that fill the report
+ * or menu views
+ *
+ * Work is wrapped in a javafx.concurrent.Task and queued on the bounded
+ * RestaurantServiceAsync pool, so screens share the same few database
+ * threads. Results are handed back on the JavaFX thread. A scope is kept in
+ * the properties of the screen's root node and is cancelled when the screen
+ * is replaced or removed from its window: queued tasks are dropped without
+ * taking a connection, and tasks already running finish their statement but
+ * their results are thrown away.
+ *
+ * Must only be used on the JavaFX application thread.
+ */
+public final class TaskScope {
+    private static final Logger logger = Logger.getLogger(TaskScope.class.getName());
+    private static final String PROPERTY_KEY = TaskScope.class.getName();
+
+    private final Set<Task<?>> tasks = new LinkedHashSet<>();
+    private final Map<Object, Task<?>> latestByKey = new HashMap<>();
+    private final ReadOnlyBooleanWrapper busy = new ReadOnlyBooleanWrapper(this, "busy");
+
+    private TaskScope() {
+    }
+
+    /**
+     * Scope of the screen a control belongs to. Controllers may call this
+     * from initialize(), before the screen is placed in the window; the scope
+     * is then attached to the root of the loaded view.
+     * @param node Any control of the screen
+     * @return Scope of the nearest ancestor that has one, or a new scope on
+     * the topmost ancestor
+     */
+    public static TaskScope of(Node node) {
+        Node root = node;
+        for (Node current = node; current != null; current = current.getParent()) {
+            Object scope = current.getProperties().get(PROPERTY_KEY);
+            if (scope instanceof TaskScope) {
+                return (TaskScope) scope;
+            }
+            root = current;
+        }
+        return attach(root);
+    }
+
+    /**
+     * Scope attached to a screen's root node, created if needed
+     * @param root Root node of the screen
+     * @return The screen's scope
+     */
+    public static TaskScope attach(Node root) {
+        Object existing = root.getProperties().get(PROPERTY_KEY);
+        if (existing instanceof TaskScope) {
+            return (TaskScope) existing;
+        }
+        TaskScope scope = new TaskScope();
+        root.getProperties().put(PROPERTY_KEY, scope);
+        root.sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (oldScene != null && newScene == null) {
+                scope.cancelAll();
+            }
+        });
+        return scope;
+    }
+
+    /**
+     * Run work in the background
+     * @param work Blocking work, e.g. a RestaurantService call
+     * @param onSuccess Receives the result on the JavaFX thread
+     * @param onFailure Receives the error on the JavaFX thread, including
+     * when the pool is saturated; may be null
+     * @return The queued task
+     */
+    public <T> Task<T> submit(Callable<T> work, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+        Task<T> task = new Task<T>() {
+            @Override
+            protected T call() throws Exception {
+                return work.call();
+            }
+        };
+        task.setOnSucceeded(e -> {
+            finished(task);
+            onSuccess.accept(task.getValue());
+        });
+        task.setOnFailed(e -> {
+            finished(task);
+            logger.log(Level.WARNING, "Background task failed", task.getException());
+            if (onFailure != null) {
+                onFailure.accept(task.getException());
+            }
+        });
+        task.setOnCancelled(e -> finished(task));
+
+        tasks.add(task);
+        busy.set(true);
+        try {
+            RestaurantServiceAsync.getInstance().execute(task);
+        } catch (RejectedExecutionException e) {
+            logger.warning("Service executor saturated, rejecting background task");
+            finished(task);
+            if (onFailure != null) {
+                onFailure.accept(e);
+            }
+        }
+        return task;
+    }
+
+    /**
+     * Run work in the background, cancelling the earlier task submitted with
+     * the same key, so only the latest request for e.g. a filtered list is
+     * applied
+     * @param key Identifies what the work loads
+     * @param work Blocking work
+     * @param onSuccess Receives the result on the JavaFX thread
+     * @param onFailure Receives the error on the JavaFX thread; may be null
+     * @return The queued task
+     */
+    public <T> Task<T> submitLatest(Object key, Callable<T> work, Consumer<T> onSuccess,
+                                    Consumer<Throwable> onFailure) {
+        Task<?> previous = latestByKey.get(key);
+        if (previous != null) {
+            previous.cancel(false);
+        }
+        Task<T> task = submit(work, onSuccess, onFailure);
+        if (tasks.contains(task)) {
+            latestByKey.put(key, task);
+        }
+        return task;
+    }
+
+    /**
+     * Cancel every task of the screen. Tasks that have not started are
+     * removed from the pool's queue; running tasks are not interrupted
+     * mid-statement, but their results are not delivered.
+     */
+    public void cancelAll() {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        int count = tasks.size();
+        for (Task<?> task : tasks.toArray(new Task<?>[0])) {
+            task.cancel(false);
+        }
+        tasks.clear();
+        latestByKey.clear();
+        busy.set(false);
+        RestaurantServiceAsync.getInstance().purge();
+        logger.fine("Cancelled " + count + " background tasks");
+    }
+
+    /**
+     * @return True while any task of the screen is queued or running
+     */
+    public ReadOnlyBooleanProperty busyProperty() {
+        return busy.getReadOnlyProperty();
+    }
+
+    public boolean isBusy() {
+        return busy.get();
+    }
+
+    private void finished(Task<?> task) {
+        tasks.remove(task);
+        latestByKey.values().remove(task);
+        busy.set(!tasks.isEmpty());
+    }
+}
@@ -0,0 +1,207 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.util.Duration;
+
+/**
+ * One-second ticking service shared by every screen, driven by a single
+ * JavaFX Timeline that only runs while something is registered.
+ *
+ * Tickers run on every tick, all in one pass, e.g. to redraw clocks and
+ * elapsed-time labels. One-shot timeouts, e.g. a ticket becoming late, are
+ * kept in a two-level timer wheel: 60 one-second slots for the next minute
+ * and 60 one-minute slots for the next hour, with timeouts further out held
+ * aside until the hour they fall in. A tick only looks at the slot that is
+ * due, so the cost does not grow with the number of pending timeouts.
+ *
+ * Must only be used on the JavaFX application thread.
+ */
+public class TimerWheel {
+    private static final Logger logger = Logger.getLogger(TimerWheel.class.getName());
+    private static final Duration TICK = Duration.seconds(1);
+    private static final int SLOTS = 60;
+
+    private static TimerWheel instance;
+
+    /**
+     * Handle to a ticker or timeout
+     */
+    public interface Registration {
+        /**
+         * Stop the ticker, or drop the timeout if it has not fired yet
+         */
+        void cancel();
+    }
+
+    private final Set<Ticker> tickers = new LinkedHashSet<>();
+    private final List<List<Timeout>> seconds = newSlots();
+    private final List<List<Timeout>> minutes = newSlots();
+    private final List<Timeout> later = new ArrayList<>();
+    private final Timeline timeline;
+    private long now;           // ticks since the wheel was created
+    private int pendingTimeouts;
+
+    private TimerWheel() {
+        timeline = new Timeline(new KeyFrame(TICK, e -> tick()));
+        timeline.setCycleCount(Animation.INDEFINITE);
+    }
+
+    public static synchronized TimerWheel getInstance() {
+        if (instance == null) {
+            instance = new TimerWheel();
+        }
+        return instance;
+    }
+
+    /**
+     * Run an action on every tick until cancelled
+     * @param action Action to run once a second
+     * @return Handle to stop the ticker
+     */
+    public Registration addTicker(Runnable action) {
+        Ticker ticker = new Ticker(action);
+        tickers.add(ticker);
+        updateRunning();
+        return ticker;
+    }
+
+    /**
+     * Run an action once after a delay, rounded up to whole ticks
+     * @param delay Delay from now; zero or negative runs it on the next tick
+     * @param action Action to run
+     * @return Handle to cancel the timeout
+     */
+    public Registration schedule(java.time.Duration delay, Runnable action) {
+        long ticks = Math.max(1, (delay.toMillis() + 999) / 1000);
+        Timeout timeout = new Timeout(now + ticks, action);
+        place(timeout);
+        pendingTimeouts++;
+        updateRunning();
+        return timeout;
+    }
+
+    private void place(Timeout timeout) {
+        long delta = timeout.deadline - now;
+        if (delta < SLOTS) {
+            seconds.get((int) (timeout.deadline % SLOTS)).add(timeout);
+        } else if (delta < (long) SLOTS * SLOTS) {
+            minutes.get((int) ((timeout.deadline / SLOTS) % SLOTS)).add(timeout);
+        } else {
+            later.add(timeout);
+        }
+    }
+
+    private void tick() {
+        now++;
+
+        // Move timeouts down a level as their hour and minute come up
+        if (now % ((long) SLOTS * SLOTS) == 0) {
+            cascade(later);
+        }
+        if (now % SLOTS == 0) {
+            cascade(minutes.get((int) ((now / SLOTS) % SLOTS)));
+        }
+
+        List<Timeout> due = seconds.get((int) (now % SLOTS));
+        if (!due.isEmpty()) {
+            List<Timeout> firing = new ArrayList<>(due);
+            due.clear();
+            for (Timeout timeout : firing) {
+                if (!timeout.cancelled) {
+                    timeout.cancelled = true;
+                    pendingTimeouts--;
+                    run(timeout.action);
+                }
+            }
+        }
+
+        for (Ticker ticker : new ArrayList<>(tickers)) {
+            if (tickers.contains(ticker)) {
+                run(ticker.action);
+            }
+        }
+        updateRunning();
+    }
+
+    private void cascade(List<Timeout> slot) {
+        if (slot.isEmpty()) {
+            return;
+        }
+        List<Timeout> moving = new ArrayList<>(slot);
+        slot.clear();
+        for (Timeout timeout : moving) {
+            if (!timeout.cancelled) {
+                place(timeout);
+            }
+        }
+    }
+
+    private void run(Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Timer action failed", e);
+        }
+    }
+
+    private void updateRunning() {
+        boolean needed = !tickers.isEmpty() || pendingTimeouts > 0;
+        if (needed && timeline.getStatus() != Animation.Status.RUNNING) {
+            timeline.play();
+        } else if (!needed && timeline.getStatus() == Animation.Status.RUNNING) {
+            timeline.stop();
+        }
+    }
+
+    private static List<List<Timeout>> newSlots() {
+        List<List<Timeout>> slots = new ArrayList<>(SLOTS);
+        for (int i = 0; i < SLOTS; i++) {
+            slots.add(new ArrayList<>());
+        }
+        return slots;
+    }
+
+    private final class Ticker implements Registration {
+        final Runnable action;
+
+        Ticker(Runnable action) {
+            this.action = action;
+        }
+
+        @Override
+        public void cancel() {
+            if (tickers.remove(this)) {
+                updateRunning();
+            }
+        }
+    }
+
+    private final class Timeout implements Registration {
+        final long deadline;
+        final Runnable action;
+        boolean cancelled;
+
+        Timeout(long deadline, Runnable action) {
+            this.deadline = deadline;
+            this.action = action;
+        }
+
+        @Override
+        public void cancel() {
+            // Left in its slot and skipped when the slot comes up
+            if (!cancelled) {
+                cancelled = true;
+                pendingTimeouts--;
+                updateRunning();
+            }
+        }
+    }
+}